@@ -0,0 +1,93 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.execution.executable.CommandInvoker;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.execution.executable.invoker.GeneratedDispatcherInvokerFactory;
+import pw.stamina.mandate.internal.execution.executable.invoker.MethodHandleInvokerFactory;
+import pw.stamina.mandate.internal.execution.executable.invoker.ReflectionInvokerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of the available {@link CommandInvokerCreationStrategy invoker strategies}.
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Djmh.benchmarks=InvokerBenchmark}.
+ *
+ * @author Mark Johnson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    @Param({"reflection", "methodhandle", "generated"})
+    public String strategy;
+
+    private CommandInvoker invoker;
+
+    private Object[] arguments;
+
+    private int accumulator;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final CommandInvokerCreationStrategy creationStrategy;
+        switch (strategy) {
+            case "reflection":
+                creationStrategy = ReflectionInvokerFactory.getInstance();
+                break;
+            case "methodhandle":
+                creationStrategy = MethodHandleInvokerFactory.getInstance();
+                break;
+            default:
+                creationStrategy = GeneratedDispatcherInvokerFactory.getInstance();
+        }
+
+        invoker = creationStrategy.newInvoker(InvokerBenchmark.class.getDeclaredMethod("command", String.class, int.class, boolean.class), this);
+        arguments = new Object[] {"benchmark", 42, true};
+    }
+
+    @Benchmark
+    public ExitCode invoke() throws Exception {
+        return invoker.invoke(arguments);
+    }
+
+    @Executes
+    ExitCode command(final String name, final int count, final boolean verbose) {
+        accumulator += verbose ? name.length() + count : count;
+        return ExitCode.SUCCESS;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package pw.stamina.mandate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.parameter.CommandParameter;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.parsing.argument.handlers.ArrayArgumentHandler;
+import pw.stamina.mandate.internal.parsing.argument.handlers.ListArgumentHandler;
+import pw.stamina.mandate.internal.parsing.argument.handlers.MapArgumentHandler;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.ArgumentHandler;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of List, Map and array literals as their element count grows. Time per operation should grow linearly
+ * with {@link #elements}, so each tenfold step in size should cost roughly ten times as much. The {@code int[]} and
+ * {@code Integer[]} cases compare the primitive array path against boxed element parsing.
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Djmh.benchmarks=LiteralParsingBenchmark}.
+ *
+ * @author Mark Johnson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiteralParsingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int elements;
+
+    private CommandContext commandContext;
+
+    private List<CommandParameter> parameters;
+
+    private ArgumentHandler<List<?>> flatListHandler;
+
+    private ArgumentHandler<List<?>> nestedListHandler;
+
+    private ArgumentHandler<Map<?, ?>> mapHandler;
+
+    private ArgumentHandler<Object> primitiveArrayHandler;
+
+    private ArgumentHandler<Object> boxedArrayHandler;
+
+    private CommandArgument flatList;
+
+    private CommandArgument nestedList;
+
+    private CommandArgument map;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        commandContext = Mandate.newContext();
+        parameters = commandContext.getCommandConfiguration().getParameterCreationStrategy().generateCommandParameters(
+                LiteralParsingBenchmark.class.getDeclaredMethod("command", List.class, List.class, Map.class, int[].class, Integer[].class), commandContext);
+
+        flatListHandler = new ListArgumentHandler().specialize(parameters.get(0), commandContext);
+        nestedListHandler = new ListArgumentHandler().specialize(parameters.get(1), commandContext);
+        mapHandler = new MapArgumentHandler().specialize(parameters.get(2), commandContext);
+        primitiveArrayHandler = new ArrayArgumentHandler().specialize(parameters.get(3), commandContext);
+        boxedArrayHandler = new ArrayArgumentHandler().specialize(parameters.get(4), commandContext);
+
+        final StringBuilder flat = new StringBuilder("[");
+        final StringBuilder nested = new StringBuilder("[");
+        final StringBuilder mappings = new StringBuilder("{");
+        for (int i = 0; i < elements; i++) {
+            final String separator = (i > 0) ? ", " : "";
+            flat.append(separator).append(i);
+            nested.append((i % 10 == 0) ? (i > 0 ? "], [" : "[") : ", ").append(i);
+            mappings.append(separator).append("key").append(i).append(" -> ").append(i);
+        }
+
+        flatList = commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(flat.append(']').toString());
+        nestedList = commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(nested.append("]]").toString());
+        map = commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(mappings.append('}').toString());
+    }
+
+    @Benchmark
+    public List<?> flatList() throws InputParsingException {
+        return flatListHandler.parse(flatList, parameters.get(0), commandContext);
+    }
+
+    @Benchmark
+    public List<?> nestedList() throws InputParsingException {
+        return nestedListHandler.parse(nestedList, parameters.get(1), commandContext);
+    }
+
+    @Benchmark
+    public Map<?, ?> map() throws InputParsingException {
+        return mapHandler.parse(map, parameters.get(2), commandContext);
+    }
+
+    @Benchmark
+    public Object primitiveArray() throws InputParsingException {
+        return primitiveArrayHandler.parse(flatList, parameters.get(3), commandContext);
+    }
+
+    @Benchmark
+    public Object boxedArray() throws InputParsingException {
+        return boxedArrayHandler.parse(flatList, parameters.get(4), commandContext);
+    }
+
+    private ExitCode command(final List<Integer> flat, final List<List<Integer>> nested, final Map<String, Integer> mappings,
+                             final int[] primitives, final Integer[] boxed) {
+        return ExitCode.SUCCESS;
+    }
+}
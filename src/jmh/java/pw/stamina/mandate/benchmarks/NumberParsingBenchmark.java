@@ -0,0 +1,152 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.numeric.IntClamp;
+import pw.stamina.mandate.annotations.numeric.RealClamp;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.parameter.CommandParameter;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.parsing.argument.handlers.NumberArgumentHandler;
+import pw.stamina.mandate.internal.utils.Primitives;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.ArgumentHandler;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compares number parsing through a parameter-specialized {@link NumberArgumentHandler NumberArgumentHandler} against
+ * the regex and decoder-map implementation it replaced, which is reproduced in {@link LegacyNumberParsing}.
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Djmh.benchmarks=NumberParsingBenchmark}.
+ *
+ * @author Mark Johnson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParsingBenchmark {
+
+    @Param({"int", "clampedInt", "double", "clampedDouble"})
+    public String parameterKind;
+
+    private CommandContext commandContext;
+
+    private CommandParameter parameter;
+
+    private ArgumentHandler<Number> specializedHandler;
+
+    private CommandArgument input;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        commandContext = Mandate.newContext();
+        final List<CommandParameter> parameters = commandContext.getCommandConfiguration().getParameterCreationStrategy().generateCommandParameters(
+                NumberParsingBenchmark.class.getDeclaredMethod("command", int.class, int.class, double.class, double.class), commandContext);
+
+        final int index;
+        switch (parameterKind) {
+            case "int":
+                index = 0;
+                break;
+            case "clampedInt":
+                index = 1;
+                break;
+            case "double":
+                index = 2;
+                break;
+            default:
+                index = 3;
+        }
+        parameter = parameters.get(index);
+        specializedHandler = new NumberArgumentHandler().specialize(parameter, commandContext);
+        input = commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(index < 2 ? "1337" : "1337.25");
+    }
+
+    @Benchmark
+    public Number specialized() throws InputParsingException {
+        return specializedHandler.parse(input, parameter, commandContext);
+    }
+
+    @Benchmark
+    public Number legacy() throws InputParsingException {
+        return LegacyNumberParsing.parse(input, parameter);
+    }
+
+    private ExitCode command(final int plain, @IntClamp(min = 0, max = 1000) final int clamped,
+                             final double real, @RealClamp(min = 0, max = 1000) final double clampedReal) {
+        return ExitCode.SUCCESS;
+    }
+
+    /**
+     * The parsing path used by NumberArgumentHandler before parameters were specialized, trimmed to int and double
+     */
+    static final class LegacyNumberParsing {
+        private static final Predicate<String> HEX_VALIDATOR_PREDICATE = Pattern.compile("^(-|\\+)?(0x|0X|#)[a-fA-F0-9]+$").asPredicate();
+
+        private static final Predicate<String> OCTAL_VALIDATOR_PREDICATE = Pattern.compile("^(-|\\+)?0[1-7][0-7]*$").asPredicate();
+
+        private LegacyNumberParsing() {}
+
+        static Number parse(final CommandArgument input, final CommandParameter parameter) throws InputParsingException {
+            final Class<?> numberClass = Primitives.wrap(parameter.getType());
+            final String raw = input.getRaw();
+            final Number number;
+            try {
+                number = (numberClass == Integer.class)
+                        ? Integer.decode(raw)
+                        : (HEX_VALIDATOR_PREDICATE.test(raw) || OCTAL_VALIDATOR_PREDICATE.test(raw)) ? (Number) Long.decode(raw).doubleValue() : Double.valueOf(raw);
+            } catch (final NumberFormatException e) {
+                throw new InputParsingException(String.format("'%s' cannot be parsed to a(n) %s", raw, numberClass.getCanonicalName()), e);
+            }
+
+            final IntClamp intClamp = parameter.getAnnotation(IntClamp.class);
+            if (intClamp != null) {
+                final long min = Math.min(intClamp.min(), intClamp.max());
+                final long max = Math.max(intClamp.min(), intClamp.max());
+                return (number.longValue() < min) ? (Number) (int) min : (number.longValue() > max) ? (Number) (int) max : number;
+            }
+            final RealClamp realClamp = parameter.getAnnotation(RealClamp.class);
+            if (realClamp != null) {
+                final double min = Math.min(realClamp.min(), realClamp.max());
+                final double max = Math.max(realClamp.min(), realClamp.max());
+                return (!Double.isNaN(min) && number.doubleValue() < min) ? (Number) min : (!Double.isNaN(max) && number.doubleValue() > max) ? (Number) max : number;
+            }
+            return number;
+        }
+    }
+}
@@ -21,14 +21,20 @@ package pw.stamina.mandate;
 import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.ConfigurationBuilder;
 import pw.stamina.mandate.execution.ContextBuilder;
+import pw.stamina.mandate.execution.ExecutorBuilder;
 import pw.stamina.mandate.parsing.argument.ArgumentHandlerRegistryBuilder;
 import pw.stamina.mandate.parsing.argument.ArgumentProviderBuilder;
 import pw.stamina.mandate.internal.execution.SimpleConfigurationBuilder;
+import pw.stamina.mandate.internal.execution.executor.SimpleExecutorBuilder;
 import pw.stamina.mandate.internal.parsing.argument.SimpleArgumentHandlerRegistryBuilder;
 import pw.stamina.mandate.internal.parsing.argument.implicit.SimpleArgumentProviderBuilder;
+import pw.stamina.mandate.io.BufferedOutputBuilder;
 import pw.stamina.mandate.io.IOBuilder;
 import pw.stamina.mandate.internal.execution.SimpleContextBuilder;
+import pw.stamina.mandate.internal.io.SimpleBufferedOutputBuilder;
 import pw.stamina.mandate.internal.io.SimpleIOBuilder;
+import pw.stamina.mandate.internal.security.SimpleRoleGraphBuilder;
+import pw.stamina.mandate.security.RoleGraphBuilder;
 
 /**
  * This class serves as a manifest of information pertaining to this version of Mandate, along
@@ -78,6 +84,10 @@ public final class Mandate {
         return new SimpleIOBuilder();
     }
 
+    public static BufferedOutputBuilder newBufferedOutputBuilder() {
+        return new SimpleBufferedOutputBuilder();
+    }
+
     public static ConfigurationBuilder newConfigurationBuilder() {
         return new SimpleConfigurationBuilder();
     }
@@ -90,6 +100,14 @@ public final class Mandate {
         return new SimpleArgumentProviderBuilder();
     }
 
+    public static RoleGraphBuilder newRoleGraphBuilder() {
+        return new SimpleRoleGraphBuilder();
+    }
+
+    public static ExecutorBuilder newExecutorBuilder() {
+        return new SimpleExecutorBuilder();
+    }
+
     /**
      * Returns the semantic version number for this copy of Mandate
      * <p>
@@ -60,4 +60,16 @@ public @interface Executes {
      * @return whether or not the annotated command should be executed asynchronously
      */
     boolean async() default false;
+
+    /**
+     * The executor group that the annotated command should be run on, if it is {@link #async() asynchronous}
+     * <p>
+     * Groups are mapped to executors when the {@link pw.stamina.mandate.execution.CommandContext CommandContext} is built.
+     * Commands in a group without an executor of its own, and commands without a group, run on the default executor of
+     * the context.
+     * <p>
+     * By default, this is the empty String, denoting no group
+     * @return the executor group of the annotated command
+     */
+    String group() default "";
 }
@@ -0,0 +1,54 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.execution;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link Executor Executor} that runs {@link pw.stamina.mandate.annotations.Executes#async() asynchronous} commands.
+ * <p>
+ * Implementations are expected to be bounded, and to report the depth of their backlog and the number of commands
+ * currently running so that they may be monitored.
+ *
+ * @author Mark Johnson
+ */
+public interface AsyncCommandExecutor extends Executor {
+
+    /**
+     * Returns the number of submitted commands that are waiting for a thread to run on
+     *
+     * @return the number of queued commands
+     */
+    int getQueueDepth();
+
+    /**
+     * Returns the number of commands that are currently running on this executor
+     *
+     * @return the number of running commands
+     */
+    int getActiveCount();
+
+    /**
+     * Stops this executor from accepting new commands. Commands that were already submitted will still run.
+     * <p>
+     * The executor shared by contexts that were not given one of their own ignores this call, as it is not owned by
+     * any single caller.
+     */
+    void shutdown();
+}
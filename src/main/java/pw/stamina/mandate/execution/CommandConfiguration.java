@@ -20,7 +20,9 @@ package pw.stamina.mandate.execution;
 
 import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
 import pw.stamina.mandate.execution.executable.CommandExecutableCreationStrategy;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
 import pw.stamina.mandate.execution.parameter.CommandParameterCreationStrategy;
+import pw.stamina.mandate.internal.execution.executable.invoker.GeneratedDispatcherInvokerFactory;
 import pw.stamina.mandate.parsing.ArgumentReificationStrategy;
 import pw.stamina.mandate.parsing.InputTokenizationStrategy;
 import pw.stamina.mandate.syntax.SyntaxTreeCreationStrategy;
@@ -40,6 +42,17 @@ public interface CommandConfiguration {
 
     CommandExecutableCreationStrategy getExecutableCreationStrategy();
 
+    /**
+     * Returns the strategy by which commands are invoked. This default is shared by every configuration that does not
+     * provide a strategy of its own: commands are invoked through the dispatchers generated for their classes, falling
+     * back to method handles for commands that no dispatcher was generated for.
+     *
+     * @return the strategy by which commands are invoked
+     */
+    default CommandInvokerCreationStrategy getInvokerCreationStrategy() {
+        return GeneratedDispatcherInvokerFactory.getInstance();
+    }
+
     CommandParameterCreationStrategy getParameterCreationStrategy();
 
     ArgumentReificationStrategy getArgumentReificationStrategy();
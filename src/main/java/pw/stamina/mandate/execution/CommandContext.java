@@ -20,6 +20,7 @@ package pw.stamina.mandate.execution;
 
 import pw.stamina.mandate.annotations.Syntax;
 import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.internal.execution.executor.DefaultAsyncCommandExecutor;
 import pw.stamina.mandate.io.IOEnvironment;
 import pw.stamina.mandate.parsing.argument.ArgumentHandlerRegistry;
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
@@ -77,4 +78,15 @@ public interface CommandContext {
     CommandRegistry getRegisteredCommands();
 
     ArgumentProvider getValueProviders();
+
+    /**
+     * Returns the executor that asynchronous commands of the given group are run on. By default every group is run on
+     * the executor shared by all contexts that were not given one of their own.
+     *
+     * @param group the executor group of an asynchronous command
+     * @return the executor running asynchronous commands of the given group
+     */
+    default AsyncCommandExecutor getAsyncExecutor(final String group) {
+        return DefaultAsyncCommandExecutor.getInstance();
+    }
 }
@@ -20,6 +20,7 @@ package pw.stamina.mandate.execution;
 
 import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
 import pw.stamina.mandate.execution.executable.CommandExecutableCreationStrategy;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
 import pw.stamina.mandate.execution.parameter.CommandParameterCreationStrategy;
 import pw.stamina.mandate.parsing.ArgumentReificationStrategy;
 import pw.stamina.mandate.parsing.InputTokenizationStrategy;
@@ -37,6 +38,17 @@ public interface ConfigurationBuilder {
 
     ConfigurationBuilder usingExecutableCreationStrategy(CommandExecutableCreationStrategy executableCreationStrategy);
 
+    /**
+     * Provides the strategy by which commands will be invoked. Builders that do not support custom invoker strategies
+     * throw an {@link UnsupportedOperationException UnsupportedOperationException}, which is the default.
+     *
+     * @param invokerCreationStrategy the strategy by which commands will be invoked
+     * @return this ConfigurationBuilder instance
+     */
+    default ConfigurationBuilder usingInvokerCreationStrategy(final CommandInvokerCreationStrategy invokerCreationStrategy) {
+        throw new UnsupportedOperationException("This builder does not support custom invoker creation strategies");
+    }
+
     ConfigurationBuilder usingParameterCreationStrategy(CommandParameterCreationStrategy parameterCreationStrategy);
 
     ConfigurationBuilder usingArgumentReificationStrategy(ArgumentReificationStrategy argumentReificationStrategy);
@@ -37,5 +37,29 @@ public interface ContextBuilder {
 
     ContextBuilder withArgumentProvider(ArgumentProvider argumentProvider);
 
+    /**
+     * Provides the executor that asynchronous commands without a group of their own are run on. Builders that do not
+     * support custom executors throw an {@link UnsupportedOperationException UnsupportedOperationException}, which is
+     * the default.
+     *
+     * @param asyncExecutor the executor to run asynchronous commands on
+     * @return this ContextBuilder instance
+     */
+    default ContextBuilder usingAsyncExecutor(final AsyncCommandExecutor asyncExecutor) {
+        throw new UnsupportedOperationException("This builder does not support custom async executors");
+    }
+
+    /**
+     * Provides the executor that asynchronous commands of the given group are run on. Builders that do not support
+     * custom executors throw an {@link UnsupportedOperationException UnsupportedOperationException}, which is the default.
+     *
+     * @param group the executor group the executor is provided for
+     * @param asyncExecutor the executor to run asynchronous commands of the group on
+     * @return this ContextBuilder instance
+     */
+    default ContextBuilder usingAsyncExecutor(final String group, final AsyncCommandExecutor asyncExecutor) {
+        throw new UnsupportedOperationException("This builder does not support custom async executors");
+    }
+
     CommandContext build();
 }
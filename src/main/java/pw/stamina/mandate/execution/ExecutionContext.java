@@ -22,6 +22,7 @@ import pw.stamina.mandate.io.IODescriptor;
 import pw.stamina.mandate.security.CommandSender;
 
 import java.lang.reflect.Type;
+import java.util.function.Supplier;
 
 /**
  * @author Mark Johnson
@@ -29,7 +30,30 @@ import java.lang.reflect.Type;
 public interface ExecutionContext {
     IODescriptor getIODescriptor();
 
+    /**
+     * Returns the CommandContext in which the command is being executed. Implementations that hold the context directly
+     * should override this method, so that it can be read without a lookup by type.
+     *
+     * @return the CommandContext in which the command is being executed
+     */
+    default CommandContext getCommandContext() {
+        return (CommandContext) getProvidedValue(CommandContext.class);
+    }
+
     Object getProvidedValue(Type type);
 
     CommandSender getCommandSender();
+
+    /**
+     * Returns the value bound to the given key for the duration of this execution, binding it to the value returned by
+     * valueSupplier if no value has been bound to the key yet. Implementations that do not keep execution-local values
+     * may return a newly supplied value on every call.
+     *
+     * @param key the key the value is bound to
+     * @param valueSupplier the supplier of the value to bind to the key if it is absent
+     * @return the value bound to the key, which may be {@code null}
+     */
+    default Object computeLocalValueIfAbsent(final Object key, final Supplier<?> valueSupplier) {
+        return valueSupplier.get();
+    }
 }
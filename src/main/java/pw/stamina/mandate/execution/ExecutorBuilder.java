@@ -16,13 +16,19 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
-package pw.stamina.mandate.internal.execution.executable.invoker;
-
-import pw.stamina.mandate.execution.result.ExitCode;
+package pw.stamina.mandate.execution;
 
 /**
  * @author Mark Johnson
  */
-public interface CommandInvoker {
-    ExitCode invoke(Object... arguments) throws Exception;
+public interface ExecutorBuilder {
+    ExecutorBuilder usingPoolSize(int poolSize);
+
+    ExecutorBuilder usingQueueCapacity(int queueCapacity);
+
+    ExecutorBuilder usingRejectionPolicy(RejectionPolicy rejectionPolicy);
+
+    ExecutorBuilder usingVirtualThreads();
+
+    AsyncCommandExecutor build();
 }
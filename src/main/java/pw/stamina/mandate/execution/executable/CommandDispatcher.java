@@ -0,0 +1,49 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.execution.executable;
+
+import java.util.Optional;
+
+/**
+ * A source of {@link CommandInvoker CommandInvokers} generated at compile time for a single command container class.
+ * <p>
+ * Implementations are produced by the annotation processor bundled with Mandate when the compilation is given the
+ * {@code -Amandate.generateDispatchers} option, and are named after the binary name of the container class with a
+ * {@value #DISPATCHER_SUFFIX} suffix. Each generated invoker calls its command method directly, with no reflection
+ * involved at invocation time.
+ *
+ * @author Mark Johnson
+ */
+public interface CommandDispatcher {
+
+    /**
+     * The suffix appended to the binary name of a command container to form the name of its generated dispatcher
+     */
+    String DISPATCHER_SUFFIX = "$$MandateDispatcher";
+
+    /**
+     * Attempts to bind the command method with the provided signature to a direct-call CommandInvoker.
+     *
+     * @param methodName the name of the command method
+     * @param parameterTypes the erased parameter types of the command method, in declaration order
+     * @param methodParent the parent instance that the command method will be invoked on
+     * @return an Optional containing the bound CommandInvoker, or an empty Optional if no such method was generated
+     */
+    Optional<CommandInvoker> bind(String methodName, Class<?>[] parameterTypes, Object methodParent);
+}
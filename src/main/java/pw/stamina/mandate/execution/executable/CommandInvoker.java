@@ -0,0 +1,40 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.execution.executable;
+
+import pw.stamina.mandate.execution.result.ExitCode;
+
+/**
+ * A bound call site for the method backing a {@link CommandExecutable CommandExecutable}. Invokers are produced once per
+ * executable by a {@link CommandInvokerCreationStrategy CommandInvokerCreationStrategy}, and are then invoked for every
+ * execution of that executable.
+ *
+ * @author Mark Johnson
+ */
+public interface CommandInvoker {
+
+    /**
+     * Invokes the backing method with the provided, already reified arguments.
+     *
+     * @param arguments the arguments to pass to the backing method, in declaration order
+     * @return the exit code returned by the backing method
+     * @throws Exception if the backing method could not be invoked, or threw an exception of its own
+     */
+    ExitCode invoke(Object... arguments) throws Exception;
+}
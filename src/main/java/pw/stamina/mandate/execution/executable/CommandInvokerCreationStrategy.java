@@ -0,0 +1,40 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.execution.executable;
+
+import java.lang.reflect.Method;
+
+/**
+ * The strategy by which the reflected {@link Method method} backing a {@link CommandExecutable CommandExecutable} is bound
+ * to a {@link CommandInvoker CommandInvoker}. Binding happens once, when the executable is created, so any cost incurred
+ * here is amortized across every subsequent execution of the command.
+ *
+ * @author Mark Johnson
+ */
+public interface CommandInvokerCreationStrategy {
+
+    /**
+     * Attempts to bind the provided method and its parent instance to a new CommandInvoker.
+     *
+     * @param backingMethod the method that the produced CommandInvoker will call
+     * @param methodParent the parent instance associated with the provided method
+     * @return a new CommandInvoker calling the provided method on the provided instance
+     */
+    CommandInvoker newInvoker(Method backingMethod, Object methodParent);
+}
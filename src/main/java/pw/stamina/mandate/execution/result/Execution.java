@@ -18,8 +18,11 @@
 
 package pw.stamina.mandate.execution.result;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * An Execution represents a possibly asynchronous command execution taking place
@@ -30,6 +33,9 @@ import java.util.concurrent.TimeoutException;
  * {@link #result result} when the execution has completed, blocking if
  * necessary until it is ready. Cancellation is performed by the
  * {@link #kill kill} method.
+ * <p>
+ * Callers that must not block may instead observe the result through
+ * {@link #toCompletionStage toCompletionStage} or {@link #onComplete onComplete}.
  *
  * @author Mark Johnson
  */
@@ -80,18 +86,60 @@ public interface Execution {
     boolean completed();
 
     /**
-     * Returns a new Execution that is already completed with the specified exit code
+     * Returns a CompletionStage that completes with the terminal exit code of this execution.
+     * <p>
+     * Asynchronous executions complete the stage from the thread that ran the command, and complete it
+     * with {@link ExitCode#TERMINATED TERMINATED} if they are {@link #kill killed}. Completing the returned
+     * stage through {@link CompletionStage#toCompletableFuture() toCompletableFuture} has no effect on this execution.
+     * <p>
+     * By default this waits for {@link #result() the result} on the calling thread, and returns a stage that is already
+     * completed with it. Executions that may not have completed yet should override this method.
+     *
+     * @return a CompletionStage completing with the terminal exit code of this execution
+     */
+    default CompletionStage<ExitCode> toCompletionStage() {
+        return CompletableFuture.completedFuture(result());
+    }
+
+    /**
+     * Registers a callback to be run with the terminal exit code of this execution once it completes.
+     * <p>
+     * If this execution has already completed, the callback is run immediately on the calling thread.
+     *
+     * @param callback the callback to run with the terminal exit code of this execution
+     * @return this execution
+     */
+    default Execution onComplete(Consumer<? super ExitCode> callback) {
+        toCompletionStage().thenAccept(callback);
+        return this;
+    }
+
+    /**
+     * Returns an Execution that is already completed with the specified exit code
+     * <p>
+     * Executions are shared between calls with the same exit code, so this method does not allocate.
+     *
      * @param exitCode the exit code that this execution should be defined as having finished with
-     * @return a new Execution that is already completed with the specified exit code
+     * @return an Execution that is already completed with the specified exit code
      */
     static Execution complete(ExitCode exitCode) {
-        return new Complete(exitCode);
+        return Complete.INSTANCES[exitCode.ordinal()];
     }
 
     /**
      * An Execution that is already completed with a specified exit code
      */
     class Complete implements Execution {
+        private static final Complete[] INSTANCES;
+
+        static {
+            final ExitCode[] exitCodes = ExitCode.values();
+            INSTANCES = new Complete[exitCodes.length];
+            for (final ExitCode exitCode : exitCodes) {
+                INSTANCES[exitCode.ordinal()] = new Complete(exitCode);
+            }
+        }
+
         private final ExitCode exitCode;
 
         Complete(ExitCode exitCode) {
@@ -129,5 +177,22 @@ public interface Execution {
         public boolean completed() {
             return true;
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CompletionStage<ExitCode> toCompletionStage() {
+            return CompletableFuture.completedFuture(exitCode);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Execution onComplete(Consumer<? super ExitCode> callback) {
+            callback.accept(exitCode);
+            return this;
+        }
     }
 }
@@ -19,12 +19,14 @@
 package pw.stamina.mandate.internal.execution;
 
 import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
 import pw.stamina.mandate.execution.CommandConfiguration;
 import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.execution.result.Execution;
 import pw.stamina.mandate.execution.result.ExitCode;
 import pw.stamina.mandate.internal.execution.executable.context.ExecutionContextFactory;
+import pw.stamina.mandate.internal.execution.executor.DefaultAsyncCommandExecutor;
 import pw.stamina.mandate.internal.security.UnprivilegedCommandSender;
 import pw.stamina.mandate.io.IODescriptor;
 import pw.stamina.mandate.io.IOEnvironment;
@@ -37,9 +39,9 @@ import pw.stamina.mandate.syntax.CommandRegistry;
 import pw.stamina.mandate.syntax.ExecutableLookup;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -47,6 +49,19 @@ import java.util.Map;
  */
 public class DefaultCommandContext implements CommandContext {
 
+    /**
+     * The {@link Executes executable} methods declared by each container class, so that registering many instances of
+     * the same class only scans its methods once
+     */
+    private static final ClassValue<Method[]> EXECUTABLE_METHODS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(final Class<?> type) {
+            return Arrays.stream(type.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(Executes.class))
+                    .toArray(Method[]::new);
+        }
+    };
+
     private final IOEnvironment ioEnvironment;
 
     private final CommandConfiguration commandConfiguration;
@@ -57,24 +72,32 @@ public class DefaultCommandContext implements CommandContext {
 
     private final ArgumentProvider providerRepository;
 
+    private final AsyncCommandExecutor asyncExecutor;
+
+    private final Map<String, AsyncCommandExecutor> groupExecutors;
+
     public DefaultCommandContext(final IOEnvironment ioEnvironment, final CommandConfiguration commandConfiguration, final ArgumentHandlerRegistry argumentHandlerRegistry, final CommandRegistry commandRegistry, final ArgumentProvider providerRepository) {
+        this(ioEnvironment, commandConfiguration, argumentHandlerRegistry, commandRegistry, providerRepository, DefaultAsyncCommandExecutor.getInstance(), Collections.emptyMap());
+    }
+
+    public DefaultCommandContext(final IOEnvironment ioEnvironment, final CommandConfiguration commandConfiguration, final ArgumentHandlerRegistry argumentHandlerRegistry, final CommandRegistry commandRegistry, final ArgumentProvider providerRepository,
+                                 final AsyncCommandExecutor asyncExecutor, final Map<String, AsyncCommandExecutor> groupExecutors) {
         this.ioEnvironment = ioEnvironment;
         this.commandConfiguration = commandConfiguration;
         this.argumentHandlerRegistry = argumentHandlerRegistry;
         this.commandRegistry = commandRegistry;
         this.providerRepository = providerRepository;
+        this.asyncExecutor = asyncExecutor;
+        this.groupExecutors = groupExecutors;
     }
 
     @Override
     public boolean register(final Object container) {
-        boolean registered = false;
-        for (final Method method : container.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(Executes.class)) {
-                commandConfiguration.getSyntaxCreationStrategy().createSyntaxTree(method, container, this).forEach(commandRegistry::addCommand);
-                registered = true;
-            }
+        final Method[] executableMethods = EXECUTABLE_METHODS.get(container.getClass());
+        for (final Method method : executableMethods) {
+            commandConfiguration.getSyntaxCreationStrategy().createSyntaxTree(method, container, this).forEach(commandRegistry::addCommand);
         }
-        return registered;
+        return executableMethods.length > 0;
     }
 
     @Override
@@ -97,10 +120,7 @@ public class DefaultCommandContext implements CommandContext {
             return Execution.complete(ExitCode.INVALID);
         }
 
-        final Map<Type, Object> typesForContext = new HashMap<>();
-        typesForContext.put(IODescriptor.class, ioDescriptor);
-        typesForContext.put(CommandContext.class, this);
-        final ExecutionContext executionContext = ExecutionContextFactory.makeContext(typesForContext, providerRepository, commandSender);
+        final ExecutionContext executionContext = ExecutionContextFactory.makeContext(ioDescriptor, this, providerRepository, commandSender);
 
         final ExecutableLookup executableLookup = commandRegistry.findExecutable(arguments, executionContext);
         if (executableLookup.wasSuccessful()) {
@@ -145,4 +165,9 @@ public class DefaultCommandContext implements CommandContext {
     public ArgumentProvider getValueProviders() {
         return providerRepository;
     }
+
+    @Override
+    public AsyncCommandExecutor getAsyncExecutor(final String group) {
+        return groupExecutors.getOrDefault(group, asyncExecutor);
+    }
 }
@@ -21,6 +21,7 @@ package pw.stamina.mandate.internal.execution;
 import pw.stamina.mandate.execution.CommandConfiguration;
 import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
 import pw.stamina.mandate.execution.executable.CommandExecutableCreationStrategy;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
 import pw.stamina.mandate.execution.parameter.CommandParameterCreationStrategy;
 import pw.stamina.mandate.parsing.ArgumentReificationStrategy;
 import pw.stamina.mandate.parsing.InputTokenizationStrategy;
@@ -39,6 +40,8 @@ public class SimpleCommandConfiguration implements CommandConfiguration {
 
     private final CommandExecutableCreationStrategy executableCreationStrategy;
 
+    private final CommandInvokerCreationStrategy invokerCreationStrategy;
+
     private final CommandParameterCreationStrategy parameterCreationStrategy;
 
     private final ArgumentReificationStrategy argumentReificationStrategy;
@@ -47,12 +50,14 @@ public class SimpleCommandConfiguration implements CommandConfiguration {
                                       final CommandArgumentCreationStrategy commandArgumentCreationStrategy,
                                       final InputTokenizationStrategy inputTokenizationStrategy,
                                       final CommandExecutableCreationStrategy executableCreationStrategy,
+                                      final CommandInvokerCreationStrategy invokerCreationStrategy,
                                       final CommandParameterCreationStrategy parameterCreationStrategy,
                                       final ArgumentReificationStrategy argumentReificationStrategy) {
         this.syntaxTreeCreationStrategy = syntaxTreeCreationStrategy;
         this.commandArgumentCreationStrategy = commandArgumentCreationStrategy;
         this.inputTokenizationStrategy = inputTokenizationStrategy;
         this.executableCreationStrategy = executableCreationStrategy;
+        this.invokerCreationStrategy = invokerCreationStrategy;
         this.parameterCreationStrategy = parameterCreationStrategy;
         this.argumentReificationStrategy = argumentReificationStrategy;
     }
@@ -77,6 +82,11 @@ public class SimpleCommandConfiguration implements CommandConfiguration {
         return executableCreationStrategy;
     }
 
+    @Override
+    public CommandInvokerCreationStrategy getInvokerCreationStrategy() {
+        return invokerCreationStrategy;
+    }
+
     @Override
     public CommandParameterCreationStrategy getParameterCreationStrategy() {
         return parameterCreationStrategy;
@@ -22,6 +22,7 @@ import pw.stamina.mandate.execution.CommandConfiguration;
 import pw.stamina.mandate.execution.ConfigurationBuilder;
 import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
 import pw.stamina.mandate.execution.executable.CommandExecutableCreationStrategy;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
 import pw.stamina.mandate.execution.parameter.CommandParameterCreationStrategy;
 import pw.stamina.mandate.internal.parsing.argument.DefaultCommandArgumentFactory;
 import pw.stamina.mandate.internal.execution.executable.DefaultCommandExecutableFactory;
@@ -48,6 +49,8 @@ public class SimpleConfigurationBuilder implements ConfigurationBuilder {
 
     private CommandExecutableCreationStrategy executableCreationStrategy;
 
+    private CommandInvokerCreationStrategy invokerCreationStrategy;
+
     private CommandParameterCreationStrategy parameterCreationStrategy;
 
     private ArgumentReificationStrategy argumentReificationStrategy;
@@ -80,6 +83,13 @@ public class SimpleConfigurationBuilder implements ConfigurationBuilder {
         return this;
     }
 
+    @Override
+    public ConfigurationBuilder usingInvokerCreationStrategy(final CommandInvokerCreationStrategy invokerCreationStrategy) {
+        checkPrecondition(this.invokerCreationStrategy == null, "CommandInvoker creation strategy has already been provided");
+        this.invokerCreationStrategy = invokerCreationStrategy;
+        return this;
+    }
+
     @Override
     public ConfigurationBuilder usingParameterCreationStrategy(final CommandParameterCreationStrategy parameterCreationStrategy) {
         checkPrecondition(this.parameterCreationStrategy == null, "CommandParameter creation strategy has already been provided");
@@ -101,6 +111,7 @@ public class SimpleConfigurationBuilder implements ConfigurationBuilder {
                 Optional.ofNullable(commandArgumentCreationStrategy).orElseGet(DefaultCommandArgumentFactory::getInstance),
                 Optional.ofNullable(inputTokenizationStrategy).orElseGet(DefaultInputTokenizer::getInstance),
                 Optional.ofNullable(executableCreationStrategy).orElseGet(DefaultCommandExecutableFactory::getInstance),
+                Optional.ofNullable(invokerCreationStrategy).orElseGet(DefaultCommandConfiguration.getInstance()::getInvokerCreationStrategy),
                 Optional.ofNullable(parameterCreationStrategy).orElseGet(DefaultCommandParameterFactory::getInstance),
                 Optional.ofNullable(argumentReificationStrategy).orElseGet(DefaultArgumentReifier::getInstance)
         );
@@ -18,6 +18,7 @@
 
 package pw.stamina.mandate.internal.execution;
 
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
 import pw.stamina.mandate.execution.CommandConfiguration;
 import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.ContextBuilder;
@@ -31,9 +32,15 @@ import pw.stamina.mandate.syntax.CommandRegistry;
 import pw.stamina.mandate.internal.parsing.argument.DefaultArgumentHandlerRegistry;
 import pw.stamina.mandate.internal.parsing.argument.implicit.ArgumentProviderFactory;
 import pw.stamina.mandate.internal.io.DefaultIOEnvironment;
-import pw.stamina.mandate.internal.syntax.SimpleCommandRegistry;
+import pw.stamina.mandate.internal.syntax.CopyOnWriteCommandRegistry;
+import pw.stamina.mandate.internal.execution.executor.DefaultAsyncCommandExecutor;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -45,12 +52,16 @@ public class SimpleContextBuilder implements ContextBuilder {
 
     private CommandConfiguration commandConfiguration;
 
-    private ArgumentHandlerRegistry argumentHandlerRegistry;
+    private final Deque<ArgumentHandlerRegistry> argumentHandlerRegistries = new ArrayDeque<>();
 
     private CommandRegistry commandRegistry;
 
     private ArgumentProvider argumentProvider;
 
+    private AsyncCommandExecutor asyncExecutor;
+
+    private final Map<String, AsyncCommandExecutor> groupExecutors = new HashMap<>();
+
     @Override
     public ContextBuilder usingIOEnvironment(final IOEnvironment ioEnvironment) {
         checkPrecondition(this.ioEnvironment == null, "IO Environment has already been supplied");
@@ -67,10 +78,7 @@ public class SimpleContextBuilder implements ContextBuilder {
 
     @Override
     public ContextBuilder withHandlerRegistry(final ArgumentHandlerRegistry argumentHandlerRegistry) {
-        if (this.argumentHandlerRegistry == null) {
-            this.argumentHandlerRegistry = DefaultArgumentHandlerRegistry.makeDefaultRegistry();
-        }
-        this.argumentHandlerRegistry = new ForkedArgumentHandlerRegistry(this.argumentHandlerRegistry, argumentHandlerRegistry);
+        argumentHandlerRegistries.push(argumentHandlerRegistry);
         return this;
     }
 
@@ -94,17 +102,47 @@ public class SimpleContextBuilder implements ContextBuilder {
         return this;
     }
 
+    @Override
+    public ContextBuilder usingAsyncExecutor(final AsyncCommandExecutor asyncExecutor) {
+        checkPrecondition(this.asyncExecutor == null, "Async Executor has already been supplied");
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    @Override
+    public ContextBuilder usingAsyncExecutor(final String group, final AsyncCommandExecutor asyncExecutor) {
+        checkPrecondition(!groupExecutors.containsKey(group), "Async Executor for group '" + group + "' has already been supplied");
+        groupExecutors.put(group, asyncExecutor);
+        return this;
+    }
+
     @Override
     public CommandContext build() {
         return new DefaultCommandContext(
                 Optional.ofNullable(ioEnvironment).orElseGet(DefaultIOEnvironment::getInstance),
                 Optional.ofNullable(commandConfiguration).orElseGet(DefaultCommandConfiguration::getInstance),
-                Optional.ofNullable(argumentHandlerRegistry).orElseGet(DefaultArgumentHandlerRegistry::makeDefaultRegistry),
-                Optional.ofNullable(commandRegistry).orElseGet(SimpleCommandRegistry::new),
-                Optional.ofNullable(argumentProvider).orElseGet(() -> ArgumentProviderFactory.fromMapping(new HashMap<>()))
+                buildHandlerRegistry(),
+                Optional.ofNullable(commandRegistry).orElseGet(CopyOnWriteCommandRegistry::new),
+                Optional.ofNullable(argumentProvider).orElseGet(() -> ArgumentProviderFactory.fromMapping(new HashMap<>())),
+                Optional.ofNullable(asyncExecutor).orElseGet(DefaultAsyncCommandExecutor::getInstance),
+                new HashMap<>(groupExecutors)
         );
     }
 
+    /**
+     * Flattens the supplied handler registries into a single fork, searched from the most recently supplied registry
+     * down to the default registry
+     */
+    private ArgumentHandlerRegistry buildHandlerRegistry() {
+        final ArgumentHandlerRegistry defaultRegistry = DefaultArgumentHandlerRegistry.makeDefaultRegistry();
+        if (argumentHandlerRegistries.isEmpty()) {
+            return defaultRegistry;
+        }
+        final List<ArgumentHandlerRegistry> registries = new ArrayList<>(argumentHandlerRegistries);
+        registries.add(defaultRegistry);
+        return new ForkedArgumentHandlerRegistry(registries);
+    }
+
     private static void checkPrecondition(final boolean assertion, final String failureMessage) {
         if (!assertion) throw new IllegalStateException(failureMessage);
     }
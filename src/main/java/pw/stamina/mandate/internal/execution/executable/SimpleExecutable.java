@@ -22,18 +22,19 @@ import pw.stamina.mandate.annotations.Executes;
 import pw.stamina.mandate.annotations.flag.AutoFlag;
 import pw.stamina.mandate.annotations.flag.UserFlag;
 import pw.stamina.mandate.annotations.meta.Description;
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
 import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.parsing.argument.CommandArgument;
 import pw.stamina.mandate.execution.executable.CommandExecutable;
+import pw.stamina.mandate.execution.executable.CommandInvoker;
 import pw.stamina.mandate.execution.parameter.CommandParameter;
 import pw.stamina.mandate.execution.result.Execution;
 import pw.stamina.mandate.execution.result.ExitCode;
-import pw.stamina.mandate.internal.execution.executable.invoker.CommandInvoker;
-import pw.stamina.mandate.internal.execution.executable.invoker.InvokerFactory;
 import pw.stamina.mandate.internal.execution.result.ExecutionFactory;
 import pw.stamina.mandate.parsing.ArgumentReificationException;
 import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.ReificationPlan;
 
 import java.lang.reflect.Method;
 import java.util.Deque;
@@ -54,7 +55,13 @@ class SimpleExecutable implements CommandExecutable {
 
     private final List<CommandParameter> parameters;
 
-    private final boolean parallel;
+    private final ReificationPlan reificationPlan;
+
+    private final AsyncCommandExecutor asyncExecutor;
+
+    private final int minimumArguments;
+
+    private final int maximumArguments;
 
     SimpleExecutable(final Method backingMethod, final Object methodParent, final CommandContext commandContext) throws MalformedCommandException {
         if (backingMethod.getReturnType() != ExitCode.class) {
@@ -62,17 +69,29 @@ class SimpleExecutable implements CommandExecutable {
         }
 
         this.parameters = (this.commandContext = commandContext).getCommandConfiguration().getParameterCreationStrategy().generateCommandParameters(backingMethod, commandContext);
+        this.reificationPlan = commandContext.getCommandConfiguration().getArgumentReificationStrategy().compile(parameters, commandContext);
         this.executableName = backingMethod.getName();
         this.executableDescription = backingMethod.getDeclaredAnnotation(Description.class);
-        this.commandInvoker = InvokerFactory.makeInvoker(backingMethod, methodParent);
-        this.parallel = backingMethod.getDeclaredAnnotation(Executes.class).async();
+        this.commandInvoker = commandContext.getCommandConfiguration().getInvokerCreationStrategy().newInvoker(backingMethod, methodParent);
+        final Executes executes = backingMethod.getDeclaredAnnotation(Executes.class);
+        this.asyncExecutor = executes.async() ? commandContext.getAsyncExecutor(executes.group()) : null;
+
+        this.minimumArguments = (int) parameters.stream()
+                .filter(param -> param.getAnnotation(AutoFlag.class) == null && param.getAnnotation(UserFlag.class) == null)
+                .filter(param -> !param.isOptional() && !param.isImplicit())
+                .count();
+        this.maximumArguments = (int) parameters.stream()
+                .filter(param -> !param.isImplicit())
+                .count() + (int) parameters.stream()
+                .filter(param -> param.getAnnotation(UserFlag.class) != null)
+                .count();
     }
 
     @Override
     public Execution execute(final Deque<CommandArgument> arguments, final ExecutionContext executionContext) throws ArgumentReificationException {
         try {
-            final Object[] parsedArgs = commandContext.getCommandConfiguration().getArgumentReificationStrategy().parse(arguments, parameters, executionContext, commandContext);
-            return ExecutionFactory.makeExecution(commandInvoker, executionContext, parsedArgs, parallel);
+            final Object[] parsedArgs = reificationPlan.reify(arguments, executionContext);
+            return ExecutionFactory.makeExecution(commandInvoker, executionContext, parsedArgs, asyncExecutor);
         } catch (InputParsingException e) {
             executionContext.getIODescriptor().err().write(e.getMessage());
             return Execution.complete(ExitCode.INVALID);
@@ -91,20 +110,12 @@ class SimpleExecutable implements CommandExecutable {
 
     @Override
     public int minimumArguments() {
-        return (int) parameters.stream()
-                .filter(param -> param.getAnnotation(AutoFlag.class) == null && param.getAnnotation(UserFlag.class) == null)
-                .filter(param -> !param.isOptional() && !param.isImplicit())
-                .count();
+        return minimumArguments;
     }
 
     @Override
     public int maximumArguments() {
-        final int baseParameterCount = (int) parameters.stream()
-                .filter(param -> !param.isImplicit())
-                .count();
-        return baseParameterCount + (int) parameters.stream()
-                .filter(param -> param.getAnnotation(UserFlag.class) != null)
-                .count();
+        return maximumArguments;
     }
 
     @Override
@@ -112,15 +123,15 @@ class SimpleExecutable implements CommandExecutable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final SimpleExecutable that = (SimpleExecutable) o;
-        return this.minimumArguments() == that.minimumArguments() &&
-                this.maximumArguments() == that.maximumArguments();
+        return this.minimumArguments == that.minimumArguments &&
+                this.maximumArguments == that.maximumArguments;
     }
 
     @Override
     public int hashCode() {
         int result = 1;
-        result = 31 * result + minimumArguments();
-        result = 31 * result + maximumArguments();
+        result = 31 * result + minimumArguments;
+        result = 31 * result + maximumArguments;
         return result;
     }
 
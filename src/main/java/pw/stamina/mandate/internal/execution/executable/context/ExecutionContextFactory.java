@@ -18,20 +18,19 @@
 
 package pw.stamina.mandate.internal.execution.executable.context;
 
+import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.ExecutionContext;
+import pw.stamina.mandate.io.IODescriptor;
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
 import pw.stamina.mandate.security.CommandSender;
 
-import java.lang.reflect.Type;
-import java.util.Map;
-
 /**
  * @author Mark Johnson
  */
 public final class ExecutionContextFactory {
     private ExecutionContextFactory() {}
 
-    public static ExecutionContext makeContext(final Map<Type, Object> localValues, final ArgumentProvider providerRepository, final CommandSender commandSender) {
-        return new SimpleExecutionContext(localValues, providerRepository, commandSender);
+    public static ExecutionContext makeContext(final IODescriptor ioDescriptor, final CommandContext commandContext, final ArgumentProvider providerRepository, final CommandSender commandSender) {
+        return new SimpleExecutionContext(ioDescriptor, commandContext, providerRepository, commandSender);
     }
 }
@@ -18,48 +18,74 @@
 
 package pw.stamina.mandate.internal.execution.executable.context;
 
+import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
 import pw.stamina.mandate.io.IODescriptor;
 import pw.stamina.mandate.security.CommandSender;
 
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * @author Mark Johnson
  */
 public class SimpleExecutionContext implements ExecutionContext {
 
-    private final Map<Type, Object> localValues;
+    private final IODescriptor ioDescriptor;
+
+    private final CommandContext commandContext;
 
     private final ArgumentProvider providerRepository;
 
     private final CommandSender commandSender;
 
-    public SimpleExecutionContext(final Map<Type, Object> localValues, final ArgumentProvider providerRepository, final CommandSender commandSender) {
-        this.localValues = localValues;
+    private Map<Object, Object> localValues;
+
+    public SimpleExecutionContext(final IODescriptor ioDescriptor, final CommandContext commandContext, final ArgumentProvider providerRepository, final CommandSender commandSender) {
+        this.ioDescriptor = ioDescriptor;
+        this.commandContext = commandContext;
         this.providerRepository = providerRepository;
         this.commandSender = commandSender;
     }
 
     @Override
     public IODescriptor getIODescriptor() {
-        return (IODescriptor) localValues.get(IODescriptor.class);
+        return ioDescriptor;
+    }
+
+    @Override
+    public CommandContext getCommandContext() {
+        return commandContext;
     }
 
     @Override
     public Object getProvidedValue(final Type type) {
-        return Optional.ofNullable(localValues.get(type))
-                .orElseGet(() ->  providerRepository.findProvider(type)
-                        .orElseThrow(() -> new IllegalArgumentException("Unable to resolve a suitable value for type " + type.getTypeName()))
-                        .get()
-                );
+        if (type == IODescriptor.class) {
+            return ioDescriptor;
+        } else if (type == CommandContext.class) {
+            return commandContext;
+        }
+        return providerRepository.provideValue(type, this);
     }
 
     @Override
     public CommandSender getCommandSender() {
         return commandSender;
     }
+
+    @Override
+    public Object computeLocalValueIfAbsent(final Object key, final Supplier<?> valueSupplier) {
+        // implicit arguments of an execution are reified one at a time, so the map is only ever touched by one thread
+        if (localValues == null) {
+            localValues = new HashMap<>();
+        } else if (localValues.containsKey(key)) {
+            return localValues.get(key);
+        }
+        final Object value = valueSupplier.get();
+        localValues.put(key, value);
+        return value;
+    }
 }
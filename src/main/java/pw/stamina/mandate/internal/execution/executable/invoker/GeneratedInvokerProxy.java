@@ -0,0 +1,72 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.execution.executable.invoker;
+
+import pw.stamina.mandate.execution.executable.CommandInvoker;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.utils.Primitives;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A {@link CommandInvoker CommandInvoker} delegating to an invoker produced by a generated
+ * {@link pw.stamina.mandate.execution.executable.CommandDispatcher CommandDispatcher}. Exceptions thrown by the
+ * command are wrapped in an {@link InvocationTargetException InvocationTargetException}, matching the other invokers.
+ * <p>
+ * The arguments are checked against the parameter types of the command method before the generated invoker is called,
+ * so that arguments its casts would reject are reported with an {@link IllegalArgumentException IllegalArgumentException}
+ * instead of looking like an exception thrown by the command.
+ *
+ * @author Mark Johnson
+ */
+public class GeneratedInvokerProxy implements CommandInvoker {
+
+    private final CommandInvoker generatedInvoker;
+
+    private final Class<?>[] parameterTypes;
+
+    public GeneratedInvokerProxy(final CommandInvoker generatedInvoker, final Class<?>[] parameterTypes) {
+        this.generatedInvoker = generatedInvoker;
+        this.parameterTypes = parameterTypes.clone();
+    }
+
+    @Override
+    public ExitCode invoke(final Object... arguments) throws Exception {
+        checkArguments(arguments);
+        try {
+            return generatedInvoker.invoke(arguments);
+        } catch (final Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private void checkArguments(final Object[] arguments) {
+        final int argumentCount = (arguments == null) ? 0 : arguments.length;
+        if (argumentCount != parameterTypes.length) {
+            throw new IllegalArgumentException(String.format("Wrong number of arguments: expected %d, was %d", parameterTypes.length, argumentCount));
+        }
+        for (int i = 0; i < argumentCount; i++) {
+            final Class<?> parameterType = parameterTypes[i];
+            final Object argument = arguments[i];
+            if ((argument == null) ? parameterType.isPrimitive() : !Primitives.wrap(parameterType).isInstance(argument)) {
+                throw new IllegalArgumentException(String.format("Argument %d can not be passed to a parameter of type %s", i, parameterType.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.execution.executable.invoker;
+
+import pw.stamina.mandate.execution.executable.CommandInvoker;
+import pw.stamina.mandate.execution.result.ExitCode;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link CommandInvoker CommandInvoker} that binds its backing method to a {@link MethodHandle MethodHandle} once,
+ * at construction. The receiver is bound into a handle shared by every invoker of the same method, and the argument
+ * array is spread by the handle itself, so each invocation is a single {@link MethodHandle#invokeExact(Object...) invokeExact}
+ * call with no per-call access checks or varargs copying.
+ * <p>
+ * Like {@link Method#invoke(Object, Object...) Method.invoke}, only exceptions thrown by the backing method itself are
+ * wrapped in an {@link InvocationTargetException InvocationTargetException}. Arguments that can not be passed to the
+ * backing method, because there are too few or too many of them or one of them has the wrong type, are reported with
+ * an {@link IllegalArgumentException IllegalArgumentException}.
+ *
+ * @author Mark Johnson
+ */
+public class MethodHandleInvokerProxy implements CommandInvoker {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(ExitCode.class, Object[].class);
+
+    private static final MethodType RECEIVER_INVOKER_TYPE = MethodType.methodType(ExitCode.class, Object.class, Object[].class);
+
+    private static final MethodHandle WRAP_TARGET_EXCEPTION;
+
+    static {
+        try {
+            WRAP_TARGET_EXCEPTION = MethodHandles.lookup().findStatic(MethodHandleInvokerProxy.class, "wrapTargetException",
+                    MethodType.methodType(ExitCode.class, Throwable.class));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The spreading handle of each method, unreflected once per declaring class. Instance methods take their receiver
+     * as the first argument, so that creating an invoker for another receiver only has to bind it.
+     */
+    private static final ClassValue<Map<Method, MethodHandle>> SPREADING_HANDLES = new ClassValue<Map<Method, MethodHandle>>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final MethodHandle boundHandle;
+
+    public MethodHandleInvokerProxy(final Method backingMethod, final Object methodParent) {
+        final MethodHandle handle = SPREADING_HANDLES.get(backingMethod.getDeclaringClass())
+                .computeIfAbsent(backingMethod, MethodHandleInvokerProxy::createSpreadingHandle);
+        if (Modifier.isStatic(backingMethod.getModifiers())) {
+            this.boundHandle = handle;
+        } else {
+            this.boundHandle = handle.bindTo(backingMethod.getDeclaringClass().cast(methodParent));
+        }
+    }
+
+    private static MethodHandle createSpreadingHandle(final Method backingMethod) {
+        backingMethod.setAccessible(true);
+
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(backingMethod);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalArgumentException("Unable to access method '" + backingMethod.getName() + "' for invocation", e);
+        }
+
+        // only the backing method is guarded, so that exceptions thrown while spreading and casting the arguments
+        // reach invoke unwrapped, and can be told apart from exceptions thrown by the backing method
+        final MethodHandle exceptionHandler = MethodHandles.dropArguments(
+                WRAP_TARGET_EXCEPTION.asType(MethodType.methodType(handle.type().returnType(), Throwable.class)),
+                1, handle.type().parameterList());
+        final MethodHandle guarded = MethodHandles.catchException(handle, Throwable.class, exceptionHandler);
+
+        final MethodHandle spreader = guarded.asSpreader(Object[].class, backingMethod.getParameterCount());
+        return spreader.asType(Modifier.isStatic(backingMethod.getModifiers()) ? INVOKER_TYPE : RECEIVER_INVOKER_TYPE);
+    }
+
+    private static ExitCode wrapTargetException(final Throwable t) throws InvocationTargetException {
+        throw new InvocationTargetException(t);
+    }
+
+    @Override
+    public ExitCode invoke(final Object... arguments) throws Exception {
+        try {
+            return (ExitCode) boundHandle.invokeExact(arguments);
+        } catch (final InvocationTargetException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalArgumentException("Arguments do not match the parameters of the backing method", t);
+        }
+    }
+}
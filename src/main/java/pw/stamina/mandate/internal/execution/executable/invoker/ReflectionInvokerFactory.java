@@ -18,15 +18,23 @@
 
 package pw.stamina.mandate.internal.execution.executable.invoker;
 
+import pw.stamina.mandate.execution.executable.CommandInvoker;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
+
 import java.lang.reflect.Method;
 
 /**
  * @author Mark Johnson
  */
-public final class InvokerFactory {
-    private InvokerFactory() {}
+public enum ReflectionInvokerFactory implements CommandInvokerCreationStrategy {
+    INSTANCE;
 
-    public static CommandInvoker makeInvoker(final Method backingMethod, final Object methodParent) {
+    @Override
+    public CommandInvoker newInvoker(final Method backingMethod, final Object methodParent) {
         return new ReflectionMethodInvokerProxy(backingMethod, methodParent);
     }
+
+    public static ReflectionInvokerFactory getInstance() {
+        return INSTANCE;
+    }
 }
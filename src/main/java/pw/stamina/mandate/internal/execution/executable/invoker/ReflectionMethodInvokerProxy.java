@@ -18,6 +18,7 @@
 
 package pw.stamina.mandate.internal.execution.executable.invoker;
 
+import pw.stamina.mandate.execution.executable.CommandInvoker;
 import pw.stamina.mandate.execution.result.ExitCode;
 
 import java.lang.reflect.Method;
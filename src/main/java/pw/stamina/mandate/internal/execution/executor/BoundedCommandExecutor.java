@@ -0,0 +1,87 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.execution.executor;
+
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
+import pw.stamina.mandate.execution.RejectionPolicy;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link AsyncCommandExecutor AsyncCommandExecutor} backed by a fixed-size {@link ThreadPoolExecutor ThreadPoolExecutor}
+ * with a bounded queue. Idle threads are released after a minute, so an unused executor holds no threads.
+ *
+ * @author Mark Johnson
+ */
+public class BoundedCommandExecutor implements AsyncCommandExecutor {
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final ThreadPoolExecutor threadPool;
+
+    public BoundedCommandExecutor(final int poolSize, final int queueCapacity, final RejectionPolicy rejectionPolicy) {
+        final BlockingQueue<Runnable> queue = (queueCapacity == 0) ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+        this.threadPool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, queue, newThreadFactory(),
+                (rejectionPolicy == RejectionPolicy.CALLER_RUNS) ? BoundedCommandExecutor::runOnCaller : new ThreadPoolExecutor.AbortPolicy());
+        this.threadPool.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        threadPool.execute(command);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return threadPool.getQueue().size();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return threadPool.getActiveCount();
+    }
+
+    @Override
+    public void shutdown() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Runs a command that the pool has no capacity for on the submitting thread. Unlike {@link ThreadPoolExecutor.CallerRunsPolicy
+     * CallerRunsPolicy}, which silently drops it, a command submitted after the pool was shut down is rejected.
+     */
+    private static void runOnCaller(final Runnable command, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The executor has been shut down");
+        }
+        command.run();
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        final String prefix = "mandate-async-" + POOL_COUNTER.incrementAndGet() + "-";
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> new Thread(runnable, prefix + threadCounter.incrementAndGet());
+    }
+}
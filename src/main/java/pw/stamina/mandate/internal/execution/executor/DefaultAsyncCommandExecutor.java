@@ -0,0 +1,64 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.execution.executor;
+
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
+import pw.stamina.mandate.execution.RejectionPolicy;
+
+/**
+ * The executor shared by every {@link pw.stamina.mandate.execution.CommandContext CommandContext} that was not given
+ * one of its own. It is created on first use, and is bounded so that a burst of asynchronous commands queues up or
+ * throttles its submitters instead of starting an unbounded number of threads.
+ *
+ * @author Mark Johnson
+ */
+public enum DefaultAsyncCommandExecutor implements AsyncCommandExecutor {
+    INSTANCE;
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final AsyncCommandExecutor backingExecutor = new BoundedCommandExecutor(
+            Math.max(2, Runtime.getRuntime().availableProcessors() * 2), QUEUE_CAPACITY, RejectionPolicy.CALLER_RUNS);
+
+    @Override
+    public void execute(final Runnable command) {
+        backingExecutor.execute(command);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return backingExecutor.getQueueDepth();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return backingExecutor.getActiveCount();
+    }
+
+    /**
+     * Does nothing. This executor is shared by every context that was not given one of its own, so no single caller
+     * may stop it; its worker threads time out on their own once they have been idle for a minute.
+     */
+    @Override
+    public void shutdown() {}
+
+    public static DefaultAsyncCommandExecutor getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.execution.executor;
+
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
+import pw.stamina.mandate.execution.ExecutorBuilder;
+import pw.stamina.mandate.execution.RejectionPolicy;
+
+import java.util.Optional;
+
+/**
+ * @author Mark Johnson
+ */
+public class SimpleExecutorBuilder implements ExecutorBuilder {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private Integer poolSize;
+
+    private Integer queueCapacity;
+
+    private RejectionPolicy rejectionPolicy;
+
+    private boolean virtualThreads;
+
+    @Override
+    public ExecutorBuilder usingPoolSize(final int poolSize) {
+        checkPrecondition(this.poolSize == null, "Pool size has already been provided");
+        checkPrecondition(poolSize > 0, "Pool size must be positive");
+        this.poolSize = poolSize;
+        return this;
+    }
+
+    @Override
+    public ExecutorBuilder usingQueueCapacity(final int queueCapacity) {
+        checkPrecondition(this.queueCapacity == null, "Queue capacity has already been provided");
+        checkPrecondition(queueCapacity >= 0, "Queue capacity must not be negative");
+        checkPrecondition(!virtualThreads, "Virtual thread executors do not queue commands");
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    @Override
+    public ExecutorBuilder usingRejectionPolicy(final RejectionPolicy rejectionPolicy) {
+        checkPrecondition(this.rejectionPolicy == null, "Rejection policy has already been provided");
+        this.rejectionPolicy = rejectionPolicy;
+        return this;
+    }
+
+    @Override
+    public ExecutorBuilder usingVirtualThreads() {
+        checkPrecondition(!virtualThreads, "Virtual threads have already been requested");
+        checkPrecondition(queueCapacity == null, "Virtual thread executors do not queue commands");
+        checkPrecondition(VirtualThreadCommandExecutor.isSupported(), "Virtual threads require JDK 21 or newer");
+        this.virtualThreads = true;
+        return this;
+    }
+
+    @Override
+    public AsyncCommandExecutor build() {
+        final RejectionPolicy rejectionPolicy = Optional.ofNullable(this.rejectionPolicy).orElse(RejectionPolicy.ABORT);
+        if (virtualThreads) {
+            return new VirtualThreadCommandExecutor(Optional.ofNullable(poolSize).orElse(Integer.MAX_VALUE), rejectionPolicy);
+        }
+        return new BoundedCommandExecutor(
+                Optional.ofNullable(poolSize).orElseGet(() -> Runtime.getRuntime().availableProcessors()),
+                Optional.ofNullable(queueCapacity).orElse(DEFAULT_QUEUE_CAPACITY),
+                rejectionPolicy);
+    }
+
+    private static void checkPrecondition(final boolean assertion, final String failureMessage) {
+        if (!assertion) throw new IllegalStateException(failureMessage);
+    }
+}
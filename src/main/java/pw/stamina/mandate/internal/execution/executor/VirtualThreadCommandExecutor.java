@@ -0,0 +1,117 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.execution.executor;
+
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
+import pw.stamina.mandate.execution.RejectionPolicy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link AsyncCommandExecutor AsyncCommandExecutor} starting a new virtual thread for every command. Concurrency is
+ * bounded by a fixed number of permits rather than by a queue, so the reported queue depth is always zero.
+ * <p>
+ * Virtual threads are only available on JDK 21 and newer, and are looked up reflectively so that Mandate itself can
+ * still run on older versions.
+ *
+ * @author Mark Johnson
+ */
+public class VirtualThreadCommandExecutor implements AsyncCommandExecutor {
+    private static final MethodHandle VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
+    private final ExecutorService virtualExecutor;
+
+    private final Semaphore permits;
+
+    private final RejectionPolicy rejectionPolicy;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    public VirtualThreadCommandExecutor(final int maximumConcurrency, final RejectionPolicy rejectionPolicy) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+        try {
+            this.virtualExecutor = (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke();
+        } catch (final Throwable t) {
+            throw new IllegalStateException("Unable to create a virtual thread executor", t);
+        }
+        this.permits = new Semaphore(maximumConcurrency);
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (!permits.tryAcquire()) {
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS && !virtualExecutor.isShutdown()) {
+                command.run();
+                return;
+            }
+            throw new RejectedExecutionException("No capacity is left to run the command");
+        }
+        try {
+            virtualExecutor.execute(() -> {
+                activeCount.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return 0;
+    }
+
+    @Override
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    @Override
+    public void shutdown() {
+        virtualExecutor.shutdown();
+    }
+
+    public static boolean isSupported() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -28,8 +28,9 @@ import pw.stamina.mandate.internal.utils.reflect.GenericResolver;
 import pw.stamina.mandate.internal.utils.PrimitiveArrays;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Mark Johnson
@@ -37,63 +38,115 @@ import java.util.stream.Collectors;
 public enum DefaultCommandParameterFactory implements CommandParameterCreationStrategy {
     INSTANCE;
 
+    /**
+     * The parameters of each executable method, analyzed once per declaring class. The parameters themselves do not
+     * depend on the context they are registered in, so they are shared between registrations; only the presence of a
+     * handler for each parameter is checked against the context every time.
+     */
+    private static final ClassValue<Map<Method, ParameterTemplate[]>> PARAMETER_TEMPLATES = new ClassValue<Map<Method, ParameterTemplate[]>>() {
+        @Override
+        protected Map<Method, ParameterTemplate[]> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public List<CommandParameter> generateCommandParameters(final Method backingMethod, final CommandContext commandContext) throws UnsupportedParameterException {
+        final ParameterTemplate[] templates = PARAMETER_TEMPLATES.get(backingMethod.getDeclaringClass())
+                .computeIfAbsent(backingMethod, DefaultCommandParameterFactory::analyzeParameters);
+
+        final List<CommandParameter> parameters = new ArrayList<>(templates.length);
+        for (final ParameterTemplate template : templates) {
+            if (template.malformation != null) {
+                throw new UnsupportedParameterException(template.malformation);
+            }
+            if (!template.parameter.isImplicit()) {
+                final Class<?> type = template.parameter.getType();
+                if (!commandContext.getArgumentHandlers().findArgumentHandler(type).isPresent()) {
+                    throw new UnsupportedParameterException(String.format("%s is not a supported parameter type", type.getCanonicalName()));
+                } else if (type.isArray() && !commandContext.getArgumentHandlers().findArgumentHandler((PrimitiveArrays.getBaseComponentType(type.getComponentType()))).isPresent()) {
+                    throw new UnsupportedParameterException(String.format("Array element %s is not a supported parameter type", type.getCanonicalName()));
+                }
+            }
+            parameters.add(template.parameter);
+        }
+        return parameters;
+    }
+
+    /**
+     * Validates the declaration of every parameter of a method, and resolves the type each one is parsed as. Analysis
+     * stops at the first malformed parameter, which is the last template returned.
+     */
+    private static ParameterTemplate[] analyzeParameters(final Method backingMethod) {
+        final List<ParameterTemplate> templates = new ArrayList<>();
         final Set<String> usedFlags = new HashSet<>();
-        final boolean[] reachedOptionals = {false};
-        final boolean[] reachedRequired = {false};
-        return Arrays.stream(backingMethod.getParameters()).map(parameter -> {
+        boolean reachedOptionals = false;
+        boolean reachedRequired = false;
+        for (final Parameter parameter : backingMethod.getParameters()) {
             if (!parameter.isAnnotationPresent(Implicit.class)) {
                 Class<?> type = parameter.getType();
                 AutoFlag autoFlag = parameter.getDeclaredAnnotation(AutoFlag.class);
                 UserFlag userFlag = parameter.getDeclaredAnnotation(UserFlag.class);
 
+                String malformation = null;
                 if (autoFlag != null || userFlag != null) {
                     if (autoFlag != null && userFlag != null) {
-                        throw new UnsupportedParameterException("Parameter " + parameter.getName()
+                        malformation = "Parameter " + parameter.getName()
                                 + " in method " + backingMethod.getName()
-                                + " is annotated as both an automatic and operand-based flag");
-                    } else if ((reachedRequired[0] || reachedOptionals[0])) {
-                        throw new UnsupportedParameterException("Parameter " + parameter.getName()
+                                + " is annotated as both an automatic and operand-based flag";
+                    } else if ((reachedRequired || reachedOptionals)) {
+                        malformation = "Parameter " + parameter.getName()
                                 + " in method " + backingMethod.getName()
-                                + " is annotated as flag, but exists after non-flag parameters");
-                    }
-                    for (String flag : (autoFlag != null ? autoFlag.flag() : userFlag.flag())) {
-                        if (!usedFlags.add(flag)) {
-                            throw new UnsupportedParameterException("Parameter " + parameter.getName()
-                                    + " in method " + backingMethod.getName()
-                                    + " uses previously declared flag name '" + flag + "'");
+                                + " is annotated as flag, but exists after non-flag parameters";
+                    } else {
+                        for (String flag : (autoFlag != null ? autoFlag.flag() : userFlag.flag())) {
+                            if (!usedFlags.add(flag)) {
+                                malformation = "Parameter " + parameter.getName()
+                                        + " in method " + backingMethod.getName()
+                                        + " uses previously declared flag name '" + flag + "'";
+                                break;
+                            }
                         }
                     }
-                    if (type == Optional.class)
+                    if (malformation == null && type == Optional.class)
                         type = (Class<?>) GenericResolver.typeParametersOf(parameter.getParameterizedType())[0];
 
                 } else if (type == Optional.class) {
-                    reachedOptionals[0] = true;
+                    reachedOptionals = true;
                     type = (Class<?>) GenericResolver.typeParametersOf(parameter.getParameterizedType())[0];
 
                 } else {
-                    if (reachedOptionals[0]) {
-                        throw new UnsupportedParameterException("Parameter " + parameter.getName()
+                    if (reachedOptionals) {
+                        malformation = "Parameter " + parameter.getName()
                                 + " in method " + backingMethod.getName()
-                                + " is mandatory, but exists after optional parameters");
+                                + " is mandatory, but exists after optional parameters";
                     }
-                    reachedRequired[0] = true;
+                    reachedRequired = true;
                 }
 
-                if (!commandContext.getArgumentHandlers().findArgumentHandler(type).isPresent()) {
-                    throw new UnsupportedParameterException(String.format("%s is not a supported parameter type", type.getCanonicalName()));
-                } else if (type.isArray() && !commandContext.getArgumentHandlers().findArgumentHandler((PrimitiveArrays.getBaseComponentType(type.getComponentType()))).isPresent()) {
-                    throw new UnsupportedParameterException(String.format("Array element %s is not a supported parameter type", type.getCanonicalName()));
+                if (malformation != null) {
+                    templates.add(new ParameterTemplate(null, malformation));
+                    break;
                 }
-
-                return new DeclaredCommandParameter(parameter, type);
+                templates.add(new ParameterTemplate(new DeclaredCommandParameter(parameter, type), null));
             } else {
-                return new DeclaredCommandParameter(parameter, parameter.getType());
+                templates.add(new ParameterTemplate(new DeclaredCommandParameter(parameter, parameter.getType()), null));
             }
-        }).collect(Collectors.toList());
+        }
+        return templates.toArray(new ParameterTemplate[0]);
     }
 
     public static DefaultCommandParameterFactory getInstance() {
         return INSTANCE;
     }
+
+    private static final class ParameterTemplate {
+        private final DeclaredCommandParameter parameter;
+
+        private final String malformation;
+
+        private ParameterTemplate(final DeclaredCommandParameter parameter, final String malformation) {
+            this.parameter = parameter;
+            this.malformation = malformation;
+        }
+    }
 }
@@ -18,34 +18,59 @@
 
 package pw.stamina.mandate.internal.execution.result;
 
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
 import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.execution.result.Execution;
 import pw.stamina.mandate.execution.result.ExitCode;
-import pw.stamina.mandate.internal.execution.executable.invoker.CommandInvoker;
+import pw.stamina.mandate.execution.executable.CommandInvoker;
 
 import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Mark Johnson
  */
 public class AsynchronousInvokerExecution implements Execution {
-    private static final ExecutorService COMMAND_EXECUTOR = Executors.newCachedThreadPool();
 
-    private final ExecutionContext executionContext;
+    private final CompletableFuture<ExitCode> completion = new CompletableFuture<>();
 
-    private final Future<ExitCode> pendingComputation;
+    private final FutureTask<ExitCode> pendingComputation;
 
-    public AsynchronousInvokerExecution(final CommandInvoker invoker, final ExecutionContext executionContext, final Object[] args) {
-        pendingComputation = COMMAND_EXECUTOR.submit(() -> invoker.invoke(args));
-        this.executionContext = executionContext;
+    public AsynchronousInvokerExecution(final CommandInvoker invoker, final ExecutionContext executionContext, final Object[] args, final AsyncCommandExecutor asyncExecutor) {
+        pendingComputation = new FutureTask<ExitCode>(() -> invoker.invoke(args)) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    completion.complete(ExitCode.TERMINATED);
+                    return;
+                }
+                try {
+                    completion.complete(get());
+                } catch (final Exception e) {
+                    final Throwable cause = (e instanceof ExecutionException) ? e.getCause() : e;
+                    executionContext.getIODescriptor().err().write(String.format("Exception while executing command: %s", cause));
+                    completion.complete(ExitCode.TERMINATED);
+                }
+            }
+        };
+        try {
+            asyncExecutor.execute(pendingComputation);
+        } catch (final RejectedExecutionException e) {
+            // completes the execution as terminated, so nothing waiting on it can hang
+            pendingComputation.cancel(false);
+            throw e;
+        }
     }
 
     @Override
     public ExitCode result() {
         try {
-            return pendingComputation.get();
-        } catch (final Exception e) {
-            executionContext.getIODescriptor().err().write(String.format("Exception while executing command: %s", e));
+            return completion.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ExitCode.TERMINATED;
+        } catch (final ExecutionException e) {
             return ExitCode.TERMINATED;
         }
     }
@@ -53,11 +78,11 @@ public class AsynchronousInvokerExecution implements Execution {
     @Override
     public ExitCode result(final long timeout, final TimeUnit unit) throws TimeoutException {
         try {
-            return pendingComputation.get(timeout, unit);
-        } catch (final TimeoutException e) {
-            throw e;
-        } catch (final Exception e) {
-            executionContext.getIODescriptor().err().write(String.format("Exception while executing command: %s", e));
+            return completion.get(timeout, unit);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ExitCode.TERMINATED;
+        } catch (final ExecutionException e) {
             return ExitCode.TERMINATED;
         }
     }
@@ -69,6 +94,17 @@ public class AsynchronousInvokerExecution implements Execution {
 
     @Override
     public boolean completed() {
-        return pendingComputation.isDone();
+        return completion.isDone();
+    }
+
+    @Override
+    public CompletionStage<ExitCode> toCompletionStage() {
+        return completion.thenApply(Function.identity());
+    }
+
+    @Override
+    public Execution onComplete(final Consumer<? super ExitCode> callback) {
+        completion.thenAccept(callback);
+        return this;
     }
 }
@@ -18,9 +18,13 @@
 
 package pw.stamina.mandate.internal.execution.result;
 
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
 import pw.stamina.mandate.execution.ExecutionContext;
+import pw.stamina.mandate.execution.executable.CommandInvoker;
 import pw.stamina.mandate.execution.result.Execution;
-import pw.stamina.mandate.internal.execution.executable.invoker.CommandInvoker;
+import pw.stamina.mandate.execution.result.ExitCode;
+
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Mark Johnson
@@ -28,7 +32,15 @@ import pw.stamina.mandate.internal.execution.executable.invoker.CommandInvoker;
 public final class ExecutionFactory {
     private ExecutionFactory() {}
 
-    public static Execution makeExecution(CommandInvoker invoker, ExecutionContext executionContext, Object[] parsedArguments, boolean parallel) {
-        return (parallel) ? new AsynchronousInvokerExecution(invoker, executionContext, parsedArguments) : new SynchronousInvokerExecution(invoker, executionContext, parsedArguments);
+    public static Execution makeExecution(CommandInvoker invoker, ExecutionContext executionContext, Object[] parsedArguments, AsyncCommandExecutor asyncExecutor) {
+        if (asyncExecutor == null) {
+            return new SynchronousInvokerExecution(invoker, executionContext, parsedArguments);
+        }
+        try {
+            return new AsynchronousInvokerExecution(invoker, executionContext, parsedArguments, asyncExecutor);
+        } catch (final RejectedExecutionException e) {
+            executionContext.getIODescriptor().err().write("Command rejected: the async executor has no capacity left");
+            return Execution.complete(ExitCode.TERMINATED);
+        }
     }
 }
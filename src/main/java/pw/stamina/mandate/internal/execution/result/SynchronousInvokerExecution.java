@@ -21,10 +21,13 @@ package pw.stamina.mandate.internal.execution.result;
 import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.execution.result.Execution;
 import pw.stamina.mandate.execution.result.ExitCode;
-import pw.stamina.mandate.internal.execution.executable.invoker.CommandInvoker;
+import pw.stamina.mandate.execution.executable.CommandInvoker;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * @author Mark Johnson
@@ -62,4 +65,16 @@ public class SynchronousInvokerExecution implements Execution {
     public boolean completed() {
         return true;
     }
+
+    @Override
+    public CompletionStage<ExitCode> toCompletionStage() {
+        // created on demand, so executions whose result is read directly do not allocate a stage
+        return CompletableFuture.completedFuture(exitCode);
+    }
+
+    @Override
+    public Execution onComplete(final Consumer<? super ExitCode> callback) {
+        callback.accept(exitCode);
+        return this;
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.io;
+
+import pw.stamina.mandate.internal.io.streams.BufferedChannelOutputStream;
+import pw.stamina.mandate.io.BufferedCommandOutput;
+import pw.stamina.mandate.io.BufferedOutputBuilder;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Mark Johnson
+ */
+public class SimpleBufferedOutputBuilder implements BufferedOutputBuilder {
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long DEFAULT_FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    private WritableByteChannel channel;
+
+    private Charset charset;
+
+    private Integer batchSize;
+
+    private Long flushIntervalNanos;
+
+    private boolean flushOnShutdown;
+
+    @Override
+    public BufferedOutputBuilder usingChannel(final WritableByteChannel channel) {
+        checkPrecondition(this.channel == null, "Output channel has already been provided");
+        this.channel = channel;
+        return this;
+    }
+
+    @Override
+    public BufferedOutputBuilder usingCharset(final Charset charset) {
+        checkPrecondition(this.charset == null, "Charset has already been provided");
+        this.charset = charset;
+        return this;
+    }
+
+    @Override
+    public BufferedOutputBuilder usingBatchSize(final int batchSize) {
+        checkPrecondition(this.batchSize == null, "Batch size has already been provided");
+        checkPrecondition(batchSize > 0, "Batch size must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    public BufferedOutputBuilder usingFlushInterval(final long flushInterval, final TimeUnit unit) {
+        checkPrecondition(this.flushIntervalNanos == null, "Flush interval has already been provided");
+        checkPrecondition(flushInterval > 0L, "Flush interval must be positive");
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        return this;
+    }
+
+    @Override
+    public BufferedOutputBuilder flushingOnShutdown() {
+        checkPrecondition(!flushOnShutdown, "Flushing on shutdown has already been requested");
+        this.flushOnShutdown = true;
+        return this;
+    }
+
+    @Override
+    public BufferedCommandOutput build() {
+        checkPrecondition(channel != null, "An output channel must be provided");
+        return new BufferedChannelOutputStream(
+                channel,
+                Optional.ofNullable(charset).orElse(StandardCharsets.UTF_8),
+                Optional.ofNullable(batchSize).orElse(DEFAULT_BATCH_SIZE),
+                Optional.ofNullable(flushIntervalNanos).orElse(DEFAULT_FLUSH_INTERVAL_NANOS),
+                flushOnShutdown);
+    }
+
+    private static void checkPrecondition(final boolean assertion, final String failureMessage) {
+        if (!assertion) throw new IllegalStateException(failureMessage);
+    }
+}
@@ -26,6 +26,7 @@ import pw.stamina.mandate.internal.io.streams.StandardErrorStream;
 import pw.stamina.mandate.internal.io.streams.StandardInputStream;
 import pw.stamina.mandate.internal.io.streams.StandardOutputStream;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -61,6 +62,26 @@ public class SimpleIOBuilder implements IOBuilder {
         return this;
     }
 
+    @Override
+    public IOBuilder usingOutputChannel(final WritableByteChannel channel) {
+        checkPrecondition(this.outputStreamSupplier == null, "Standard output stream supplier already provided");
+        final CommandOutput output = new SimpleBufferedOutputBuilder()
+                .usingChannel(channel)
+                .flushingOnShutdown()
+                .build();
+        return usingOutputStream(() -> output);
+    }
+
+    @Override
+    public IOBuilder usingErrorChannel(final WritableByteChannel channel) {
+        checkPrecondition(this.errorStreamSupplier == null, "Standard error stream supplier already provided");
+        final CommandOutput output = new SimpleBufferedOutputBuilder()
+                .usingChannel(channel)
+                .flushingOnShutdown()
+                .build();
+        return usingErrorStream(() -> output);
+    }
+
     @Override
     public IOEnvironment build() {
         return new SimpleIOEnvironment(
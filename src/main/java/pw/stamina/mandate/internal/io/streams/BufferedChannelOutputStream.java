@@ -0,0 +1,221 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.io.streams;
+
+import pw.stamina.mandate.io.BufferedCommandOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link BufferedCommandOutput BufferedCommandOutput} that writes each object on its own line to a {@link WritableByteChannel
+ * WritableByteChannel}. Writers only append to a lock-free queue; the queue is drained by a daemon writer thread whenever
+ * a batch has filled up or the flush interval has passed, whichever comes first.
+ *
+ * @author Mark Johnson
+ */
+public final class BufferedChannelOutputStream implements BufferedCommandOutput {
+
+    private static final AtomicInteger WRITER_COUNT = new AtomicInteger();
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final WritableByteChannel channel;
+
+    private final Charset charset;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final Thread writerThread;
+
+    private final Thread shutdownHook;
+
+    private final StringBuilder batch = new StringBuilder();
+
+    private volatile IOException writeFailure;
+
+    private volatile boolean closed;
+
+    public BufferedChannelOutputStream(final WritableByteChannel channel, final Charset charset, final int batchSize,
+                                       final long flushIntervalNanos, final boolean flushOnShutdown) {
+        this.channel = channel;
+        this.charset = charset;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushIntervalNanos;
+
+        this.writerThread = new Thread(this::runWriter, "mandate-output-writer-" + WRITER_COUNT.incrementAndGet());
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+
+        if (flushOnShutdown) {
+            this.shutdownHook = new Thread(this::close, writerThread.getName() + "-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else {
+            this.shutdownHook = null;
+        }
+    }
+
+    @Override
+    public void write(final Object o) {
+        if (writeFailure != null) {
+            reportWriteFailure();
+        }
+        final String message = String.valueOf(o);
+
+        // counted before closed is checked, so that close either waits for this object to be queued and written, or
+        // this write sees that the output was closed; counting it also keeps the pending count from ever dropping
+        // below the number of queued objects
+        final int pending = pendingCount.incrementAndGet();
+        if (closed) {
+            pendingCount.decrementAndGet();
+            throw new IllegalStateException("Output has already been closed");
+        }
+        queue.offer(message);
+        if (pending == batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (batch) {
+            drain();
+        }
+        reportWriteFailure();
+    }
+
+    @Override
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (final IllegalStateException ignored) {
+                // the JVM is already shutting down, and the hook is running or about to run
+            }
+        }
+
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (batch) {
+            drain();
+            // writers that were counted before the output was closed may not have queued their objects yet
+            while (pendingCount.get() > 0) {
+                Thread.yield();
+                drain();
+            }
+        }
+        reportWriteFailure();
+    }
+
+    /**
+     * Throws the failure of the last write to the channel, if it has not been reported yet. Each failure is only
+     * reported once, by whichever of write, flush or close gets to it first.
+     */
+    private void reportWriteFailure() {
+        final IOException failure;
+        synchronized (batch) {
+            failure = writeFailure;
+            writeFailure = null;
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Unable to write buffered output", failure);
+        }
+    }
+
+    private void runWriter() {
+        while (!closed) {
+            if (pendingCount.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            synchronized (batch) {
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Writes out every queued object, at most a batch at a time. Must be called while holding the lock on the batch,
+     * so that concurrent flushes can not reorder the output.
+     */
+    private void drain() {
+        String message;
+        int batched = 0;
+        while ((message = queue.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.append(message).append(LINE_SEPARATOR);
+            if (++batched == batchSize) {
+                writeBatch();
+                batched = 0;
+            }
+        }
+        if (batched > 0) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Writes the current batch to the channel. Batches are still written while an earlier failure has not been
+     * reported, as the channel may have recovered since; further failures are then suppressed by the earlier one.
+     */
+    private void writeBatch() {
+        final ByteBuffer buffer = charset.encode(CharBuffer.wrap(batch));
+        batch.setLength(0);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (final IOException e) {
+            final IOException pendingFailure = writeFailure;
+            if (pendingFailure == null) {
+                writeFailure = e;
+            } else if (pendingFailure != e) {
+                pendingFailure.addSuppressed(e);
+            }
+        }
+    }
+}
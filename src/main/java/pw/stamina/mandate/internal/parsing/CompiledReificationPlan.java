@@ -0,0 +1,420 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing;
+
+import pw.stamina.mandate.annotations.flag.AutoFlag;
+import pw.stamina.mandate.annotations.flag.UserFlag;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.ExecutionContext;
+import pw.stamina.mandate.execution.parameter.CommandParameter;
+import pw.stamina.mandate.internal.utils.reflect.TypeBuilder;
+import pw.stamina.mandate.io.IODescriptor;
+import pw.stamina.mandate.parsing.ArgumentReificationException;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.ReificationPlan;
+import pw.stamina.mandate.parsing.argument.ArgumentHandler;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
+
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * @author Mark Johnson
+ */
+final class CompiledReificationPlan implements ReificationPlan {
+
+    private final Step[] steps;
+
+    private final CommandContext commandContext;
+
+    private final Map<String, Integer> flagIndex = new HashMap<>();
+
+    private final String[] inlineFlagKeys;
+
+    private final int[] inlineFlagSteps;
+
+    private final int exclusionWords;
+
+    private final long[][] exclusionMasks;
+
+    private final long[][] exclusiveMasks;
+
+    private final int[][] exclusiveBits;
+
+    CompiledReificationPlan(final List<CommandParameter> parameters, final CommandContext commandContext) {
+        this.commandContext = commandContext;
+        this.steps = new Step[parameters.size()];
+
+        final CommandArgumentCreationStrategy argumentCreationStrategy = commandContext.getCommandConfiguration().getArgumentCreationStrategy();
+        final List<String> inlineFlagKeys = new ArrayList<>();
+        final List<Integer> inlineFlagSteps = new ArrayList<>();
+        for (int i = 0; i < steps.length; i++) {
+            final Step step = steps[i] = new Step(parameters.get(i), commandContext, argumentCreationStrategy);
+            for (final String flagKey : step.flagKeys) {
+                flagIndex.putIfAbsent(flagKey, i);
+                if (step.kind == Kind.USER_FLAG) {
+                    inlineFlagKeys.add(flagKey);
+                    inlineFlagSteps.add(i);
+                }
+            }
+        }
+
+        this.inlineFlagKeys = inlineFlagKeys.toArray(new String[inlineFlagKeys.size()]);
+        this.inlineFlagSteps = inlineFlagSteps.stream().mapToInt(Integer::intValue).toArray();
+
+        final Map<String, Integer> flagBits = new HashMap<>();
+        boolean exclusivesPresent = false;
+        for (final Step step : steps) {
+            for (final String flag : step.flags) {
+                flagBits.putIfAbsent(flag, flagBits.size());
+            }
+            for (final String exclusive : step.exclusives) {
+                flagBits.putIfAbsent(exclusive, flagBits.size());
+                exclusivesPresent = true;
+            }
+        }
+
+        this.exclusionWords = exclusivesPresent ? (flagBits.size() + 63) >>> 6 : 0;
+        this.exclusionMasks = new long[steps.length][];
+        this.exclusiveMasks = new long[steps.length][];
+        this.exclusiveBits = new int[steps.length][];
+        for (int i = 0; i < steps.length; i++) {
+            final Step step = steps[i];
+            exclusionMasks[i] = new long[exclusionWords];
+            exclusiveMasks[i] = new long[exclusionWords];
+            exclusiveBits[i] = new int[step.exclusives.length];
+            if (exclusionWords == 0) {
+                continue;
+            }
+
+            for (final String flag : step.flags) {
+                setBit(exclusionMasks[i], flagBits.get(flag));
+            }
+            for (int j = 0; j < step.exclusives.length; j++) {
+                final int bit = exclusiveBits[i][j] = flagBits.get(step.exclusives[j]);
+                setBit(exclusionMasks[i], bit);
+                setBit(exclusiveMasks[i], bit);
+            }
+        }
+    }
+
+    @Override
+    public Object[] reify(final Deque<CommandArgument> arguments, final ExecutionContext executionContext) throws InputParsingException {
+        final Object[] parsedArgs = new Object[steps.length];
+        final long[] excludedFlags = (exclusionWords > 0) ? new long[exclusionWords] : null;
+
+        final CommandArgument[] args = arguments.toArray(new CommandArgument[arguments.size()]);
+        final FlagIndex flags = !flagIndex.isEmpty() ? indexFlags(args) : null;
+        final boolean[] consumed = new boolean[args.length];
+        int positionalCursor = 0;
+
+        for (int i = 0; i < steps.length; i++) {
+            final Step step = steps[i];
+            switch (step.kind) {
+                case AUTO_FLAG: {
+                    final int position = flags.findOccurrence(i, consumed, 0);
+                    final CommandArgument present = (position >= 0) ? args[position] : null;
+                    if (present != null) {
+                        consumed[position] = true;
+                        checkExclusivity(present, i, excludedFlags);
+                    }
+                    parsedArgs[i] = step.parseDefault(present != null ? step.presentDefault : step.absentDefault, commandContext);
+                    break;
+                }
+                case USER_FLAG: {
+                    final CommandArgument present = takeFlagOperand(i, args, flags, consumed, step);
+                    if (present != null) {
+                        checkExclusivity(present, i, excludedFlags);
+                        parsedArgs[i] = step.parseDefault(!present.getRaw().isEmpty() ? present : null, commandContext);
+                    } else {
+                        parsedArgs[i] = step.parseDefault(step.absentDefault, commandContext);
+                    }
+                    break;
+                }
+                case IMPLICIT: {
+                    final Object implicitLookup;
+                    switch (step.implicitSlot) {
+                        case IO_DESCRIPTOR:
+                            implicitLookup = executionContext.getIODescriptor();
+                            break;
+                        case COMMAND_CONTEXT:
+                            implicitLookup = executionContext.getCommandContext();
+                            break;
+                        default:
+                            implicitLookup = executionContext.getProvidedValue(step.implicitType);
+                    }
+                    if (implicitLookup == null) {
+                        throw new ArgumentReificationException(String.format("No mapped instance present for implicit parameters of type %s", step.parameter.getType()));
+                    }
+                    parsedArgs[i] = implicitLookup;
+                    break;
+                }
+                default: {
+                    while (positionalCursor < args.length && consumed[positionalCursor]) {
+                        positionalCursor++;
+                    }
+                    final CommandArgument argument = (positionalCursor < args.length) ? args[positionalCursor] : null;
+                    if (argument != null) {
+                        consumed[positionalCursor] = true;
+                    }
+
+                    if (!step.optional) {
+                        parsedArgs[i] = step.findHandler(commandContext).parse(argument, step.parameter, commandContext);
+                    } else {
+                        parsedArgs[i] = (argument != null) ? Optional.of(step.findHandler(commandContext).parse(argument, step.parameter, commandContext)) : Optional.empty();
+                    }
+                }
+            }
+        }
+
+        int remaining = 0;
+        final StringJoiner remainingArgs = new StringJoiner(", ", "[", "]");
+        for (int position = 0; position < args.length; position++) {
+            if (!consumed[position]) {
+                remaining++;
+                remainingArgs.add(args[position].getRaw());
+            }
+        }
+
+        if (remaining > 0) {
+            throw new ArgumentReificationException(String.format("Passed %d invalid or previously present argument(s): %s", remaining, remainingArgs));
+        }
+        return parsedArgs;
+    }
+
+    private static CommandArgument takeFlagOperand(final int stepIndex, final CommandArgument[] args, final FlagIndex flags,
+                                                   final boolean[] consumed, final Step step) {
+        for (int position = flags.findOccurrence(stepIndex, consumed, 0); position >= 0; position = flags.findOccurrence(stepIndex, consumed, position + 1)) {
+            final int inlineEqualsSignLookup = flags.inlineSplits[position];
+            if (inlineEqualsSignLookup >= 0) {
+                consumed[position] = true;
+                final String raw = args[position].getRaw();
+                return step.argumentCreationStrategy.newArgument(raw, inlineEqualsSignLookup + 1, raw.length() - inlineEqualsSignLookup - 1);
+            }
+
+            int operand = position + 1;
+            while (operand < args.length && consumed[operand]) {
+                operand++;
+            }
+            if (operand < args.length) {
+                consumed[position] = consumed[operand] = true;
+                return args[operand];
+            }
+        }
+        return null;
+    }
+
+    private FlagIndex indexFlags(final CommandArgument[] args) {
+        final FlagIndex index = new FlagIndex(steps.length, args.length);
+        for (int position = args.length - 1; position >= 0; position--) {
+            final String raw = args[position].getRaw();
+            if (raw.isEmpty() || raw.charAt(0) != '-') {
+                continue;
+            }
+
+            final int inlineEqualsSignLookup = raw.indexOf('=');
+            int owner = -1;
+            if (inlineEqualsSignLookup >= 0) {
+                for (int i = 0; i < inlineFlagKeys.length; i++) {
+                    if (inlineFlagKeys[i].length() == inlineEqualsSignLookup && raw.startsWith(inlineFlagKeys[i])) {
+                        owner = inlineFlagSteps[i];
+                        break;
+                    }
+                }
+            } else {
+                final Integer lookup = flagIndex.get(raw);
+                if (lookup != null) {
+                    owner = lookup;
+                }
+            }
+
+            if (owner >= 0) {
+                index.inlineSplits[position] = inlineEqualsSignLookup;
+                index.nextOccurrences[position] = index.firstOccurrences[owner];
+                index.firstOccurrences[owner] = position;
+            }
+        }
+        return index;
+    }
+
+    private void checkExclusivity(final CommandArgument present, final int stepIndex, final long[] excluded) throws ArgumentReificationException {
+        if (excluded == null) {
+            return;
+        }
+
+        final long[] exclusiveMask = exclusiveMasks[stepIndex];
+        for (int word = 0; word < exclusionWords; word++) {
+            if ((exclusiveMask[word] & excluded[word]) != 0) {
+                final int[] bits = exclusiveBits[stepIndex];
+                for (int i = 0; i < bits.length; i++) {
+                    if ((excluded[bits[i] >>> 6] & (1L << bits[i])) != 0) {
+                        throw new ArgumentReificationException(String.format("Provided flag '%s' conflicts with exclusive flag '%s'",
+                                present.getRaw(), steps[stepIndex].exclusives[i]));
+                    }
+                }
+            }
+        }
+
+        final long[] exclusionMask = exclusionMasks[stepIndex];
+        for (int word = 0; word < exclusionWords; word++) {
+            excluded[word] |= exclusionMask[word];
+        }
+    }
+
+    private static void setBit(final long[] mask, final int bit) {
+        mask[bit >>> 6] |= 1L << bit;
+    }
+
+    private static final class FlagIndex {
+        private final int[] firstOccurrences;
+
+        private final int[] nextOccurrences;
+
+        private final int[] inlineSplits;
+
+        private FlagIndex(final int stepCount, final int argumentCount) {
+            this.firstOccurrences = new int[stepCount];
+            this.nextOccurrences = new int[argumentCount];
+            this.inlineSplits = new int[argumentCount];
+            Arrays.fill(firstOccurrences, -1);
+        }
+
+        private int findOccurrence(final int stepIndex, final boolean[] consumed, final int from) {
+            int position = firstOccurrences[stepIndex];
+            while (position >= 0 && (position < from || consumed[position])) {
+                position = nextOccurrences[position];
+            }
+            return position;
+        }
+    }
+
+    private enum Kind {
+        POSITIONAL, AUTO_FLAG, USER_FLAG, IMPLICIT
+    }
+
+    /**
+     * Where the value of an implicit parameter is read from: one of the values every ExecutionContext carries, or the
+     * context's argument providers
+     */
+    private enum ImplicitSlot {
+        IO_DESCRIPTOR, COMMAND_CONTEXT, PROVIDED
+    }
+
+    private static final class Step {
+        private final CommandParameter parameter;
+
+        private final Kind kind;
+
+        private final ArgumentHandler<?> argumentHandler;
+
+        private final CommandArgumentCreationStrategy argumentCreationStrategy;
+
+        private final boolean optional;
+
+        private final String[] flags;
+
+        private final String[] flagKeys;
+
+        private final String[] exclusives;
+
+        private final CommandArgument presentDefault;
+
+        private final CommandArgument absentDefault;
+
+        private final Type implicitType;
+
+        private final ImplicitSlot implicitSlot;
+
+        private Step(final CommandParameter parameter, final CommandContext commandContext, final CommandArgumentCreationStrategy argumentCreationStrategy) {
+            this.parameter = parameter;
+            this.argumentCreationStrategy = argumentCreationStrategy;
+            this.optional = parameter.isOptional();
+
+            final AutoFlag autoFlag;
+            final UserFlag userFlag;
+            if (parameter.isImplicit()) {
+                this.kind = Kind.IMPLICIT;
+                this.flags = this.exclusives = new String[0];
+                this.presentDefault = this.absentDefault = null;
+            } else if ((autoFlag = parameter.getAnnotation(AutoFlag.class)) != null) {
+                this.kind = Kind.AUTO_FLAG;
+                this.flags = autoFlag.flag();
+                this.exclusives = autoFlag.xor();
+                if (parameter.getType() == Boolean.class || parameter.getType() == Boolean.TYPE) {
+                    this.presentDefault = argumentCreationStrategy.newArgument("true");
+                    this.absentDefault = argumentCreationStrategy.newArgument("false");
+                } else {
+                    this.presentDefault = newDefault(autoFlag.ifdef(), argumentCreationStrategy);
+                    this.absentDefault = newDefault(autoFlag.elsedef(), argumentCreationStrategy);
+                }
+            } else if ((userFlag = parameter.getAnnotation(UserFlag.class)) != null) {
+                this.kind = Kind.USER_FLAG;
+                this.flags = userFlag.flag();
+                this.exclusives = userFlag.xor();
+                this.presentDefault = null;
+                this.absentDefault = newDefault(userFlag.elsedef(), argumentCreationStrategy);
+            } else {
+                this.kind = Kind.POSITIONAL;
+                this.flags = this.exclusives = new String[0];
+                this.presentDefault = this.absentDefault = null;
+            }
+
+            this.flagKeys = new String[flags.length];
+            for (int i = 0; i < flags.length; i++) {
+                flagKeys[i] = "-" + flags[i];
+            }
+
+            this.argumentHandler = (kind != Kind.IMPLICIT)
+                    ? commandContext.getArgumentHandlers().findArgumentHandler((Class<?>) parameter.getType())
+                            .<ArgumentHandler<?>>map(handler -> handler.specialize(parameter, commandContext))
+                            .orElse(null)
+                    : null;
+            this.implicitType = (kind == Kind.IMPLICIT) ? TypeBuilder.from(parameter.getType(), parameter.getTypeParameters()) : null;
+            if (implicitType == IODescriptor.class) {
+                this.implicitSlot = ImplicitSlot.IO_DESCRIPTOR;
+            } else if (implicitType == CommandContext.class) {
+                this.implicitSlot = ImplicitSlot.COMMAND_CONTEXT;
+            } else {
+                this.implicitSlot = ImplicitSlot.PROVIDED;
+            }
+        }
+
+        private ArgumentHandler<?> findHandler(final CommandContext commandContext) throws ArgumentReificationException {
+            if (argumentHandler != null) {
+                return argumentHandler;
+            }
+            return commandContext.getArgumentHandlers().findArgumentHandler((Class<?>) parameter.getType())
+                    .orElseThrow(() -> new ArgumentReificationException(String.format("No argument handler exists for argument parameter type '%s'", parameter.getType().getCanonicalName())));
+        }
+
+        private Object parseDefault(final CommandArgument argument, final CommandContext commandContext) throws InputParsingException {
+            final ArgumentHandler<?> argumentHandler = findHandler(commandContext);
+            if (!optional) {
+                return (argument != null) ? argumentHandler.parse(argument, parameter, commandContext) : null;
+            } else {
+                return (argument != null) ? Optional.of(argumentHandler.parse(argument, parameter, commandContext)) : Optional.empty();
+            }
+        }
+
+        private static CommandArgument newDefault(final String definition, final CommandArgumentCreationStrategy argumentCreationStrategy) {
+            return !definition.isEmpty() ? argumentCreationStrategy.newArgument(definition) : null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing;
+
+import pw.stamina.mandate.parsing.InputTokenizationException;
+import pw.stamina.mandate.parsing.InputTokenizationStrategy;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A tokenizer following the same rules as the {@link DefaultInputTokenizer DefaultInputTokenizer}, which rather than
+ * copying every token creates its arguments as regions of the original input through
+ * {@link CommandArgumentCreationStrategy#newArgument(String, int, int)}. Only tokens containing escapes or quotes which
+ * have to be removed are copied into a new String.
+ *
+ * @author Mark Johnson
+ */
+public enum SlicingInputTokenizer implements InputTokenizationStrategy {
+    INSTANCE;
+
+    public static SlicingInputTokenizer getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Deque<CommandArgument> parse(final String input, final CommandArgumentCreationStrategy argumentCreationStrategy) throws InputTokenizationException {
+        final Deque<CommandArgument> arguments = new ArrayDeque<>();
+
+        boolean escaped = false, quoted = false, rewritten = false; int depth = 0, start = -1;
+        for (int idx = 0; idx < input.length(); idx++) {
+            final char character = input.charAt(idx);
+            if (escaped) {
+                escaped = false;
+            } else {
+                switch (character) {
+                    case '\\':
+                        escaped = rewritten = true;
+                        break;
+                    case '"':
+                        quoted = !quoted;
+                        if (depth == 0) {
+                            rewritten = true;
+                        }
+                        break;
+                    case ']':
+                        if (!quoted) {
+                            depth--;
+                        }
+                        break;
+                    case '[':
+                        if (!quoted) {
+                            depth++;
+                        }
+                        break;
+                    case ' ':
+                        if (!quoted && depth == 0) {
+                            if (start >= 0) {
+                                addArgument(arguments, input, start, idx, rewritten, argumentCreationStrategy);
+                                start = -1;
+                                rewritten = false;
+                            }
+                            continue;
+                        }
+                }
+            }
+            if (start < 0) {
+                start = idx;
+            }
+        }
+        if (depth > 0) {
+            throw new InputTokenizationException("Found unterminated list in input: missing " + depth + " terminators");
+        } else if (depth < 0) {
+            throw new InputTokenizationException("Found " + Math.abs(depth) + " too many list terminators in input");
+        }
+
+        if (start >= 0) {
+            addArgument(arguments, input, start, input.length(), rewritten, argumentCreationStrategy);
+        }
+        return arguments;
+    }
+
+    private static void addArgument(final Deque<CommandArgument> arguments, final String input, final int start, final int end,
+                                    final boolean rewritten, final CommandArgumentCreationStrategy argumentCreationStrategy) {
+        if (!rewritten) {
+            arguments.add(argumentCreationStrategy.newArgument(input, start, end - start));
+            return;
+        }
+
+        final String content = rewrite(input, start, end);
+        if (!content.isEmpty()) {
+            arguments.add(argumentCreationStrategy.newArgument(content));
+        }
+    }
+
+    private static String rewrite(final String input, final int start, final int end) {
+        final StringBuilder content = new StringBuilder(end - start);
+
+        boolean escaped = false, quoted = false; int depth = 0;
+        for (int idx = start; idx < end; idx++) {
+            final char character = input.charAt(idx);
+            if (escaped) {
+                content.append(character);
+                escaped = false;
+            } else {
+                switch (character) {
+                    case '\\':
+                        escaped = true;
+                        break;
+                    case '"':
+                        quoted = !quoted;
+                        if (depth > 0) {
+                            content.append(character);
+                        }
+                        break;
+                    case ']':
+                        if (!quoted) {
+                            depth--;
+                        }
+                        content.append(character);
+                        break;
+                    case '[':
+                        if (!quoted) {
+                            depth++;
+                        }
+                        content.append(character);
+                        break;
+                    default:
+                        content.append(character);
+                }
+            }
+        }
+        return content.toString();
+    }
+}
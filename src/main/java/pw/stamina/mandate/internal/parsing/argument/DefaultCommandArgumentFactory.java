@@ -31,6 +31,11 @@ public enum DefaultCommandArgumentFactory implements CommandArgumentCreationStra
         return new SimpleCommandArgument(argument);
     }
 
+    @Override
+    public CommandArgument newArgument(final String source, final int offset, final int length) {
+        return new SliceCommandArgument(source, offset, length);
+    }
+
     public static DefaultCommandArgumentFactory getInstance() {
         return INSTANCE;
     }
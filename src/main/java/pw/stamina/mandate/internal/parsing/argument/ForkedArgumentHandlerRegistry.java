@@ -21,30 +21,64 @@ package pw.stamina.mandate.internal.parsing.argument;
 import pw.stamina.mandate.parsing.argument.ArgumentHandler;
 import pw.stamina.mandate.parsing.argument.ArgumentHandlerRegistry;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
+ * An ArgumentHandlerRegistry which searches a chain of registries in order of precedence, and adds new handlers to the
+ * registry of highest precedence. Forks of forks are flattened into a single chain when they are constructed, so that a
+ * lookup visits each backing registry directly.
+ *
  * @author Mark Johnson
  */
 public class ForkedArgumentHandlerRegistry implements ArgumentHandlerRegistry {
 
-    private final ArgumentHandlerRegistry forkedRegistry;
-
-    private final ArgumentHandlerRegistry thisRegistry;
+    private final ArgumentHandlerRegistry[] registries;
 
     public ForkedArgumentHandlerRegistry(final ArgumentHandlerRegistry forkedRegistry, final ArgumentHandlerRegistry thisRegistry) {
-        this.forkedRegistry = forkedRegistry;
-        this.thisRegistry = thisRegistry;
+        this(inPrecedenceOrder(forkedRegistry, thisRegistry));
+    }
+
+    /**
+     * @param registries the registries to search, in order of precedence; new handlers are added to the first
+     */
+    public ForkedArgumentHandlerRegistry(final List<ArgumentHandlerRegistry> registries) {
+        if (registries.isEmpty()) {
+            throw new IllegalArgumentException("A forked registry requires at least one backing registry");
+        }
+        final List<ArgumentHandlerRegistry> flattened = new ArrayList<>();
+        for (final ArgumentHandlerRegistry registry : registries) {
+            if (registry instanceof ForkedArgumentHandlerRegistry) {
+                Collections.addAll(flattened, ((ForkedArgumentHandlerRegistry) registry).registries);
+            } else {
+                flattened.add(registry);
+            }
+        }
+        this.registries = flattened.toArray(new ArgumentHandlerRegistry[flattened.size()]);
     }
 
     @Override
     public <T> Optional<ArgumentHandler<T>> findArgumentHandler(final Class<T> type) {
-        final Optional<ArgumentHandler<T>> lookup = thisRegistry.findArgumentHandler(type);
-        return lookup.isPresent() ? lookup : forkedRegistry.findArgumentHandler(type);
+        for (final ArgumentHandlerRegistry registry : registries) {
+            final Optional<ArgumentHandler<T>> lookup = registry.findArgumentHandler(type);
+            if (lookup.isPresent()) {
+                return lookup;
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
     public boolean addArgumentHandler(final ArgumentHandler<?> argumentHandler) {
-        return thisRegistry.addArgumentHandler(argumentHandler);
+        return registries[0].addArgumentHandler(argumentHandler);
+    }
+
+    private static List<ArgumentHandlerRegistry> inPrecedenceOrder(final ArgumentHandlerRegistry forkedRegistry, final ArgumentHandlerRegistry thisRegistry) {
+        final List<ArgumentHandlerRegistry> registries = new ArrayList<>(2);
+        registries.add(thisRegistry);
+        registries.add(forkedRegistry);
+        return registries;
     }
 }
@@ -24,43 +24,59 @@ import pw.stamina.mandate.parsing.argument.ArgumentHandlerRegistry;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * An ArgumentHandlerRegistry which resolves handlers first by exact type, then by the first registered handler whose
+ * handled types are assignable from the requested type. Resolutions, including failed ones, are memoized per type until
+ * another handler is added.
+ *
  * @author Mark Johnson
  */
 public class SimpleArgumentHandlerRegistry implements ArgumentHandlerRegistry {
 
     private final Map<Class<?>, ArgumentHandler<?>> argumentHandlers;
 
+    private final Map<Class<?>, Optional<ArgumentHandler<?>>> resolvedHandlers = new ConcurrentHashMap<>();
+
     public SimpleArgumentHandlerRegistry() {
         this.argumentHandlers = new HashMap<>();
     }
 
     @Override
-    public <T> Optional<ArgumentHandler<T>> findArgumentHandler(Class<T> type) {
-        @SuppressWarnings("unchecked")
-        final ArgumentHandler<T> handlerLookup = (ArgumentHandler<T>) argumentHandlers.get(type);
-        if (handlerLookup != null) {
-            return Optional.of(handlerLookup);
-        } else {
-            for (final ArgumentHandler<?> argumentHandler : argumentHandlers.values()) {
-                for (final Class<?> handledType : argumentHandler.getHandledTypes()) {
-                    if (handledType.isAssignableFrom(type)) {
-                        @SuppressWarnings("unchecked")
-                        final ArgumentHandler<T> handler = (ArgumentHandler<T>) argumentHandler;
-                        return Optional.of(handler);
-                    }
-                }
+    public <T> Optional<ArgumentHandler<T>> findArgumentHandler(final Class<T> type) {
+        Optional<ArgumentHandler<?>> resolution = resolvedHandlers.get(type);
+        if (resolution == null) {
+            synchronized (this) {
+                resolution = resolvedHandlers.computeIfAbsent(type, this::resolveArgumentHandler);
             }
-            return Optional.empty();
         }
+        @SuppressWarnings("unchecked")
+        final Optional<ArgumentHandler<T>> handler = (Optional<ArgumentHandler<T>>) (Optional) resolution;
+        return handler;
     }
 
     @Override
-    public boolean addArgumentHandler(final ArgumentHandler<?> argumentHandler) {
+    public synchronized boolean addArgumentHandler(final ArgumentHandler<?> argumentHandler) {
         for (final Class<?> handledType : argumentHandler.getHandledTypes()) {
             argumentHandlers.put(handledType, argumentHandler);
         }
+        resolvedHandlers.clear();
         return true;
     }
+
+    private Optional<ArgumentHandler<?>> resolveArgumentHandler(final Class<?> type) {
+        final ArgumentHandler<?> handlerLookup = argumentHandlers.get(type);
+        if (handlerLookup != null) {
+            return Optional.of(handlerLookup);
+        }
+        for (final ArgumentHandler<?> argumentHandler : argumentHandlers.values()) {
+            for (final Class<?> handledType : argumentHandler.getHandledTypes()) {
+                if (handledType.isAssignableFrom(type)) {
+                    return Optional.of(argumentHandler);
+                }
+            }
+        }
+        return Optional.empty();
+    }
 }
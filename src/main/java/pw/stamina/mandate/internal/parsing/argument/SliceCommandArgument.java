@@ -0,0 +1,88 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing.argument;
+
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+/**
+ * A CommandArgument which represents a region of a larger source String, such as the raw input a command was tokenized
+ * from. The region is only copied into its own String the first time {@link #getRaw()} is called.
+ *
+ * @author Mark Johnson
+ */
+public final class SliceCommandArgument implements CommandArgument, CharSequence {
+    private final String source;
+    private final int offset;
+    private final int length;
+
+    private String raw;
+
+    public SliceCommandArgument(final String source, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset + length > source.length()) {
+            throw new IndexOutOfBoundsException(String.format("Region [%d, %d) is out of bounds for source of length %d",
+                    offset, offset + length, source.length()));
+        }
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public String getRaw() {
+        String raw = this.raw;
+        if (raw == null) {
+            this.raw = raw = source.substring(offset, offset + length);
+        }
+        return raw;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return source.charAt(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException(String.format("[%d, %d)", start, end));
+        }
+        return new SliceCommandArgument(source, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return getRaw();
+    }
+}
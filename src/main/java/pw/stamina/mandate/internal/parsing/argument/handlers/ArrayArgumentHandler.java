@@ -31,6 +31,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,92 +42,19 @@ public final class ArrayArgumentHandler implements ArgumentHandler<Object> {
 
     @Override
     public Object parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
-        final ArgumentHandler<?> handlerLookup = commandContext.getArgumentHandlers().findArgumentHandler((Class<?>) (Class) parameter.getType().getComponentType())
-                .orElseThrow(() -> new ArgumentParsingException(String.format("%s is not a supported parameter type", parameter.getType().getComponentType())));
-
-        final List<String> rawComponents = new ArrayList<>();
-        final StringBuilder rawComponent = new StringBuilder(input.getRaw().length());
-
-        char[] inputChars; boolean escaped = false, quoted = false; int depth = 0;
-        for (int idx = 1; idx < (inputChars = input.getRaw().toCharArray()).length - 1; idx++) {
-            if (escaped) {
-                rawComponent.append(inputChars[idx]);
-                escaped = false;
-            } else {
-                switch (inputChars[idx]) {
-                    case '\\': {
-                        escaped = true;
-                        break;
-                    }
-                    case '"': {
-                        quoted = !quoted;
-                        break;
-                    }
-                    case '}':   //fall through
-                    case ']':
-                        if (!quoted) {
-                            depth--;
-                        }
-                        rawComponent.append(inputChars[idx]);
-                        break;
-                    case '{':    //fall through
-                    case '[':
-                        if (!quoted) {
-                            depth++;
-                        }
-                        rawComponent.append(inputChars[idx]);
-                        break;
-                    case ',': {
-                        if (!quoted && depth == 0) {
-                            while (inputChars[idx+1] == ' ') {
-                                idx++;
-                            }
-                            if (rawComponent.length() > 0) {
-                                rawComponents.add(rawComponent.toString());
-                                rawComponent.setLength(0);
-                            }
-                            break;
-                        }
-                    }
-                    case ' ': {
-                        if (!quoted && depth == 0) {
-                            if (inputChars[idx - 1] != ' ' && inputChars[idx - 1] != ',') {
-                                throw new ArgumentParsingException("Array element at position " + idx + " is separated by space, but not comma delimited");
-                            } else {
-                                idx++;
-                                break;
-                            }
-                        }
-                    }
-                    default: {
-                        rawComponent.append(inputChars[idx]);
-                        escaped = false;
-                    }
-                }
-            }
-
-        }
-        if (rawComponent.length() > 0) {
-            rawComponents.add(rawComponent.toString());
-            rawComponent.setLength(0);
-        }
-
-        final Length length = parameter.getAnnotation(Length.class);
-        if (length != null) {
-            final int min = Math.min(length.min(), length.max());
-            final int max = Math.max(length.min(), length.max());
-            if (rawComponents.size() < min) {
-                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
-            } else if (rawComponents.size() > max) {
-                throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
-            }
-        }
+        return specialize(parameter, commandContext).parse(input, parameter, commandContext);
+    }
 
-        final Object resultArray = Array.newInstance(parameter.getType().getComponentType(), rawComponents.size());
-        for (int i = 0; i < rawComponents.size(); i++) {
-            Array.set(resultArray, i, handlerLookup.parse(commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(rawComponents.get(i)), new ArrayProxyCommandParameter(parameter), commandContext));
+    @Override
+    public ArgumentHandler<Object> specialize(final CommandParameter parameter, final CommandContext commandContext) {
+        final SpecializedArrayHandler specializedHandler = new SpecializedArrayHandler(parameter, commandContext);
+        final Class<?> componentType = specializedHandler.componentType;
+        if ((componentType == int.class || componentType == long.class) && specializedHandler.componentHandler instanceof NumberArgumentHandler.IntegralNumberHandler) {
+            return new IntegralArrayHandler(specializedHandler, (NumberArgumentHandler.IntegralNumberHandler) specializedHandler.componentHandler);
+        } else if (componentType == double.class && specializedHandler.componentHandler instanceof NumberArgumentHandler.RealNumberHandler) {
+            return new RealArrayHandler(specializedHandler, (NumberArgumentHandler.RealNumberHandler) specializedHandler.componentHandler);
         }
-        return resultArray;
+        return specializedHandler;
     }
 
     @Override
@@ -143,6 +71,182 @@ public final class ArrayArgumentHandler implements ArgumentHandler<Object> {
         return new Class[] {Object[].class};
     }
 
+    /**
+     * A handler specialized for a single array parameter, with its component handler resolved and specialized when
+     * the handler is created
+     */
+    private final class SpecializedArrayHandler implements ArgumentHandler<Object> {
+        private final Class<?> componentType;
+
+        private final CommandParameter componentParameter;
+
+        private final ArgumentHandler<?> componentHandler;
+
+        private final int min;
+
+        private final int max;
+
+        private SpecializedArrayHandler(final CommandParameter parameter, final CommandContext commandContext) {
+            this.componentType = parameter.getType().getComponentType();
+            this.componentParameter = new ArrayProxyCommandParameter(parameter);
+            this.componentHandler = commandContext.getArgumentHandlers().findArgumentHandler((Class<?>) (Class) componentType)
+                    .<ArgumentHandler<?>>map(handler -> handler.specialize(componentParameter, commandContext))
+                    .orElse(null);
+
+            final Length length = parameter.getAnnotation(Length.class);
+            this.min = (length != null) ? Math.min(length.min(), length.max()) : 0;
+            this.max = (length != null) ? Math.max(length.min(), length.max()) : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public Object parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            if (componentHandler == null) {
+                throw new ArgumentParsingException(String.format("%s is not a supported parameter type", componentType));
+            }
+
+            final List<Object> components = new ArrayList<>();
+            LiteralScanner.scanElements(input, commandContext.getCommandConfiguration().getArgumentCreationStrategy(), "Array", component -> {
+                if (components.size() >= max) {
+                    throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
+                }
+                components.add(componentHandler.parse(component, componentParameter, commandContext));
+            });
+            if (components.size() < min) {
+                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
+            }
+
+            final Object resultArray = Array.newInstance(componentType, components.size());
+            for (int i = 0; i < components.size(); i++) {
+                Array.set(resultArray, i, components.get(i));
+            }
+            return resultArray;
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return ArrayArgumentHandler.this.getSyntax(parameter);
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return ArrayArgumentHandler.this.getHandledTypes();
+        }
+    }
+
+    /**
+     * A handler for {@code int[]} and {@code long[]} parameters, which parses each element region directly into a
+     * growable primitive array, without creating a CommandArgument or boxing any element
+     */
+    private final class IntegralArrayHandler implements ArgumentHandler<Object> {
+        private final SpecializedArrayHandler specializedHandler;
+
+        private final NumberArgumentHandler.IntegralNumberHandler elementHandler;
+
+        private IntegralArrayHandler(final SpecializedArrayHandler specializedHandler, final NumberArgumentHandler.IntegralNumberHandler elementHandler) {
+            this.specializedHandler = specializedHandler;
+            this.elementHandler = elementHandler;
+        }
+
+        @Override
+        public Object parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            return (specializedHandler.componentType == int.class) ? parseInts(input) : parseLongs(input);
+        }
+
+        private int[] parseInts(final CommandArgument input) throws InputParsingException {
+            final int min = specializedHandler.min, max = specializedHandler.max;
+            final int[][] values = {new int[16]};
+            final int[] size = {0};
+            LiteralScanner.scanElements(input, "Array", (source, start, end) -> {
+                if (size[0] >= max) {
+                    throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
+                }
+                if (size[0] == values[0].length) {
+                    values[0] = Arrays.copyOf(values[0], size[0] << 1);
+                }
+                // the element handler rejects values outside of the range of an int, so the cast can not truncate
+                values[0][size[0]++] = (int) elementHandler.parseLong(source, start, end);
+            });
+            if (size[0] < min) {
+                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
+            }
+            return Arrays.copyOf(values[0], size[0]);
+        }
+
+        private long[] parseLongs(final CommandArgument input) throws InputParsingException {
+            final int min = specializedHandler.min, max = specializedHandler.max;
+            final long[][] values = {new long[16]};
+            final int[] size = {0};
+            LiteralScanner.scanElements(input, "Array", (source, start, end) -> {
+                if (size[0] >= max) {
+                    throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
+                }
+                if (size[0] == values[0].length) {
+                    values[0] = Arrays.copyOf(values[0], size[0] << 1);
+                }
+                values[0][size[0]++] = elementHandler.parseLong(source, start, end);
+            });
+            if (size[0] < min) {
+                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
+            }
+            return Arrays.copyOf(values[0], size[0]);
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return ArrayArgumentHandler.this.getSyntax(parameter);
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return ArrayArgumentHandler.this.getHandledTypes();
+        }
+    }
+
+    /**
+     * A handler for {@code double[]} parameters, which parses each element region directly into a growable primitive
+     * array, without creating a CommandArgument or boxing any element
+     */
+    private final class RealArrayHandler implements ArgumentHandler<Object> {
+        private final SpecializedArrayHandler specializedHandler;
+
+        private final NumberArgumentHandler.RealNumberHandler elementHandler;
+
+        private RealArrayHandler(final SpecializedArrayHandler specializedHandler, final NumberArgumentHandler.RealNumberHandler elementHandler) {
+            this.specializedHandler = specializedHandler;
+            this.elementHandler = elementHandler;
+        }
+
+        @Override
+        public Object parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            final int min = specializedHandler.min, max = specializedHandler.max;
+            final double[][] values = {new double[16]};
+            final int[] size = {0};
+            LiteralScanner.scanElements(input, "Array", (source, start, end) -> {
+                if (size[0] >= max) {
+                    throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
+                }
+                if (size[0] == values[0].length) {
+                    values[0] = Arrays.copyOf(values[0], size[0] << 1);
+                }
+                values[0][size[0]++] = elementHandler.parseDouble(source, start, end);
+            });
+            if (size[0] < min) {
+                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
+            }
+            return Arrays.copyOf(values[0], size[0]);
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return ArrayArgumentHandler.this.getSyntax(parameter);
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return ArrayArgumentHandler.this.getHandledTypes();
+        }
+    }
+
     private static class ArrayProxyCommandParameter implements CommandParameter {
         private final CommandParameter backingParameter;
 
@@ -30,9 +30,7 @@ import javax.swing.text.Segment;
 import java.nio.CharBuffer;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 /**
  * @author Mark Johnson
@@ -43,28 +41,12 @@ public class CharSequenceArgumentHandler implements ArgumentHandler<CharSequence
 
     @Override
     public CharSequence parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
-        if (input.getRaw().isEmpty()) {
-            return null;
-        }
-        final Equals equals = parameter.getAnnotation(Equals.class);
-        if (equals != null) {
-            for (final String string : equals.value()) {
-                if (!(equals.regex() ? Pattern.compile(string).matcher(input.getRaw()).matches() : string.equalsIgnoreCase(input.getRaw()))) continue;
-                return formatSequence(input.getRaw(), parameter.getType());
-            }
-            throw new InputParsingException(String.format("'%s' doesn't match ['%s'] (regex=%s)", input.getRaw(), String.join(" / ", equals.value()), equals.regex()));
-        }
-        final Length length = parameter.getAnnotation(Length.class);
-        if (length != null) {
-            final int min = Math.min(length.min(), length.max());
-            final int max = Math.max(length.min(), length.max());
-            if (input.getRaw().length() < min) {
-                throw new InputParsingException(String.format("'%s' is too short: length can be between %d-%d characters", input.getRaw(), min, max));
-            } else if (input.getRaw().length() > max) {
-                throw new InputParsingException(String.format("'%s' is too long: length can be between %d-%d characters", input.getRaw(), min, max));
-            }
-        }
-        return formatSequence(input.getRaw(), parameter.getType());
+        return specialize(parameter, commandContext).parse(input, parameter, commandContext);
+    }
+
+    @Override
+    public ArgumentHandler<CharSequence> specialize(final CommandParameter parameter, final CommandContext commandContext) {
+        return new SpecializedSequenceHandler(parameter);
     }
 
     @Override
@@ -85,10 +67,69 @@ public class CharSequenceArgumentHandler implements ArgumentHandler<CharSequence
         return new Class[] {CharSequence.class};
     }
 
-    private static CharSequence formatSequence(final String input, final Class<?> sequenceType) throws InputParsingException {
-        return Optional.ofNullable(sequencers.get(sequenceType))
-                .map(f -> f.apply(input))
-                .orElseThrow(() -> new InputParsingException(String.format("CharSequences of type %s are not supported at this time", sequenceType.getCanonicalName())));
+    /**
+     * A handler specialized for a single parameter, with its {@link Equals Equals} matcher and {@link Length Length}
+     * bounds resolved when the handler is created
+     */
+    private final class SpecializedSequenceHandler implements ArgumentHandler<CharSequence> {
+        private final Class<?> sequenceType;
+
+        private final Function<String, ? extends CharSequence> sequencer;
+
+        private final Equals equals;
+
+        private final EqualsMatcher equalsMatcher;
+
+        private final boolean lengthBounded;
+
+        private final int minimumLength;
+
+        private final int maximumLength;
+
+        private SpecializedSequenceHandler(final CommandParameter parameter) {
+            this.sequenceType = parameter.getType();
+            this.sequencer = sequencers.get(sequenceType);
+            this.equals = parameter.getAnnotation(Equals.class);
+            this.equalsMatcher = (equals != null) ? EqualsMatcher.compile(equals) : null;
+
+            final Length length = (equals == null) ? parameter.getAnnotation(Length.class) : null;
+            this.lengthBounded = (length != null);
+            this.minimumLength = lengthBounded ? Math.min(length.min(), length.max()) : 0;
+            this.maximumLength = lengthBounded ? Math.max(length.min(), length.max()) : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public CharSequence parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            final String raw = input.getRaw();
+            if (raw.isEmpty()) {
+                return null;
+            }
+            if (equalsMatcher != null) {
+                if (!equalsMatcher.matches(raw)) {
+                    throw new InputParsingException(String.format("'%s' doesn't match ['%s'] (regex=%s)", raw, String.join(" / ", equals.value()), equals.regex()));
+                }
+            } else if (lengthBounded) {
+                if (raw.length() < minimumLength) {
+                    throw new InputParsingException(String.format("'%s' is too short: length can be between %d-%d characters", raw, minimumLength, maximumLength));
+                } else if (raw.length() > maximumLength) {
+                    throw new InputParsingException(String.format("'%s' is too long: length can be between %d-%d characters", raw, minimumLength, maximumLength));
+                }
+            }
+            if (sequencer == null) {
+                throw new InputParsingException(String.format("CharSequences of type %s are not supported at this time", sequenceType.getCanonicalName()));
+            }
+            return sequencer.apply(raw);
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return CharSequenceArgumentHandler.this.getSyntax(parameter);
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return CharSequenceArgumentHandler.this.getHandledTypes();
+        }
     }
 
     static {
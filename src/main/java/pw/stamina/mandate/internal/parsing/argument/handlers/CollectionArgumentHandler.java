@@ -31,8 +31,6 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author Mark Johnson
@@ -40,97 +38,12 @@ import java.util.stream.Collectors;
 public class CollectionArgumentHandler implements ArgumentHandler<Collection<?>> {
     @Override
     public Collection<?> parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
-        final Type[] typeParameters = parameter.getTypeParameters();
-
-//        Early resolution to make sure we aren't doing unnecessary parsing for an unsupported result
-        final ArgumentHandler<?> handlerLookup = commandContext.getArgumentHandlers().findArgumentHandler(reifyType(typeParameters[0]))
-                .orElseThrow(() -> new ArgumentParsingException(String.format("%s is not a supported parameter type", typeParameters[0])));;
-
-        final List<String> rawComponents = new ArrayList<>();
-        final StringBuilder rawComponent = new StringBuilder(input.getRaw().length());
-
-        char[] inputChars; boolean escaped = false, quoted = false; int depth = 0;
-        for (int idx = 1; idx < (inputChars = input.getRaw().toCharArray()).length - 1; idx++) {
-            if (escaped) {
-                rawComponent.append(inputChars[idx]);
-                escaped = false;
-            } else {
-                switch (inputChars[idx]) {
-                    case '\\': {
-                        escaped = true;
-                        break;
-                    }
-                    case '"': {
-                        quoted = !quoted;
-                        break;
-                    }
-                    case '}':   //fall through
-                    case ']':
-                        if (!quoted) {
-                            depth--;
-                        }
-                        rawComponent.append(inputChars[idx]);
-                        break;
-                    case '{':    //fall through
-                    case '[':
-                        if (!quoted) {
-                            depth++;
-                        }
-                        rawComponent.append(inputChars[idx]);
-                        break;
-                    case ',': {
-                        if (!quoted && depth == 0) {
-                            while (inputChars[idx+1] == ' ') {
-                                idx++;
-                            }
-                            if (rawComponent.length() > 0) {
-                                rawComponents.add(rawComponent.toString());
-                                rawComponent.setLength(0);
-                            }
-                            break;
-                        }
-                    }
-                    case ' ': {
-                        if (!quoted && depth == 0) {
-                            if (inputChars[idx - 1] != ' ' && inputChars[idx - 1] != ',') {
-                                throw new ArgumentParsingException("Collection element at position " + idx + " is separated by space, but not comma delimited");
-                            } else {
-                                idx++;
-                                break;
-                            }
-                        }
-                    }
-                    default: {
-                        rawComponent.append(inputChars[idx]);
-                        escaped = false;
-                    }
-                }
-            }
-
-        }
-        if (rawComponent.length() > 0) {
-            rawComponents.add(rawComponent.toString());
-            rawComponent.setLength(0);
-        }
-
-        final Length length = parameter.getAnnotation(Length.class);
-        if (length != null) {
-            final int min = Math.min(length.min(), length.max());
-            final int max = Math.max(length.min(), length.max());
-            if (rawComponents.size() < min) {
-                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
-            } else if (rawComponents.size() > max) {
-                throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
-            }
-        }
+        return specialize(parameter, commandContext).parse(input, parameter, commandContext);
+    }
 
-        final Type[] resolutionTypes = getTypeParameters(typeParameters[0]);
-        return rawComponents.stream()
-                .map(component -> (Object) handlerLookup.parse(
-                        commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(component),
-                        new CollectionProxyCommandParameter(parameter, resolutionTypes),
-                        commandContext)
-                ).collect(Collectors.toList());
+    @Override
+    public ArgumentHandler<Collection<?>> specialize(final CommandParameter parameter, final CommandContext commandContext) {
+        return new SpecializedCollectionHandler(parameter, commandContext);
     }
 
     @Override
@@ -159,6 +72,63 @@ public class CollectionArgumentHandler implements ArgumentHandler<Collection<?>>
         }
     }
 
+    /**
+     * A handler specialized for a single Collection parameter, with its element handler resolved and specialized when the
+     * handler is created
+     */
+    private final class SpecializedCollectionHandler implements ArgumentHandler<Collection<?>> {
+        private final Type elementType;
+
+        private final CommandParameter elementParameter;
+
+        private final ArgumentHandler<?> elementHandler;
+
+        private final int min;
+
+        private final int max;
+
+        private SpecializedCollectionHandler(final CommandParameter parameter, final CommandContext commandContext) {
+            this.elementType = parameter.getTypeParameters()[0];
+            this.elementParameter = new CollectionProxyCommandParameter(parameter, getTypeParameters(elementType));
+            this.elementHandler = commandContext.getArgumentHandlers().findArgumentHandler(reifyType(elementType))
+                    .<ArgumentHandler<?>>map(handler -> handler.specialize(elementParameter, commandContext))
+                    .orElse(null);
+
+            final Length length = parameter.getAnnotation(Length.class);
+            this.min = (length != null) ? Math.min(length.min(), length.max()) : 0;
+            this.max = (length != null) ? Math.max(length.min(), length.max()) : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public Collection<?> parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            if (elementHandler == null) {
+                throw new ArgumentParsingException(String.format("%s is not a supported parameter type", elementType));
+            }
+
+            final Collection<Object> elements = new ArrayList<>();
+            LiteralScanner.scanElements(input, commandContext.getCommandConfiguration().getArgumentCreationStrategy(), "Collection", element -> {
+                if (elements.size() >= max) {
+                    throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d elements", input.getRaw(), min, max));
+                }
+                elements.add(elementHandler.parse(element, elementParameter, commandContext));
+            });
+            if (elements.size() < min) {
+                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d elements", input.getRaw(), min, max));
+            }
+            return elements;
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return CollectionArgumentHandler.this.getSyntax(parameter);
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return CollectionArgumentHandler.this.getHandledTypes();
+        }
+    }
+
     private static class CollectionProxyCommandParameter implements CommandParameter {
 
         private final CommandParameter backingParameter;
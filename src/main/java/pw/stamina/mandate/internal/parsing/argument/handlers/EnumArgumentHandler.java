@@ -25,27 +25,49 @@ import pw.stamina.mandate.execution.parameter.CommandParameter;
 import pw.stamina.mandate.parsing.InputParsingException;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Mark Johnson
  */
 public final class EnumArgumentHandler implements ArgumentHandler<Enum<?>> {
+    private static final ClassValue<ConstantIndex> constantIndices = new ClassValue<ConstantIndex>() {
+        @Override
+        protected ConstantIndex computeValue(final Class<?> type) {
+            return new ConstantIndex(type);
+        }
+    };
 
     @Override
     public Enum<?> parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
-        final String lookupString = input.getRaw().toLowerCase();
-        for (final Enum<?> constant : (Enum<?>[]) parameter.getType().getEnumConstants()) {
-            if (constant.name().toLowerCase().equals(lookupString) || constant.toString().equals(lookupString)) {
-                return constant;
+        return constantIndices.get(parameter.getType()).lookup(input.getRaw());
+    }
+
+    @Override
+    public ArgumentHandler<Enum<?>> specialize(final CommandParameter parameter, final CommandContext commandContext) {
+        final ConstantIndex constantIndex = constantIndices.get(parameter.getType());
+        return new ArgumentHandler<Enum<?>>() {
+            @Override
+            public Enum<?> parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+                return constantIndex.lookup(input.getRaw());
             }
-        }
-        throw new InputParsingException(String.format("'%s' is not a valid constant in enumeration %s", input.getRaw(), parameter.getType().getCanonicalName()));
+
+            @Override
+            public String getSyntax(final CommandParameter parameter) {
+                return EnumArgumentHandler.this.getSyntax(parameter);
+            }
+
+            @Override
+            public Class[] getHandledTypes() {
+                return EnumArgumentHandler.this.getHandledTypes();
+            }
+        };
     }
 
     @Override
     public String getSyntax(final CommandParameter parameter) {
-        final String constantsString = Arrays.toString(parameter.getType().getEnumConstants());
-        return parameter.getLabel() + " - " + "one of " + constantsString.substring(1, constantsString.length() - 1);
+        return parameter.getLabel() + " - " + "one of " + constantIndices.get(parameter.getType()).constantsString;
     }
 
     @Override
@@ -53,5 +75,36 @@ public final class EnumArgumentHandler implements ArgumentHandler<Enum<?>> {
         return new Class[] {Enum.class};
     }
 
-}
+    /**
+     * An index of the constants of a single enumeration, keyed by their lower-cased names and by their
+     * {@link Object#toString() string} forms. Constants are indexed in reverse order, so that when two constants
+     * share a key the one declared first wins, as it would in a linear search
+     */
+    private static final class ConstantIndex {
+        private final Map<String, Enum<?>> constants = new HashMap<>();
 
+        private final String enumerationName;
+
+        private final String constantsString;
+
+        private ConstantIndex(final Class<?> type) {
+            final Enum<?>[] declaredConstants = (Enum<?>[]) type.getEnumConstants();
+            for (int i = declaredConstants.length - 1; i >= 0; i--) {
+                final Enum<?> constant = declaredConstants[i];
+                constants.put(constant.toString(), constant);
+                constants.put(constant.name().toLowerCase(), constant);
+            }
+            final String constantsString = Arrays.toString(declaredConstants);
+            this.enumerationName = type.getCanonicalName();
+            this.constantsString = constantsString.substring(1, constantsString.length() - 1);
+        }
+
+        private Enum<?> lookup(final String raw) throws InputParsingException {
+            final Enum<?> constant = constants.get(raw.toLowerCase());
+            if (constant == null) {
+                throw new InputParsingException(String.format("'%s' is not a valid constant in enumeration %s", raw, enumerationName));
+            }
+            return constant;
+        }
+    }
+}
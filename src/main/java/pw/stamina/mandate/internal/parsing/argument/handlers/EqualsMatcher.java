@@ -0,0 +1,127 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing.argument.handlers;
+
+import pw.stamina.mandate.annotations.strings.Equals;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A matcher for the values allowed by an {@link Equals Equals} annotation, compiled once per parameter.
+ * <p>
+ * Literal values are case-folded into a hash set, so matching costs a single pass over the input. Regular expressions
+ * are combined into a single alternation, unless one of them uses a construct that would leak into its neighbours,
+ * such as a group back-reference, an unterminated quote, or comments mode. In that case each expression is compiled
+ * and tried separately.
+ *
+ * @author Mark Johnson
+ */
+abstract class EqualsMatcher {
+    private static final Pattern UNCOMBINABLE_CONSTRUCTS = Pattern.compile("\\\\(?:[1-9]|k<|Q)|\\(\\?[a-zA-Z]*x");
+
+    abstract boolean matches(String input);
+
+    static EqualsMatcher compile(final Equals equals) {
+        return equals.regex() ? compilePatterns(equals.value()) : new LiteralMatcher(equals.value());
+    }
+
+    /**
+     * Folds the case of a character the same way that {@link String#equalsIgnoreCase(String) equalsIgnoreCase} compares
+     * characters, so that two strings are equal ignoring case exactly when their folded forms are equal.
+     */
+    static String fold(final String input) {
+        final char[] folded = new char[input.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(input.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    private static EqualsMatcher compilePatterns(final String[] expressions) {
+        final Pattern[] patterns = new Pattern[expressions.length];
+        boolean combinable = true;
+        for (int i = 0; i < expressions.length; i++) {
+            patterns[i] = Pattern.compile(expressions[i]);
+            combinable &= !UNCOMBINABLE_CONSTRUCTS.matcher(expressions[i]).find();
+        }
+
+        if (combinable && expressions.length > 1) {
+            final StringJoiner alternation = new StringJoiner(")|(?:", "(?:", ")");
+            for (final String expression : expressions) {
+                alternation.add(expression);
+            }
+            try {
+                return new PatternMatcher(Pattern.compile(alternation.toString()));
+            } catch (final PatternSyntaxException ignored) {
+                // duplicate named groups across expressions, for example; fall through to separate matching
+            }
+        }
+        return new PatternListMatcher(patterns);
+    }
+
+    private static final class LiteralMatcher extends EqualsMatcher {
+        private final Set<String> foldedValues = new HashSet<>();
+
+        private LiteralMatcher(final String[] values) {
+            for (final String value : values) {
+                foldedValues.add(fold(value));
+            }
+        }
+
+        @Override
+        boolean matches(final String input) {
+            return foldedValues.contains(fold(input));
+        }
+    }
+
+    private static final class PatternMatcher extends EqualsMatcher {
+        private final Pattern pattern;
+
+        private PatternMatcher(final Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        boolean matches(final String input) {
+            return pattern.matcher(input).matches();
+        }
+    }
+
+    private static final class PatternListMatcher extends EqualsMatcher {
+        private final Pattern[] patterns;
+
+        private PatternListMatcher(final Pattern[] patterns) {
+            this.patterns = patterns;
+        }
+
+        @Override
+        boolean matches(final String input) {
+            for (final Pattern pattern : patterns) {
+                if (pattern.matcher(input).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
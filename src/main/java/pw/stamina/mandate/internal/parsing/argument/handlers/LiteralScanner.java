@@ -0,0 +1,351 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package pw.stamina.mandate.internal.parsing.argument.handlers;
+
+import pw.stamina.mandate.internal.parsing.argument.ArgumentParsingException;
+import pw.stamina.mandate.internal.parsing.argument.SliceCommandArgument;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+import pw.stamina.mandate.parsing.argument.CommandArgumentCreationStrategy;
+
+/**
+ * A single-pass scanner for the bracketed literals accepted by the List, Set, Collection, Array and Map handlers.
+ * <p>
+ * The scanner reads the literal in place, and reports each element as a region of the String it was read from. Nested
+ * literals are reported whole, and when the input is a {@link SliceCommandArgument SliceCommandArgument} they are read
+ * from its source without copying. Only elements that contain escapes or quotes, whose markers are dropped, are copied
+ * into a String of their own.
+ *
+ * @author Mark Johnson
+ */
+final class LiteralScanner {
+
+    private LiteralScanner() {}
+
+    /**
+     * Scans a sequence literal, such as {@code [a, b, [c, d]]}, reporting each top-level element in order
+     *
+     * @param input the literal to scan, including its enclosing brackets
+     * @param argumentCreationStrategy the strategy by which element regions are converted to CommandArguments
+     * @param sequenceName the name of the sequence type, used in error messages
+     * @param consumer the consumer to report elements to
+     * @throws InputParsingException if an element is separated by space but not delimited by a comma, or if the
+     * consumer rejects an element
+     */
+    static void scanElements(final CommandArgument input, final CommandArgumentCreationStrategy argumentCreationStrategy, final String sequenceName, final ElementConsumer consumer) throws InputParsingException {
+        scanElements(input, sequenceName, (source, start, end) -> consumer.accept(argumentCreationStrategy.newArgument(source, start, end - start)));
+    }
+
+    /**
+     * Scans a sequence literal, reporting the region of each top-level element without creating a CommandArgument for it
+     *
+     * @param input the literal to scan, including its enclosing brackets
+     * @param sequenceName the name of the sequence type, used in error messages
+     * @param consumer the consumer to report element regions to
+     * @throws InputParsingException if an element is separated by space but not delimited by a comma, or if the
+     * consumer rejects an element
+     */
+    static void scanElements(final CommandArgument input, final String sequenceName, final RegionConsumer consumer) throws InputParsingException {
+        final Region region = Region.of(input);
+        final String source = region.source;
+        final int origin = region.start;
+        final int last = region.end - 1;
+        final Component component = new Component(source);
+
+        boolean escaped = false, quoted = false; int depth = 0;
+        for (int idx = origin + 1; idx < last; idx++) {
+            final char c = source.charAt(idx);
+            if (escaped) {
+                component.append(idx);
+                escaped = false;
+                continue;
+            }
+            switch (c) {
+                case '\\': {
+                    escaped = true;
+                    component.skip();
+                    break;
+                }
+                case '"': {
+                    quoted = !quoted;
+                    component.skip();
+                    break;
+                }
+                case '}':   //fall through
+                case ']':
+                    if (!quoted) {
+                        depth--;
+                    }
+                    component.append(idx);
+                    break;
+                case '{':   //fall through
+                case '[':
+                    if (!quoted) {
+                        depth++;
+                    }
+                    component.append(idx);
+                    break;
+                case ',':
+                    if (!quoted && depth == 0) {
+                        while (idx + 1 < last && source.charAt(idx + 1) == ' ') {
+                            idx++;
+                        }
+                        component.emitTo(consumer);
+                    } else {
+                        component.append(idx);
+                    }
+                    break;
+                case ' ':
+                    if (!quoted && depth == 0) {
+                        final char previous = source.charAt(idx - 1);
+                        if (previous != ' ' && previous != ',') {
+                            throw new ArgumentParsingException(sequenceName + " element at position " + (idx - origin) + " is separated by space, but not comma delimited");
+                        }
+                        idx++;
+                        component.skip();
+                    } else {
+                        component.append(idx);
+                    }
+                    break;
+                default:
+                    component.append(idx);
+            }
+        }
+        component.emitTo(consumer);
+    }
+
+    /**
+     * Scans a map literal, such as {@code {a -> b, c -> [d, e]}}, reporting each top-level mapping in order. Mappings
+     * with an empty key or value are not reported.
+     *
+     * @param input the literal to scan, including its enclosing braces
+     * @param argumentCreationStrategy the strategy by which key and value regions are converted to CommandArguments
+     * @param consumer the consumer to report mappings to
+     * @throws InputParsingException if the consumer rejects a mapping
+     */
+    static void scanMappings(final CommandArgument input, final CommandArgumentCreationStrategy argumentCreationStrategy, final MappingConsumer consumer) throws InputParsingException {
+        final Region region = Region.of(input);
+        final String source = region.source;
+        final int last = region.end - 1;
+        final Component key = new Component(source);
+        final Component value = new Component(source);
+
+        Component current = key;
+        boolean escaped = false, quoted = false; int depth = 0;
+        for (int idx = region.start + 1; idx < last; idx++) {
+            final char c = source.charAt(idx);
+            if (escaped) {
+                current.append(idx);
+                escaped = false;
+                continue;
+            }
+            switch (c) {
+                case '\\': {
+                    escaped = true;
+                    current.skip();
+                    break;
+                }
+                case '"': {
+                    quoted = !quoted;
+                    current.skip();
+                    break;
+                }
+                case '}':   //fall through
+                case ']':
+                    if (!quoted) {
+                        depth--;
+                    }
+                    current.append(idx);
+                    break;
+                case '{':   //fall through
+                case '[':
+                    if (!quoted) {
+                        depth++;
+                    }
+                    current.append(idx);
+                    break;
+                case '-':
+                    if (!quoted && depth == 0) {
+                        if (source.charAt(idx + 1) == '>' && current == key) {
+                            current = value;
+                            idx++;
+                        }
+                        current.skip();
+                    } else {
+                        current.append(idx);
+                    }
+                    break;
+                case ',':
+                    if (!quoted && depth == 0) {
+                        while (idx + 1 < last && source.charAt(idx + 1) == ' ') {
+                            idx++;
+                        }
+                        if (!key.isEmpty() && !value.isEmpty()) {
+                            consumer.accept(key.take(argumentCreationStrategy), value.take(argumentCreationStrategy));
+                            current = key;
+                        }
+                        current.skip();
+                    } else {
+                        current.append(idx);
+                    }
+                    break;
+                case ' ':
+                    if (!quoted && depth == 0) {
+                        if (source.charAt(idx + 1) != '-' && source.charAt(idx - 1) != '>') {
+                            idx++;
+                        }
+                        current.skip();
+                    } else {
+                        current.append(idx);
+                    }
+                    break;
+                default:
+                    current.append(idx);
+            }
+        }
+        if (!key.isEmpty() && !value.isEmpty()) {
+            consumer.accept(key.take(argumentCreationStrategy), value.take(argumentCreationStrategy));
+        }
+    }
+
+    @FunctionalInterface
+    interface ElementConsumer {
+        void accept(CommandArgument element) throws InputParsingException;
+    }
+
+    @FunctionalInterface
+    interface RegionConsumer {
+        void accept(String source, int start, int end) throws InputParsingException;
+    }
+
+    @FunctionalInterface
+    interface MappingConsumer {
+        void accept(CommandArgument key, CommandArgument value) throws InputParsingException;
+    }
+
+    /**
+     * The region of a String that a literal occupies
+     */
+    private static final class Region {
+        private final String source;
+
+        private final int start;
+
+        private final int end;
+
+        private Region(final String source, final int start, final int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Region of(final CommandArgument input) {
+            if (input instanceof SliceCommandArgument) {
+                final SliceCommandArgument slice = (SliceCommandArgument) input;
+                return new Region(slice.getSource(), slice.getOffset(), slice.getOffset() + slice.length());
+            }
+            final String raw = input.getRaw();
+            return new Region(raw, 0, raw.length());
+        }
+    }
+
+    /**
+     * An element being accumulated by a scan. While its characters are contiguous in the source it is tracked as a
+     * region; once a character is dropped from the middle of it, the remainder is copied into a buffer.
+     */
+    private static final class Component {
+        private final String source;
+
+        private int start = -1;
+
+        private int end;
+
+        private boolean gap;
+
+        private StringBuilder buffer;
+
+        private boolean buffered;
+
+        private Component(final String source) {
+            this.source = source;
+        }
+
+        private void append(final int idx) {
+            if (buffered) {
+                buffer.append(source.charAt(idx));
+            } else if (start < 0) {
+                start = idx;
+                end = idx + 1;
+                gap = false;
+            } else if (!gap) {
+                end = idx + 1;
+            } else {
+                if (buffer == null) {
+                    buffer = new StringBuilder();
+                }
+                buffer.append(source, start, end).append(source.charAt(idx));
+                buffered = true;
+            }
+        }
+
+        /**
+         * Marks that the character at the current position is not part of this component
+         */
+        private void skip() {
+            if (start >= 0) {
+                gap = true;
+            }
+        }
+
+        private boolean isEmpty() {
+            return buffered ? buffer.length() == 0 : start < 0;
+        }
+
+        private CommandArgument take(final CommandArgumentCreationStrategy argumentCreationStrategy) {
+            final CommandArgument taken = buffered
+                    ? argumentCreationStrategy.newArgument(buffer.toString())
+                    : argumentCreationStrategy.newArgument(source, start, end - start);
+            reset();
+            return taken;
+        }
+
+        private void emitTo(final RegionConsumer consumer) throws InputParsingException {
+            if (isEmpty()) {
+                return;
+            }
+            if (buffered) {
+                final String copied = buffer.toString();
+                reset();
+                consumer.accept(copied, 0, copied.length());
+            } else {
+                final int start = this.start, end = this.end;
+                reset();
+                consumer.accept(source, start, end);
+            }
+        }
+
+        private void reset() {
+            if (buffered) {
+                buffer.setLength(0);
+            }
+            start = -1;
+            gap = false;
+            buffered = false;
+        }
+    }
+}
@@ -29,10 +29,10 @@ import pw.stamina.mandate.internal.parsing.argument.ArgumentParsingException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.AbstractMap;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * @author Mark Johnson
@@ -40,161 +40,12 @@ import java.util.stream.Collectors;
 public class MapArgumentHandler implements ArgumentHandler<Map<?, ?>> {
     @Override
     public Map<?, ?> parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+        return specialize(parameter, commandContext).parse(input, parameter, commandContext);
+    }
 
-        final Type[] typeParameters = parameter.getTypeParameters();
-
-//        Early resolution to make sure we aren't doing unnecessary parsing for an unsupported result
-        final ArgumentHandler<?> keyHandlerLookup = commandContext.getArgumentHandlers().findArgumentHandler(reifyType(typeParameters[0]))
-                .orElseThrow(() -> new ArgumentParsingException(String.format("%s is not a supported parameter type", typeParameters[0])));;
-        final ArgumentHandler<?> valueHandlerLookup = commandContext.getArgumentHandlers().findArgumentHandler(reifyType(typeParameters[1]))
-                .orElseThrow(() -> new ArgumentParsingException(String.format("%s is not a supported parameter type", typeParameters[1])));
-
-        final Map<String, String> rawComponents = new LinkedHashMap<>();
-        final StringBuilder rawKey = new StringBuilder(input.getRaw().length());
-        final StringBuilder rawValue = new StringBuilder(input.getRaw().length());
-
-        ParsingStage currentStage = ParsingStage.KEY;
-
-        char[] inputChars; boolean escaped = false, quoted = false; int depth = 0;
-        for (int idx = 1; idx < (inputChars = input.getRaw().toCharArray()).length - 1; idx++) {
-            if (escaped) {
-                switch (currentStage) {
-                    case KEY: {
-                        rawKey.append(inputChars[idx]);
-                        break;
-                    }
-                    case VALUE: {
-                        rawValue.append(inputChars[idx]);
-                        break;
-                    }
-                }
-                escaped = false;
-            } else {
-                switch (inputChars[idx]) {
-                    case '\\': {
-                        escaped = true;
-                        break;
-                    }
-                    case '"': {
-                        quoted = !quoted;
-                        break;
-                    }
-                    case '}':   //fall through
-                    case ']':
-                        if (!quoted) {
-                            depth--;
-                        }
-                        switch (currentStage) {
-                            case KEY: {
-                                rawKey.append(inputChars[idx]);
-                                break;
-                            }
-                            case VALUE: {
-                                rawValue.append(inputChars[idx]);
-                                break;
-                            }
-                        }
-                        break;
-                    case '{':    //fall through
-                    case '[':
-                        if (!quoted) {
-                            depth++;
-                        }
-                        switch (currentStage) {
-                            case KEY: {
-                                rawKey.append(inputChars[idx]);
-                                break;
-                            }
-                            case VALUE: {
-                                rawValue.append(inputChars[idx]);
-                                break;
-                            }
-                        }
-                        break;
-                    case '-': {
-                        if (!quoted && depth == 0) {
-                            if (inputChars[idx + 1] == '>') {
-                                if (currentStage == ParsingStage.KEY) {
-                                    currentStage = ParsingStage.VALUE;
-                                    idx++;
-                                }
-                            }
-                        } else {
-                            switch (currentStage) {
-                                case KEY: {
-                                    rawKey.append(inputChars[idx]);
-                                    break;
-                                }
-                                case VALUE: {
-                                    rawValue.append(inputChars[idx]);
-                                    break;
-                                }
-                            }
-                        }
-                        break;
-                    }
-                    case ',': {
-                        if (!quoted && depth == 0) {
-                            while (inputChars[idx+1] == ' ') {
-                                idx++;
-                            }
-                            if (rawKey.length() > 0 && rawValue.length() > 0) {
-                                rawComponents.put(rawKey.toString(), rawValue.toString());
-                                rawKey.setLength(0);
-                                rawValue.setLength(0);
-                                currentStage = ParsingStage.KEY;
-                            }
-                            break;
-                        }
-                    }
-                    case ' ': {
-                        if (!quoted && depth == 0) {
-                            if (inputChars[idx + 1] != '-' && inputChars[idx - 1] != '>') {
-                                idx++;
-                            }
-                            break;
-                        }
-                    }
-                    default: {
-                        switch (currentStage) {
-                            case KEY: {
-                                rawKey.append(inputChars[idx]);
-                                break;
-                            }
-                            case VALUE: {
-                                rawValue.append(inputChars[idx]);
-                                break;
-                            }
-                        }
-                        escaped = false;
-                    }
-                }
-            }
-        }
-
-        if (rawKey.length() > 0 && rawValue.length() > 0) {
-            rawComponents.put(rawKey.toString(), rawValue.toString());
-            rawKey.setLength(0);
-            rawValue.setLength(0);
-        }
-
-        final Length length = parameter.getAnnotation(Length.class);
-        if (length != null) {
-            final int min = Math.min(length.min(), length.max());
-            final int max = Math.max(length.min(), length.max());
-            if (rawComponents.size() < min) {
-                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d mappings", input.getRaw(), min, max));
-            } else if (rawComponents.size() > max) {
-                throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d mappings", input.getRaw(), min, max));
-            }
-        }
-
-        final Type[] keyResolutionTypes = getTypeParameters(typeParameters[0]);
-        final Type[] valueResolutionTypes = getTypeParameters(typeParameters[1]);
-        return rawComponents.entrySet().stream().map(entry -> new AbstractMap.SimpleImmutableEntry<>(
-                keyHandlerLookup.parse(commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(entry.getKey()), new MapProxyCommandParameter(parameter, keyResolutionTypes), commandContext),
-                valueHandlerLookup.parse(commandContext.getCommandConfiguration().getArgumentCreationStrategy().newArgument(entry.getValue()), new MapProxyCommandParameter(parameter, valueResolutionTypes), commandContext)
-        )).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    @Override
+    public ArgumentHandler<Map<?, ?>> specialize(final CommandParameter parameter, final CommandContext commandContext) {
+        return new SpecializedMapHandler(parameter, commandContext);
     }
 
     @Override
@@ -223,6 +74,82 @@ public class MapArgumentHandler implements ArgumentHandler<Map<?, ?>> {
         }
     }
 
+    /**
+     * A handler specialized for a single Map parameter, with its key and value handlers resolved and specialized when
+     * the handler is created
+     */
+    private final class SpecializedMapHandler implements ArgumentHandler<Map<?, ?>> {
+        private final Type keyType;
+
+        private final Type valueType;
+
+        private final CommandParameter keyParameter;
+
+        private final CommandParameter valueParameter;
+
+        private final ArgumentHandler<?> keyHandler;
+
+        private final ArgumentHandler<?> valueHandler;
+
+        private final boolean bounded;
+
+        private final int min;
+
+        private final int max;
+
+        private SpecializedMapHandler(final CommandParameter parameter, final CommandContext commandContext) {
+            this.keyType = parameter.getTypeParameters()[0];
+            this.valueType = parameter.getTypeParameters()[1];
+            this.keyParameter = new MapProxyCommandParameter(parameter, getTypeParameters(keyType));
+            this.valueParameter = new MapProxyCommandParameter(parameter, getTypeParameters(valueType));
+            this.keyHandler = commandContext.getArgumentHandlers().findArgumentHandler(reifyType(keyType))
+                    .<ArgumentHandler<?>>map(handler -> handler.specialize(keyParameter, commandContext))
+                    .orElse(null);
+            this.valueHandler = commandContext.getArgumentHandlers().findArgumentHandler(reifyType(valueType))
+                    .<ArgumentHandler<?>>map(handler -> handler.specialize(valueParameter, commandContext))
+                    .orElse(null);
+
+            final Length length = parameter.getAnnotation(Length.class);
+            this.bounded = (length != null);
+            this.min = (length != null) ? Math.min(length.min(), length.max()) : 0;
+            this.max = (length != null) ? Math.max(length.min(), length.max()) : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public Map<?, ?> parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            if (keyHandler == null) {
+                throw new ArgumentParsingException(String.format("%s is not a supported parameter type", keyType));
+            } else if (valueHandler == null) {
+                throw new ArgumentParsingException(String.format("%s is not a supported parameter type", valueType));
+            }
+
+            // the length is that of the mappings as written, so keys are told apart by their raw text rather than their
+            // parsed values, which may be equal for keys that are written differently
+            final Set<String> rawKeys = bounded ? new HashSet<>() : null;
+            final Map<Object, Object> mappings = new HashMap<>();
+            LiteralScanner.scanMappings(input, commandContext.getCommandConfiguration().getArgumentCreationStrategy(), (key, value) -> {
+                if (bounded && rawKeys.add(key.getRaw()) && rawKeys.size() > max) {
+                    throw new ArgumentParsingException(String.format("'%s' is too long: length can be between %d-%d mappings", input.getRaw(), min, max));
+                }
+                mappings.put(keyHandler.parse(key, keyParameter, commandContext), valueHandler.parse(value, valueParameter, commandContext));
+            });
+            if (bounded && rawKeys.size() < min) {
+                throw new ArgumentParsingException(String.format("'%s' is too short: length can be between %d-%d mappings", input.getRaw(), min, max));
+            }
+            return mappings;
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return MapArgumentHandler.this.getSyntax(parameter);
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return MapArgumentHandler.this.getHandledTypes();
+        }
+    }
+
     private static class MapProxyCommandParameter implements CommandParameter {
 
         private final CommandParameter backingParameter;
@@ -274,8 +201,4 @@ public class MapArgumentHandler implements ArgumentHandler<Map<?, ?>> {
             return backingParameter.getLabel();
         }
     }
-
-    private enum ParsingStage {
-        KEY, VALUE
-    }
 }
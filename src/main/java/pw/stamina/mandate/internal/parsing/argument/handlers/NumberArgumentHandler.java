@@ -30,32 +30,48 @@ import pw.stamina.mandate.parsing.InputParsingException;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.regex.Pattern;
+import java.util.function.LongFunction;
 
 /**
  * @author Mark Johnson
  */
 public final class NumberArgumentHandler implements ArgumentHandler<Number> {
 
-    private static final Predicate<String> HEX_VALIDATOR_PREDICATE = Pattern.compile("^(-|\\+)?(0x|0X|#)[a-fA-F0-9]+$").asPredicate();
-
-    private static final Predicate<String> OCTAL_VALIDATOR_PREDICATE = Pattern.compile("^(-|\\+)?0[1-7][0-7]*$").asPredicate();
-
-    private static final Map<Class<? extends Number>, Function<String, ? extends Number>> NUMBER_DECODERS;
-
-    private static final Map<Class<? extends Number>, Function<Number, Function<CommandParameter, Number>>> POST_PROCESSORS;
-
     @Override
     public final Number parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
-        @SuppressWarnings("unchecked")
-        final Class<? extends Number> numberClass = (Class<? extends Number>) Primitives.wrap(parameter.getType());
-        final Number resultNumber = parseNumber(input.getRaw(), numberClass);
-        return POST_PROCESSORS.get(numberClass).apply(resultNumber).apply(parameter);
+        return specialize(parameter, commandContext).parse(input, parameter, commandContext);
+    }
+
+    @Override
+    public ArgumentHandler<Number> specialize(final CommandParameter parameter, final CommandContext commandContext) {
+        final Class<?> numberClass = Primitives.wrap(parameter.getType());
+        if (numberClass == Byte.class) {
+            return new IntegralNumberHandler(this, Primitives.BYTE, Byte.MIN_VALUE, Byte.MAX_VALUE, parameter);
+        } else if (numberClass == Short.class) {
+            return new IntegralNumberHandler(this, Primitives.SHORT, Short.MIN_VALUE, Short.MAX_VALUE, parameter);
+        } else if (numberClass == Integer.class) {
+            return new IntegralNumberHandler(this, Primitives.INTEGER, Integer.MIN_VALUE, Integer.MAX_VALUE, parameter);
+        } else if (numberClass == Long.class) {
+            return new IntegralNumberHandler(this, Primitives.LONG, Long.MIN_VALUE, Long.MAX_VALUE, parameter);
+        } else if (numberClass == Float.class) {
+            return new RealNumberHandler(this, Primitives.FLOAT, parameter);
+        } else if (numberClass == Double.class) {
+            return new RealNumberHandler(this, Primitives.DOUBLE, parameter);
+        } else if (numberClass == BigInteger.class) {
+            return new PreciseNumberHandler<>(this, BigInteger.class, NumberArgumentHandler::decodeBigInteger,
+                    BigInteger::valueOf, value -> BigDecimal.valueOf(value).toBigInteger(), false, parameter);
+        } else if (numberClass == BigDecimal.class) {
+            return new PreciseNumberHandler<>(this, BigDecimal.class, NumberArgumentHandler::decodeBigDecimal,
+                    BigDecimal::valueOf, BigDecimal::valueOf, true, parameter);
+        }
+        return new SpecializedNumberHandler(this, numberClass) {
+            @Override
+            public Number parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+                throw unparseable(input.getRaw(), null);
+            }
+        };
     }
 
     @Override
@@ -89,162 +105,316 @@ public final class NumberArgumentHandler implements ArgumentHandler<Number> {
         return new Class[] {Number.class};
     }
 
-    private static <R extends Number> R parseNumber(final String input, final Class<R> numberClass) throws InputParsingException {
-        try {
-            final Function<String, ? extends Number> decoder = NUMBER_DECODERS.get(numberClass);
-            return numberClass.cast(decoder.apply(input));
-        } catch (final NumberFormatException e) {
-            throw new InputParsingException(String.format("'%s' cannot be parsed to a(n) %s", input, numberClass.getCanonicalName()), e);
+    private static BigInteger decodeBigInteger(final String input) throws NumberFormatException {
+        if (NumberScanner.isHexInteger(input, 0, input.length())) {
+            final boolean signed = input.charAt(0) == '-' || input.charAt(0) == '+';
+            final int digitsStart = (signed ? 1 : 0) + (input.charAt(signed ? 1 : 0) == '#' ? 1 : 2);
+            final BigInteger magnitude = new BigInteger(input.substring(digitsStart), 16);
+            return (input.charAt(0) == '-') ? magnitude.negate() : magnitude;
         }
+        return new BigInteger(input, NumberScanner.isOctalInteger(input, 0, input.length()) ? 8 : 10);
     }
 
-    private static Double decodeDouble(final String input) throws NumberFormatException {
-        return (HEX_VALIDATOR_PREDICATE.test(input) || OCTAL_VALIDATOR_PREDICATE.test(input))
-                ? Long.decode(input).doubleValue()
-                : Double.valueOf(input);
+    private static BigDecimal decodeBigDecimal(final String input) throws NumberFormatException {
+        return (NumberScanner.isHexInteger(input, 0, input.length()) || NumberScanner.isOctalInteger(input, 0, input.length()))
+                ? new BigDecimal(decodeBigInteger(input))
+                : new BigDecimal(input);
     }
 
-    private static Float decodeFloat(final String input) throws NumberFormatException {
-        return (HEX_VALIDATOR_PREDICATE.test(input) || OCTAL_VALIDATOR_PREDICATE.test(input))
-                ? Integer.decode(input).floatValue()
-                : Float.valueOf(input);
-    }
+    /**
+     * A handler specialized for a single parameter of a single Number type. Annotation lookups and clamp bounds are
+     * resolved when the handler is created, and the parameter passed to {@link #parse parse} is not consulted.
+     */
+    abstract static class SpecializedNumberHandler implements ArgumentHandler<Number> {
+        private final NumberArgumentHandler generalHandler;
 
-    private static BigInteger decodeBigInteger(final String input) throws NumberFormatException {
-        return HEX_VALIDATOR_PREDICATE.test(input)
-                ? new BigInteger((input.charAt(0) == '0' ? input.substring(2) : input.substring(1)), 16)
-                : new BigInteger(input, (OCTAL_VALIDATOR_PREDICATE.test(input) ? 8 : 10));
-    }
+        final Class<?> numberClass;
 
-    private static BigDecimal decodeBigDecimal(final String input) throws NumberFormatException {
-        return HEX_VALIDATOR_PREDICATE.test(input)
-                ? new BigDecimal(new BigInteger((input.charAt(0) == '0' ? input.substring(2) : input.substring(1)), 16))
-                : (OCTAL_VALIDATOR_PREDICATE.test(input)
-                ? new BigDecimal(new BigInteger(input, 8))
-                : new BigDecimal(input));
-    }
+        SpecializedNumberHandler(final NumberArgumentHandler generalHandler, final Class<?> numberClass) {
+            this.generalHandler = generalHandler;
+            this.numberClass = numberClass;
+        }
 
-    private static Number clampInteger(final IntClamp intClamp, final Number num, final Function<Number, Number> castingFunction) {
-        final long min, max;
-        if (num.longValue() < (min = Math.min(intClamp.min(), intClamp.max()))) {
-            return castingFunction.apply(min);
-        } else if (num.longValue() > (max = (Math.max(intClamp.min(), intClamp.max())))) {
-            return castingFunction.apply(max);
-        } else {
-            return num;
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return generalHandler.getSyntax(parameter);
         }
-    }
 
-    private static Number clampReal(final RealClamp realClamp, final Number num, final Function<Number, Number> castingFunction) {
-        final double min, max;
-        if (!Double.isNaN((min = Math.min(realClamp.min(), realClamp.max()))) && num.doubleValue() < min) {
-            return castingFunction.apply(min);
-        } else if (!Double.isNaN((max = Math.max(realClamp.min(), realClamp.max()))) && num.doubleValue() > max) {
-            return castingFunction.apply(max);
-        } else {
-            return num;
+        @Override
+        public Class[] getHandledTypes() {
+            return generalHandler.getHandledTypes();
+        }
+
+        final InputParsingException unparseable(final String raw, final NumberFormatException cause) {
+            return new InputParsingException(String.format("'%s' cannot be parsed to a(n) %s", raw, numberClass.getCanonicalName()), cause);
         }
     }
 
-    private static BigInteger clampBigInteger(final PreciseClamp preciseClamp, final BigInteger num) {
-        final BigInteger min = !preciseClamp.min().isEmpty() ? decodeBigInteger(preciseClamp.min()) : null;
-        final BigInteger max = !preciseClamp.max().isEmpty() ? decodeBigInteger(preciseClamp.max()) : null;
-        if (min != null) {
-            final BigInteger absMin = (max != null) ? min.min(max) : min;
-            if (num.compareTo(absMin) < 0) {
-                return absMin;
+    static final class IntegralNumberHandler extends SpecializedNumberHandler {
+        private final Primitives width;
+
+        private final long minimumValue;
+
+        private final long maximumValue;
+
+        private final boolean clamped;
+
+        private final boolean realClamp;
+
+        private final long lowerLongBound;
+
+        private final long upperLongBound;
+
+        private final double lowerRealBound;
+
+        private final double upperRealBound;
+
+        private final long lowerClampedValue;
+
+        private final long upperClampedValue;
+
+        private IntegralNumberHandler(final NumberArgumentHandler generalHandler, final Primitives width, final long minimumValue, final long maximumValue, final CommandParameter parameter) {
+            super(generalHandler, width.wrapped());
+            this.width = width;
+            this.minimumValue = minimumValue;
+            this.maximumValue = maximumValue;
+
+            final IntClamp intClamp = parameter.getAnnotation(IntClamp.class);
+            final RealClamp realClamp = (intClamp == null) ? parameter.getAnnotation(RealClamp.class) : null;
+            this.clamped = intClamp != null || realClamp != null;
+            this.realClamp = realClamp != null;
+            if (intClamp != null) {
+                this.lowerLongBound = Math.min(intClamp.min(), intClamp.max());
+                this.upperLongBound = Math.max(intClamp.min(), intClamp.max());
+                this.lowerRealBound = this.upperRealBound = Double.NaN;
+                this.lowerClampedValue = narrow(lowerLongBound);
+                this.upperClampedValue = narrow(upperLongBound);
+            } else if (realClamp != null) {
+                this.lowerLongBound = this.upperLongBound = 0L;
+                this.lowerRealBound = Math.min(realClamp.min(), realClamp.max());
+                this.upperRealBound = Math.max(realClamp.min(), realClamp.max());
+                this.lowerClampedValue = narrow(lowerRealBound);
+                this.upperClampedValue = narrow(upperRealBound);
+            } else {
+                this.lowerLongBound = this.upperLongBound = this.lowerClampedValue = this.upperClampedValue = 0L;
+                this.lowerRealBound = this.upperRealBound = Double.NaN;
             }
         }
-        if (max != null) {
-            final BigInteger absMax = (min != null) ? max.max(min) : max;
-            if (num.compareTo(absMax) > 0) {
-                return absMax;
+
+        @Override
+        public Number parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            final String raw = input.getRaw();
+            final long value = parseLong(raw, 0, raw.length());
+            switch (width) {
+                case BYTE:
+                    return (byte) value;
+                case SHORT:
+                    return (short) value;
+                case INTEGER:
+                    return (int) value;
+                default:
+                    return value;
             }
         }
-        return num;
-    }
 
-    private static BigDecimal clampBigDecimal(final PreciseClamp preciseClamp, final BigDecimal num) {
-        final BigDecimal min = !preciseClamp.min().isEmpty() ? decodeBigDecimal(preciseClamp.min()) : null;
-        final BigDecimal max = !preciseClamp.max().isEmpty() ? decodeBigDecimal(preciseClamp.max()) : null;
-        if (min != null) {
-            final BigDecimal absMin = (max != null) ? min.min(max) : min;
-            if (num.compareTo(absMin) < 0) {
-                return absMin;
+        /**
+         * Parses the region {@code [start, end)} of the source String, applying this handler's clamp
+         *
+         * @return the parsed value, narrowed to the width of this handler's Number type
+         */
+        long parseLong(final String source, final int start, final int end) throws InputParsingException {
+            long value;
+            try {
+                value = NumberScanner.decodeLong(source, start, end, minimumValue, maximumValue);
+            } catch (final NumberFormatException e) {
+                throw unparseable(source.substring(start, end), e);
+            }
+
+            if (clamped) {
+                if (realClamp) {
+                    if (!Double.isNaN(lowerRealBound) && value < lowerRealBound) {
+                        value = lowerClampedValue;
+                    } else if (!Double.isNaN(upperRealBound) && value > upperRealBound) {
+                        value = upperClampedValue;
+                    }
+                } else if (value < lowerLongBound) {
+                    value = lowerClampedValue;
+                } else if (value > upperLongBound) {
+                    value = upperClampedValue;
+                }
+            }
+            return narrow(value);
+        }
+
+        private long narrow(final long value) {
+            switch (width) {
+                case BYTE:
+                    return (byte) value;
+                case SHORT:
+                    return (short) value;
+                case INTEGER:
+                    return (int) value;
+                default:
+                    return value;
             }
         }
-        if (max != null) {
-            final BigDecimal absMax = (min != null) ? max.max(min) : max;
-            if (num.compareTo(absMax) > 0) {
-                return absMax;
+
+        private long narrow(final double value) {
+            switch (width) {
+                case BYTE:
+                    return (byte) value;
+                case SHORT:
+                    return (short) value;
+                case INTEGER:
+                    return (int) value;
+                default:
+                    return (long) value;
             }
         }
-        return num;
     }
 
-    static {
-        final Map<Class<? extends Number>, Function<String, ? extends Number>> decoders = new HashMap<>();
-        decoders.put(Byte.class, Byte::decode);
-        decoders.put(Short.class, Short::decode);
-        decoders.put(Integer.class, Integer::decode);
-        decoders.put(Long.class, Long::decode);
-        decoders.put(Double.class, NumberArgumentHandler::decodeDouble);
-        decoders.put(Float.class, NumberArgumentHandler::decodeFloat);
-        decoders.put(BigInteger.class, NumberArgumentHandler::decodeBigInteger);
-        decoders.put(BigDecimal.class, NumberArgumentHandler::decodeBigDecimal);
-        NUMBER_DECODERS = Collections.unmodifiableMap(decoders);
-
-        final Function<Function<Number, Number>, Function<Number, Function<CommandParameter, Number>>> intProcessor = cast -> num -> param -> {
-            final IntClamp intClamp = param.getAnnotation(IntClamp.class);
-            if (intClamp != null) {
-                return clampInteger(intClamp, num, cast);
+    static final class RealNumberHandler extends SpecializedNumberHandler {
+        private final boolean singlePrecision;
+
+        private final boolean clamped;
+
+        private final boolean intClamp;
+
+        private final long lowerLongBound;
+
+        private final long upperLongBound;
+
+        private final double lowerRealBound;
+
+        private final double upperRealBound;
+
+        private final double lowerClampedValue;
+
+        private final double upperClampedValue;
+
+        private RealNumberHandler(final NumberArgumentHandler generalHandler, final Primitives width, final CommandParameter parameter) {
+            super(generalHandler, width.wrapped());
+            this.singlePrecision = width == Primitives.FLOAT;
+
+            final RealClamp realClamp = parameter.getAnnotation(RealClamp.class);
+            final IntClamp intClamp = (realClamp == null) ? parameter.getAnnotation(IntClamp.class) : null;
+            this.clamped = realClamp != null || intClamp != null;
+            this.intClamp = intClamp != null;
+            if (realClamp != null) {
+                this.lowerLongBound = this.upperLongBound = 0L;
+                this.lowerRealBound = Math.min(realClamp.min(), realClamp.max());
+                this.upperRealBound = Math.max(realClamp.min(), realClamp.max());
+                this.lowerClampedValue = narrow(lowerRealBound);
+                this.upperClampedValue = narrow(upperRealBound);
+            } else if (intClamp != null) {
+                this.lowerLongBound = Math.min(intClamp.min(), intClamp.max());
+                this.upperLongBound = Math.max(intClamp.min(), intClamp.max());
+                this.lowerRealBound = this.upperRealBound = Double.NaN;
+                this.lowerClampedValue = singlePrecision ? (float) lowerLongBound : (double) lowerLongBound;
+                this.upperClampedValue = singlePrecision ? (float) upperLongBound : (double) upperLongBound;
             } else {
-                final RealClamp realClamp = param.getAnnotation(RealClamp.class);
-                if (realClamp != null) {
-                    return clampReal(realClamp, num, cast);
+                this.lowerLongBound = this.upperLongBound = 0L;
+                this.lowerRealBound = this.upperRealBound = this.lowerClampedValue = this.upperClampedValue = Double.NaN;
+            }
+        }
+
+        @Override
+        public Number parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            final String raw = input.getRaw();
+            final double value = parseDouble(raw, 0, raw.length());
+            if (singlePrecision) {
+                return (float) value;
+            }
+            return value;
+        }
+
+        /**
+         * Parses the region {@code [start, end)} of the source String, applying this handler's clamp
+         *
+         * @return the parsed value, rounded to the precision of this handler's Number type
+         */
+        double parseDouble(final String source, final int start, final int end) throws InputParsingException {
+            double value;
+            try {
+                if (NumberScanner.isHexInteger(source, start, end) || NumberScanner.isOctalInteger(source, start, end)) {
+                    value = singlePrecision
+                            ? (float) NumberScanner.decodeLong(source, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE)
+                            : (double) NumberScanner.decodeLong(source, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
                 } else {
-                    return num;
+                    value = singlePrecision ? NumberScanner.parseFloat(source, start, end) : NumberScanner.parseDouble(source, start, end);
                 }
+            } catch (final NumberFormatException e) {
+                throw unparseable(source.substring(start, end), e);
             }
-        };
 
-        final Function<Function<Number, Number>, Function<Number, Function<CommandParameter, Number>>> realProcessor = cast -> num -> param -> {
-            final RealClamp realClamp = param.getAnnotation(RealClamp.class);
-            if (realClamp != null) {
-                return clampReal(realClamp, num, cast);
-            } else {
-                final IntClamp intClamp = param.getAnnotation(IntClamp.class);
-                if (intClamp != null) {
-                    return clampInteger(intClamp, num, cast);
-                } else {
-                    return num;
+            if (clamped) {
+                if (intClamp) {
+                    if ((long) value < lowerLongBound) {
+                        value = lowerClampedValue;
+                    } else if ((long) value > upperLongBound) {
+                        value = upperClampedValue;
+                    }
+                } else if (!Double.isNaN(lowerRealBound) && value < lowerRealBound) {
+                    value = lowerClampedValue;
+                } else if (!Double.isNaN(upperRealBound) && value > upperRealBound) {
+                    value = upperClampedValue;
                 }
             }
-        };
 
-        final Map<Class<? extends Number>, Function<Number, Function<CommandParameter, Number>>> processingStages = new HashMap<>();
-        processingStages.put(Byte.class, intProcessor.apply(Number::byteValue));
-        processingStages.put(Short.class, intProcessor.apply(Number::shortValue));
-        processingStages.put(Integer.class, intProcessor.apply(Number::intValue));
-        processingStages.put(Long.class, intProcessor.apply(Number::longValue));
-        processingStages.put(Double.class, realProcessor.apply(Number::doubleValue));
-        processingStages.put(Float.class, realProcessor.apply(Number::floatValue));
-        processingStages.put(BigInteger.class, num -> param -> {
-            final PreciseClamp preciseClamp = param.getAnnotation(PreciseClamp.class);
+            return value;
+        }
+
+        private double narrow(final double value) {
+            return singlePrecision ? (float) value : value;
+        }
+    }
+
+    private static final class PreciseNumberHandler<N extends Number & Comparable<N>> extends SpecializedNumberHandler {
+        private final Function<String, N> decoder;
+
+        private final N lowerBound;
+
+        private final N upperBound;
+
+        private PreciseNumberHandler(final NumberArgumentHandler generalHandler, final Class<N> numberClass, final Function<String, N> decoder,
+                                     final LongFunction<N> fromLong, final DoubleFunction<N> fromDouble, final boolean preferRealClamp,
+                                     final CommandParameter parameter) {
+            super(generalHandler, numberClass);
+            this.decoder = decoder;
+
+            final PreciseClamp preciseClamp = parameter.getAnnotation(PreciseClamp.class);
+            final IntClamp intClamp = parameter.getAnnotation(IntClamp.class);
+            final RealClamp realClamp = parameter.getAnnotation(RealClamp.class);
+            N min = null;
+            N max = null;
             if (preciseClamp != null) {
-                return clampBigInteger(preciseClamp, (BigInteger) num);
-            } else {
-                return intProcessor.apply(Function.identity()).apply(num).apply(param);
+                min = !preciseClamp.min().isEmpty() ? decoder.apply(preciseClamp.min()) : null;
+                max = !preciseClamp.max().isEmpty() ? decoder.apply(preciseClamp.max()) : null;
+            } else if (realClamp != null && (preferRealClamp || intClamp == null)) {
+                min = !Double.isNaN(realClamp.min()) ? fromDouble.apply(realClamp.min()) : null;
+                max = !Double.isNaN(realClamp.max()) ? fromDouble.apply(realClamp.max()) : null;
+            } else if (intClamp != null) {
+                min = fromLong.apply(intClamp.min());
+                max = fromLong.apply(intClamp.max());
             }
-        });
-        processingStages.put(BigDecimal.class, num -> param -> {
-            final PreciseClamp preciseClamp = param.getAnnotation(PreciseClamp.class);
-            if (preciseClamp != null) {
-                return clampBigDecimal(preciseClamp, (BigDecimal) num);
-            } else {
-                return realProcessor.apply(Function.identity()).apply(num).apply(param);
+            this.lowerBound = (min != null && max != null && max.compareTo(min) < 0) ? max : min;
+            this.upperBound = (min != null && max != null && min.compareTo(max) > 0) ? min : max;
+        }
+
+        @Override
+        public Number parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            final N value;
+            try {
+                value = decoder.apply(input.getRaw());
+            } catch (final NumberFormatException e) {
+                throw unparseable(input.getRaw(), e);
             }
-        });
-        POST_PROCESSORS = Collections.unmodifiableMap(processingStages);
+            if (lowerBound != null && value.compareTo(lowerBound) < 0) {
+                return lowerBound;
+            } else if (upperBound != null && value.compareTo(upperBound) > 0) {
+                return upperBound;
+            }
+            return value;
+        }
     }
 }
@@ -0,0 +1,241 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing.argument.handlers;
+
+/**
+ * Allocation-free scanners for the numeric literal forms accepted by {@link NumberArgumentHandler NumberArgumentHandler}.
+ * <p>
+ * Integral literals follow the rules of {@link Long#decode(String) Long.decode}: an optional sign, followed by a
+ * {@code 0x}, {@code 0X} or {@code #} prefix for hexadecimal, a leading {@code 0} for octal, or plain decimal digits.
+ * Real literals take a fast path for plain decimal forms that are exactly representable, and otherwise defer to
+ * {@link Double#parseDouble(String) Double.parseDouble} and {@link Float#parseFloat(String) Float.parseFloat}.
+ * <p>
+ * All methods operate on the region {@code [start, end)} of a CharSequence, and signal malformed input with a
+ * {@link NumberFormatException NumberFormatException}.
+ *
+ * @author Mark Johnson
+ */
+final class NumberScanner {
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private static final long DOUBLE_EXACT_LIMIT = 1L << 53;
+
+    private static final long FLOAT_EXACT_LIMIT = 1L << 24;
+
+    private static final long NOT_FAST = -1L;
+
+    private static final int EXPONENT_BITS = 8;
+
+    private static final long EXPONENT_MASK = (1L << EXPONENT_BITS) - 1;
+
+    private static final int EXPONENT_BIAS = 64;
+
+    private NumberScanner() {}
+
+    static long decodeLong(final CharSequence input, final int start, final int end, final long min, final long max) throws NumberFormatException {
+        if (start >= end) {
+            throw new NumberFormatException("Zero length string");
+        }
+
+        int index = start;
+        boolean negative = false;
+        final char first = input.charAt(index);
+        if (first == '-') {
+            negative = true;
+            index++;
+        } else if (first == '+') {
+            index++;
+        }
+
+        final int radix;
+        if (regionMatches(input, index, end, '0', 'x') || regionMatches(input, index, end, '0', 'X')) {
+            radix = 16;
+            index += 2;
+        } else if (index < end && input.charAt(index) == '#') {
+            radix = 16;
+            index++;
+        } else if (index < end && input.charAt(index) == '0' && end - index > 1) {
+            radix = 8;
+            index++;
+        } else {
+            radix = 10;
+        }
+
+        if (index >= end) {
+            throw numberFormatException(input, start, end);
+        }
+        if (input.charAt(index) == '-' || input.charAt(index) == '+') {
+            throw new NumberFormatException("Sign character in wrong position");
+        }
+
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplicationLimit = limit / radix;
+        long result = 0;
+        for (; index < end; index++) {
+            final int digit = Character.digit(input.charAt(index), radix);
+            if (digit < 0 || result < multiplicationLimit) {
+                throw numberFormatException(input, start, end);
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                throw numberFormatException(input, start, end);
+            }
+            result -= digit;
+        }
+
+        final long value = negative ? result : -result;
+        if (value < min || value > max) {
+            throw new NumberFormatException("Value " + value + " out of range from input " + input.subSequence(start, end));
+        }
+        return value;
+    }
+
+    static boolean isHexInteger(final CharSequence input, final int start, final int end) {
+        int index = skipSign(input, start, end);
+        if (regionMatches(input, index, end, '0', 'x') || regionMatches(input, index, end, '0', 'X')) {
+            index += 2;
+        } else if (index < end && input.charAt(index) == '#') {
+            index++;
+        } else {
+            return false;
+        }
+        if (index >= end) {
+            return false;
+        }
+        for (; index < end; index++) {
+            final char c = input.charAt(index);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isOctalInteger(final CharSequence input, final int start, final int end) {
+        int index = skipSign(input, start, end);
+        if (end - index < 2 || input.charAt(index) != '0' || input.charAt(index + 1) < '1' || input.charAt(index + 1) > '7') {
+            return false;
+        }
+        for (index += 2; index < end; index++) {
+            final char c = input.charAt(index);
+            if (c < '0' || c > '7') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static double parseDouble(final CharSequence input, final int start, final int end) throws NumberFormatException {
+        final long packed = scanDecimal(input, start, end, DOUBLE_EXACT_LIMIT, DOUBLE_POWERS_OF_TEN.length - 1);
+        if (packed == NOT_FAST) {
+            return Double.parseDouble(input.subSequence(start, end).toString());
+        }
+        final double magnitude = fastMagnitude(packed, DOUBLE_POWERS_OF_TEN);
+        return (input.charAt(start) == '-') ? -magnitude : magnitude;
+    }
+
+    static float parseFloat(final CharSequence input, final int start, final int end) throws NumberFormatException {
+        final long packed = scanDecimal(input, start, end, FLOAT_EXACT_LIMIT, FLOAT_POWERS_OF_TEN.length - 1);
+        if (packed == NOT_FAST) {
+            return Float.parseFloat(input.subSequence(start, end).toString());
+        }
+        final float mantissa = (float) (packed >> EXPONENT_BITS);
+        final int exponent = (int) (packed & EXPONENT_MASK) - EXPONENT_BIAS;
+        final float magnitude = (exponent < 0) ? mantissa / FLOAT_POWERS_OF_TEN[-exponent] : mantissa * FLOAT_POWERS_OF_TEN[exponent];
+        return (input.charAt(start) == '-') ? -magnitude : magnitude;
+    }
+
+    /**
+     * Scans a plain decimal literal of the form {@code [+-]digits[.digits][(e|E)[+-]digits]}, returning its unsigned
+     * mantissa and base-ten exponent packed into a single long, or {@link #NOT_FAST NOT_FAST} if the literal has another
+     * form or cannot be converted exactly with a single multiplication or division.
+     */
+    private static long scanDecimal(final CharSequence input, final int start, final int end, final long exactLimit, final int maximumExponent) {
+        int index = skipSign(input, start, end);
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+
+        for (; index < end && isDigit(input.charAt(index)); index++, digits++) {
+            mantissa = mantissa * 10 + (input.charAt(index) - '0');
+            if (mantissa >= exactLimit) return NOT_FAST;
+        }
+        if (index < end && input.charAt(index) == '.') {
+            for (index++; index < end && isDigit(input.charAt(index)); index++, digits++, exponent--) {
+                mantissa = mantissa * 10 + (input.charAt(index) - '0');
+                if (mantissa >= exactLimit) return NOT_FAST;
+            }
+        }
+        if (digits == 0) {
+            return NOT_FAST;
+        }
+        if (index < end && (input.charAt(index) == 'e' || input.charAt(index) == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < end && (input.charAt(index) == '-' || input.charAt(index) == '+')) {
+                negativeExponent = input.charAt(index++) == '-';
+            }
+            if (index >= end || end - index > 3) {
+                return NOT_FAST;
+            }
+            int explicitExponent = 0;
+            for (; index < end; index++) {
+                if (!isDigit(input.charAt(index))) return NOT_FAST;
+                explicitExponent = explicitExponent * 10 + (input.charAt(index) - '0');
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (index != end || (mantissa != 0 && Math.abs(exponent) > maximumExponent)) {
+            return NOT_FAST;
+        }
+        if (mantissa == 0) {
+            exponent = 0;
+        }
+        return (mantissa << EXPONENT_BITS) | (exponent + EXPONENT_BIAS);
+    }
+
+    private static double fastMagnitude(final long packed, final double[] powersOfTen) {
+        final double mantissa = (double) (packed >> EXPONENT_BITS);
+        final int exponent = (int) (packed & EXPONENT_MASK) - EXPONENT_BIAS;
+        return (exponent < 0) ? mantissa / powersOfTen[-exponent] : mantissa * powersOfTen[exponent];
+    }
+
+    private static int skipSign(final CharSequence input, final int start, final int end) {
+        return (start < end && (input.charAt(start) == '-' || input.charAt(start) == '+')) ? start + 1 : start;
+    }
+
+    private static boolean regionMatches(final CharSequence input, final int index, final int end, final char first, final char second) {
+        return end - index >= 2 && input.charAt(index) == first && input.charAt(index + 1) == second;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException numberFormatException(final CharSequence input, final int start, final int end) {
+        return new NumberFormatException("For input string: \"" + input.subSequence(start, end) + "\"");
+    }
+}
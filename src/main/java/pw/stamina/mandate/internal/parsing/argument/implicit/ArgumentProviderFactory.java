@@ -19,6 +19,7 @@
 package pw.stamina.mandate.internal.parsing.argument.implicit;
 
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
+import pw.stamina.mandate.parsing.argument.ProviderScope;
 
 import java.lang.reflect.Type;
 import java.util.Map;
@@ -33,4 +34,8 @@ public final class ArgumentProviderFactory {
     public static ArgumentProvider fromMapping(final Map<Type, Supplier<?>> valueProviders) {
         return new SimpleArgumentProvider(valueProviders);
     }
+
+    public static ArgumentProvider fromMapping(final Map<Type, Supplier<?>> valueProviders, final Map<Type, ProviderScope> scopes) {
+        return new SimpleArgumentProvider(valueProviders, scopes);
+    }
 }
@@ -18,7 +18,10 @@
 
 package pw.stamina.mandate.internal.parsing.argument.implicit;
 
+import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
+import pw.stamina.mandate.parsing.argument.ProviderScope;
+import pw.stamina.mandate.parsing.argument.ProviderStatistics;
 
 import java.lang.reflect.Type;
 import java.util.Optional;
@@ -47,6 +50,15 @@ public class ForkedArgumentProvider implements ArgumentProvider {
         }
     }
 
+    @Override
+    public void registerProvider(final Type valueType, final Supplier<?> valueProvider, final ProviderScope scope) {
+        if (thisProvider.isProviderPresent(valueType)) {
+            throw new IllegalStateException(String.format("Top-level argument provider already mapped for arguments of type %s", valueType.getTypeName()));
+        } else {
+            thisProvider.registerProvider(valueType, valueProvider, scope);
+        }
+    }
+
     @Override
     public Optional<Supplier<?>> findProvider(final Type valueType) {
         final Optional<Supplier<?>> lookup = thisProvider.findProvider(valueType);
@@ -57,4 +69,26 @@ public class ForkedArgumentProvider implements ArgumentProvider {
     public boolean isProviderPresent(final Type valueType) {
         return thisProvider.isProviderPresent(valueType) || forkedProvider.isProviderPresent(valueType);
     }
+
+    @Override
+    public Object provideValue(final Type valueType, final ExecutionContext executionContext) {
+        return thisProvider.isProviderPresent(valueType)
+                ? thisProvider.provideValue(valueType, executionContext)
+                : forkedProvider.provideValue(valueType, executionContext);
+    }
+
+    @Override
+    public ProviderStatistics getStatistics() {
+        return new ProviderStatistics() {
+            @Override
+            public long getHits(final ProviderScope.Kind scope) {
+                return thisProvider.getStatistics().getHits(scope) + forkedProvider.getStatistics().getHits(scope);
+            }
+
+            @Override
+            public long getMisses(final ProviderScope.Kind scope) {
+                return thisProvider.getStatistics().getMisses(scope) + forkedProvider.getStatistics().getMisses(scope);
+            }
+        };
+    }
 }
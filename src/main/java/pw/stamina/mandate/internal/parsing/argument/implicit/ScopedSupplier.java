@@ -0,0 +1,247 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing.argument.implicit;
+
+import pw.stamina.mandate.execution.ExecutionContext;
+import pw.stamina.mandate.parsing.argument.ProviderScope;
+import pw.stamina.mandate.security.CommandSender;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A value provider wrapped with the cache of the {@link ProviderScope scope} it was registered with. Lookups and misses
+ * are recorded to the statistics of the provider registry the value provider was registered to.
+ * <p>
+ * When used as a plain {@link Supplier Supplier}, per-sender and per-execution values can not be keyed by anything and
+ * are supplied anew on every call.
+ * <p>
+ * Per-sender values are held strongly, but their senders are only referenced weakly. A value that references its own
+ * sender therefore keeps both reachable for as long as the provider is registered.
+ *
+ * @author Mark Johnson
+ */
+abstract class ScopedSupplier implements Supplier<Object> {
+
+    private static final Object UNSET = new Object();
+
+    private final Supplier<?> valueProvider;
+
+    private final ProviderScope.Kind scope;
+
+    private final SimpleProviderStatistics statistics;
+
+    private ScopedSupplier(final Supplier<?> valueProvider, final ProviderScope.Kind scope, final SimpleProviderStatistics statistics) {
+        this.valueProvider = valueProvider;
+        this.scope = scope;
+        this.statistics = statistics;
+    }
+
+    static ScopedSupplier of(final Supplier<?> valueProvider, final ProviderScope scope, final SimpleProviderStatistics statistics) {
+        switch (scope.getKind()) {
+            case SINGLETON:
+                return new SingletonSupplier(valueProvider, statistics);
+            case PER_SENDER:
+                return new PerSenderSupplier(valueProvider, statistics);
+            case PER_EXECUTION:
+                return new PerExecutionSupplier(valueProvider, statistics);
+            case EXPIRING:
+                return new ExpiringSupplier(valueProvider, scope.getTimeToLive().toNanos(), statistics);
+            default:
+                return new UnscopedSupplier(valueProvider, statistics);
+        }
+    }
+
+    @Override
+    public final Object get() {
+        statistics.recordLookup(scope);
+        return lookup();
+    }
+
+    final Object get(final ExecutionContext executionContext) {
+        statistics.recordLookup(scope);
+        return lookup(executionContext);
+    }
+
+    Object lookup() {
+        return supply();
+    }
+
+    Object lookup(final ExecutionContext executionContext) {
+        return lookup();
+    }
+
+    final Object supply() {
+        statistics.recordMiss(scope);
+        return valueProvider.get();
+    }
+
+    private static final class UnscopedSupplier extends ScopedSupplier {
+        private UnscopedSupplier(final Supplier<?> valueProvider, final SimpleProviderStatistics statistics) {
+            super(valueProvider, ProviderScope.Kind.UNSCOPED, statistics);
+        }
+    }
+
+    private static final class SingletonSupplier extends ScopedSupplier {
+        private volatile Object value = UNSET;
+
+        private SingletonSupplier(final Supplier<?> valueProvider, final SimpleProviderStatistics statistics) {
+            super(valueProvider, ProviderScope.Kind.SINGLETON, statistics);
+        }
+
+        @Override
+        Object lookup() {
+            Object current = value;
+            if (current == UNSET) {
+                synchronized (this) {
+                    current = value;
+                    if (current == UNSET) {
+                        value = current = supply();
+                    }
+                }
+            }
+            return current;
+        }
+    }
+
+    private static final class PerSenderSupplier extends ScopedSupplier {
+        private static final Object NULL_VALUE = new Object();
+
+        private final ConcurrentMap<SenderKey, Object> values = new ConcurrentHashMap<>();
+
+        private final ReferenceQueue<CommandSender> collectedSenders = new ReferenceQueue<>();
+
+        private PerSenderSupplier(final Supplier<?> valueProvider, final SimpleProviderStatistics statistics) {
+            super(valueProvider, ProviderScope.Kind.PER_SENDER, statistics);
+        }
+
+        @Override
+        Object lookup(final ExecutionContext executionContext) {
+            expungeCollectedSenders();
+
+            final CommandSender commandSender = executionContext.getCommandSender();
+            final Object cached = values.get(new SenderKey(commandSender, null));
+            if (cached != null) {
+                return unmask(cached);
+            }
+
+            // the provider is not called inside the map, so that slow providers do not hold up other senders
+            final Object supplied = supply();
+            final Object raced = values.putIfAbsent(new SenderKey(commandSender, collectedSenders), (supplied == null) ? NULL_VALUE : supplied);
+            return (raced == null) ? supplied : unmask(raced);
+        }
+
+        private void expungeCollectedSenders() {
+            Reference<? extends CommandSender> collected;
+            while ((collected = collectedSenders.poll()) != null) {
+                values.remove(collected);
+            }
+        }
+
+        private static Object unmask(final Object value) {
+            return (value == NULL_VALUE) ? null : value;
+        }
+
+        /**
+         * Weakly references a sender and compares senders by identity. Once the sender has been collected, a key is
+         * only equal to itself, so that it can still be removed from the map.
+         */
+        private static final class SenderKey extends WeakReference<CommandSender> {
+            private final int hash;
+
+            private SenderKey(final CommandSender commandSender, final ReferenceQueue<CommandSender> queue) {
+                super(commandSender, queue);
+                this.hash = System.identityHashCode(commandSender);
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+
+            @Override
+            public boolean equals(final Object obj) {
+                if (this == obj) {
+                    return true;
+                }
+                if (!(obj instanceof SenderKey)) {
+                    return false;
+                }
+                final CommandSender commandSender = get();
+                return (commandSender != null) && (commandSender == ((SenderKey) obj).get());
+            }
+        }
+    }
+
+    private static final class PerExecutionSupplier extends ScopedSupplier {
+        private PerExecutionSupplier(final Supplier<?> valueProvider, final SimpleProviderStatistics statistics) {
+            super(valueProvider, ProviderScope.Kind.PER_EXECUTION, statistics);
+        }
+
+        @Override
+        Object lookup(final ExecutionContext executionContext) {
+            return executionContext.computeLocalValueIfAbsent(this, this::supply);
+        }
+    }
+
+    private static final class ExpiringSupplier extends ScopedSupplier {
+        private final long timeToLiveNanos;
+
+        private volatile Entry entry;
+
+        private ExpiringSupplier(final Supplier<?> valueProvider, final long timeToLiveNanos, final SimpleProviderStatistics statistics) {
+            super(valueProvider, ProviderScope.Kind.EXPIRING, statistics);
+            this.timeToLiveNanos = timeToLiveNanos;
+        }
+
+        @Override
+        Object lookup() {
+            Entry current = entry;
+            if (current == null || current.isExpired(System.nanoTime())) {
+                synchronized (this) {
+                    current = entry;
+                    if (current == null || current.isExpired(System.nanoTime())) {
+                        final Object supplied = supply();
+                        entry = current = new Entry(supplied, System.nanoTime() + timeToLiveNanos);
+                    }
+                }
+            }
+            return current.value;
+        }
+
+        private static final class Entry {
+            private final Object value;
+
+            private final long expiresAt;
+
+            private Entry(final Object value, final long expiresAt) {
+                this.value = value;
+                this.expiresAt = expiresAt;
+            }
+
+            private boolean isExpired(final long now) {
+                return now - expiresAt >= 0;
+            }
+        }
+    }
+}
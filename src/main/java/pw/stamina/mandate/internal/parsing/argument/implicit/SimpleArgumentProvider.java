@@ -18,11 +18,17 @@
 
 package pw.stamina.mandate.internal.parsing.argument.implicit;
 
+import pw.stamina.mandate.execution.ExecutionContext;
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
+import pw.stamina.mandate.parsing.argument.ProviderScope;
+import pw.stamina.mandate.parsing.argument.ProviderStatistics;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /**
@@ -30,19 +36,33 @@ import java.util.function.Supplier;
  */
 public class SimpleArgumentProvider implements ArgumentProvider {
 
-    private final Map<Type, Supplier<?>> valueProviders;
+    private final Map<Type, ScopedSupplier> valueProviders = new ConcurrentHashMap<>();
+
+    private final SimpleProviderStatistics statistics = new SimpleProviderStatistics();
 
     public SimpleArgumentProvider(final Map<Type, Supplier<?>> valueProviders) {
-        this.valueProviders = valueProviders;
+        this(valueProviders, Collections.emptyMap());
+    }
+
+    public SimpleArgumentProvider(final Map<Type, Supplier<?>> valueProviders, final Map<Type, ProviderScope> scopes) {
+        valueProviders.forEach((valueType, valueProvider) ->
+                registerProvider(valueType, valueProvider, scopes.getOrDefault(valueType, ProviderScope.unscoped())));
     }
 
     @Override
     public void registerProvider(final Type valueType, final Supplier<?> valueProvider) {
-        valueProviders.put(valueType, valueProvider);
+        registerProvider(valueType, valueProvider, ProviderScope.unscoped());
+    }
+
+    @Override
+    public void registerProvider(final Type valueType, final Supplier<?> valueProvider, final ProviderScope scope) {
+        Objects.requireNonNull(valueType, "Value type cannot be null");
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        Objects.requireNonNull(scope, "Provider scope cannot be null");
+        valueProviders.put(valueType, ScopedSupplier.of(valueProvider, scope, statistics));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Optional<Supplier<?>> findProvider(final Type valueType) {
         return Optional.ofNullable(valueProviders.get(valueType));
     }
@@ -51,4 +71,18 @@ public class SimpleArgumentProvider implements ArgumentProvider {
     public boolean isProviderPresent(final Type valueType) {
         return valueProviders.containsKey(valueType);
     }
+
+    @Override
+    public Object provideValue(final Type valueType, final ExecutionContext executionContext) {
+        final ScopedSupplier valueProvider = valueProviders.get(valueType);
+        if (valueProvider == null) {
+            throw new IllegalArgumentException("Unable to resolve a suitable value for type " + valueType.getTypeName());
+        }
+        return valueProvider.get(executionContext);
+    }
+
+    @Override
+    public ProviderStatistics getStatistics() {
+        return statistics;
+    }
 }
@@ -20,6 +20,7 @@ package pw.stamina.mandate.internal.parsing.argument.implicit;
 
 import pw.stamina.mandate.parsing.argument.ArgumentProvider;
 import pw.stamina.mandate.parsing.argument.ArgumentProviderBuilder;
+import pw.stamina.mandate.parsing.argument.ProviderScope;
 
 import java.lang.reflect.Type;
 import java.util.HashMap;
@@ -33,8 +34,11 @@ public class SimpleArgumentProviderBuilder implements ArgumentProviderBuilder {
 
     private final Map<Type, Supplier<?>> valueProviders;
 
+    private final Map<Type, ProviderScope> scopes;
+
     public SimpleArgumentProviderBuilder() {
         this.valueProviders = new HashMap<>();
+        this.scopes = new HashMap<>();
     }
 
     @Override
@@ -51,8 +55,21 @@ public class SimpleArgumentProviderBuilder implements ArgumentProviderBuilder {
         return this;
     }
 
+    @Override
+    public <T> ArgumentProviderBuilder addProvider(final Class<T> valueType, final Supplier<? extends T> valueProvider, final ProviderScope scope) {
+        addProvider((Type) valueType, valueProvider, scope);
+        return this;
+    }
+
+    @Override
+    public ArgumentProviderBuilder addProvider(final Type valueType, final Supplier<?> valueProvider, final ProviderScope scope) {
+        addProvider(valueType, valueProvider);
+        scopes.put(valueType, scope);
+        return this;
+    }
+
     @Override
     public ArgumentProvider build() {
-        return ArgumentProviderFactory.fromMapping(valueProviders);
+        return ArgumentProviderFactory.fromMapping(valueProviders, scopes);
     }
 }
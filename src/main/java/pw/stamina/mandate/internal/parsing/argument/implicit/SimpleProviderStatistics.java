@@ -0,0 +1,62 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.parsing.argument.implicit;
+
+import pw.stamina.mandate.parsing.argument.ProviderScope;
+import pw.stamina.mandate.parsing.argument.ProviderStatistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Mark Johnson
+ */
+final class SimpleProviderStatistics implements ProviderStatistics {
+
+    private final LongAdder[] lookups = newAdders();
+
+    private final LongAdder[] misses = newAdders();
+
+    void recordLookup(final ProviderScope.Kind scope) {
+        lookups[scope.ordinal()].increment();
+    }
+
+    void recordMiss(final ProviderScope.Kind scope) {
+        misses[scope.ordinal()].increment();
+    }
+
+    @Override
+    public long getHits(final ProviderScope.Kind scope) {
+        // read misses first, so a lookup recorded between the two reads can not make the result negative
+        final long missCount = misses[scope.ordinal()].sum();
+        return Math.max(0L, lookups[scope.ordinal()].sum() - missCount);
+    }
+
+    @Override
+    public long getMisses(final ProviderScope.Kind scope) {
+        return misses[scope.ordinal()].sum();
+    }
+
+    private static LongAdder[] newAdders() {
+        final LongAdder[] adders = new LongAdder[ProviderScope.Kind.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
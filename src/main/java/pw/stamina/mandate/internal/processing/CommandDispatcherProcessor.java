@@ -0,0 +1,227 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.processing;
+
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.execution.executable.CommandDispatcher;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor generating a {@link CommandDispatcher CommandDispatcher} for every class declaring
+ * {@link Executes Executes}-annotated methods. The generated dispatcher binds each eligible command method to an
+ * invoker that calls it directly, so no reflection is needed when the command is executed.
+ * <p>
+ * Methods that generated code cannot call, such as private methods or methods of private classes, are left out of
+ * the dispatcher and are invoked through the configured fallback invoker instead.
+ * <p>
+ * The processor is registered as a service, so it is discovered by every compilation that has Mandate on its class
+ * path. It only generates dispatchers when asked to with the {@value #GENERATE_DISPATCHERS_OPTION} option, as in
+ * {@code -Amandate.generateDispatchers}; without it, commands are invoked through the fallback invoker.
+ *
+ * @author Mark Johnson
+ */
+@SupportedAnnotationTypes("pw.stamina.mandate.annotations.Executes")
+@SupportedOptions(CommandDispatcherProcessor.GENERATE_DISPATCHERS_OPTION)
+public class CommandDispatcherProcessor extends AbstractProcessor {
+    /**
+     * The processor option enabling dispatcher generation. Giving it without a value, or with any value other than
+     * {@code false}, enables it.
+     */
+    public static final String GENERATE_DISPATCHERS_OPTION = "mandate.generateDispatchers";
+
+    private static final String EXIT_CODE_TYPE = "pw.stamina.mandate.execution.result.ExitCode";
+
+    private final Set<String> generatedDispatchers = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (!isGenerationEnabled()) return false;
+
+        final Map<TypeElement, List<ExecutableElement>> commandMethods = new LinkedHashMap<>();
+        for (final Element element : roundEnv.getElementsAnnotatedWith(Executes.class)) {
+            if (element.getKind() == ElementKind.METHOD && element.getEnclosingElement() instanceof TypeElement) {
+                commandMethods.computeIfAbsent((TypeElement) element.getEnclosingElement(), type -> new ArrayList<>()).add((ExecutableElement) element);
+            }
+        }
+
+        commandMethods.forEach((container, methods) -> {
+            final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(container);
+            if (!isAccessible(container, packageElement)) return;
+
+            final List<ExecutableElement> eligibleMethods = new ArrayList<>();
+            for (final ExecutableElement method : methods) {
+                if (isEligible(method, packageElement)) {
+                    eligibleMethods.add(method);
+                }
+            }
+            if (!eligibleMethods.isEmpty()) {
+                writeDispatcher(container, packageElement, eligibleMethods);
+            }
+        });
+        return false;
+    }
+
+    private boolean isGenerationEnabled() {
+        final Map<String, String> options = processingEnv.getOptions();
+        return options.containsKey(GENERATE_DISPATCHERS_OPTION) && !"false".equalsIgnoreCase(options.get(GENERATE_DISPATCHERS_OPTION));
+    }
+
+    private boolean isAccessible(final TypeElement type, final PackageElement fromPackage) {
+        final boolean samePackage = processingEnv.getElementUtils().getPackageOf(type).equals(fromPackage);
+        Element current = type;
+        while (current instanceof TypeElement) {
+            final NestingKind nestingKind = ((TypeElement) current).getNestingKind();
+            if (current.getModifiers().contains(Modifier.PRIVATE)
+                    || (!samePackage && !current.getModifiers().contains(Modifier.PUBLIC))
+                    || (nestingKind != NestingKind.TOP_LEVEL && nestingKind != NestingKind.MEMBER)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isAccessible(final TypeMirror type, final PackageElement fromPackage) {
+        final TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) erasure).getComponentType(), fromPackage);
+        } else if (erasure.getKind() == TypeKind.DECLARED) {
+            return isAccessible((TypeElement) ((DeclaredType) erasure).asElement(), fromPackage);
+        }
+        return erasure.getKind().isPrimitive();
+    }
+
+    private boolean isEligible(final ExecutableElement method, final PackageElement fromPackage) {
+        if (method.getModifiers().contains(Modifier.PRIVATE)
+                || !EXIT_CODE_TYPE.equals(typeName(method.getReturnType()))) {
+            return false;
+        }
+
+        for (final VariableElement parameter : method.getParameters()) {
+            if (!isAccessible(parameter.asType(), fromPackage)) {
+                return false;
+            }
+        }
+
+        final TypeMirror exceptionType = processingEnv.getElementUtils().getTypeElement(Exception.class.getCanonicalName()).asType();
+        final TypeMirror errorType = processingEnv.getElementUtils().getTypeElement(Error.class.getCanonicalName()).asType();
+        for (final TypeMirror thrownType : method.getThrownTypes()) {
+            if (!processingEnv.getTypeUtils().isAssignable(thrownType, exceptionType)
+                    && !processingEnv.getTypeUtils().isAssignable(thrownType, errorType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeDispatcher(final TypeElement container, final PackageElement packageElement, final List<ExecutableElement> methods) {
+        final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(container).toString();
+        final String dispatcherName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + CommandDispatcher.DISPATCHER_SUFFIX;
+        final String qualifiedDispatcherName = packageName.isEmpty() ? dispatcherName : packageName + "." + dispatcherName;
+
+        if (!generatedDispatchers.add(qualifiedDispatcherName)) return;
+
+        final String containerName = container.getQualifiedName().toString();
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(getClass().getName()).append(" for {@link ").append(containerName).append("}\n */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(dispatcherName).append(" implements ").append(CommandDispatcher.class.getCanonicalName()).append(" {\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            source.append("    private static final Class<?>[] SIGNATURE_").append(i).append(" = {");
+            final List<? extends VariableElement> parameters = methods.get(i).getParameters();
+            for (int j = 0; j < parameters.size(); j++) {
+                source.append((j == 0) ? "" : ", ").append(typeName(parameters.get(j).asType())).append(".class");
+            }
+            source.append("};\n\n");
+        }
+
+        source.append("    @Override\n")
+                .append("    public java.util.Optional<pw.stamina.mandate.execution.executable.CommandInvoker> bind(final String methodName, final Class<?>[] parameterTypes, final Object methodParent) {\n");
+        for (int i = 0; i < methods.size(); i++) {
+            final ExecutableElement method = methods.get(i);
+            final boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+            source.append("        if (\"").append(method.getSimpleName()).append("\".equals(methodName) && java.util.Arrays.equals(SIGNATURE_").append(i).append(", parameterTypes)) {\n");
+            if (!isStatic) {
+                source.append("            final ").append(containerName).append(" target = (").append(containerName).append(") methodParent;\n");
+            }
+            source.append("            return java.util.Optional.of(arguments -> ").append(isStatic ? containerName : "target").append('.').append(method.getSimpleName()).append('(');
+            final List<? extends VariableElement> parameters = method.getParameters();
+            for (int j = 0; j < parameters.size(); j++) {
+                source.append((j == 0) ? "" : ", ").append('(').append(typeName(parameters.get(j).asType())).append(") arguments[").append(j).append(']');
+            }
+            source.append("));\n        }\n");
+        }
+        source.append("        return java.util.Optional.empty();\n    }\n}\n");
+
+        try (final Writer writer = processingEnv.getFiler().createSourceFile(qualifiedDispatcherName, container).openWriter()) {
+            writer.write(source.toString());
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write command dispatcher " + qualifiedDispatcherName + ": " + e.getMessage(), container);
+        }
+    }
+
+    private String typeName(final TypeMirror type) {
+        final TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind().isPrimitive() || erasure.getKind() == TypeKind.VOID) {
+            return erasure.getKind().name().toLowerCase(Locale.ROOT);
+        } else if (erasure.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erasure).getComponentType()) + "[]";
+        } else if (erasure.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+        }
+        return erasure.toString();
+    }
+}
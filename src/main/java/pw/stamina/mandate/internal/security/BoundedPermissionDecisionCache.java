@@ -0,0 +1,168 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.security;
+
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionDecisionCache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link PermissionDecisionCache PermissionDecisionCache} holding at most a fixed number of decisions. Cached decisions
+ * are looked up without locking; new decisions are recorded under a lock, so the cache never grows past its capacity.
+ * <p>
+ * Once the cache is full, a decision is evicted for every new one by the CLOCK policy: the slots of the cached
+ * decisions are swept in turn, sparing each decision that was used since the sweep last passed it. Decisions made for
+ * an outdated version are replaced in place.
+ *
+ * @author Mark Johnson
+ */
+public final class BoundedPermissionDecisionCache implements PermissionDecisionCache {
+
+    private static final int INITIAL_SLOTS = 16;
+
+    private final Map<Permission, Decision> decisions = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final int capacity;
+
+    /**
+     * The permission cached in each slot, grown up to the capacity as decisions are recorded. Guarded by this cache.
+     */
+    private Permission[] slots;
+
+    private int size;
+
+    private int hand;
+
+    public BoundedPermissionDecisionCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Capacity must be positive, was %d", capacity));
+        }
+        this.capacity = capacity;
+        this.slots = new Permission[Math.min(capacity, INITIAL_SLOTS)];
+    }
+
+    @Override
+    public boolean isPermitted(final Permission permission, final long version, final Predicate<Permission> evaluator) {
+        final Decision cached = decisions.get(permission);
+        if (cached != null && cached.version == version) {
+            hits.increment();
+            // only written when it changes, so that hits on a shared decision do not keep invalidating its cache line
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            return cached.permitted;
+        }
+
+        misses.increment();
+        final boolean permitted = evaluator.test(permission);
+        record(permission, permitted, version);
+        return permitted;
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        decisions.clear();
+        Arrays.fill(slots, null);
+        size = 0;
+        hand = 0;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached decisions, which never exceeds the capacity of this cache
+     */
+    public int size() {
+        return decisions.size();
+    }
+
+    private synchronized void record(final Permission permission, final boolean permitted, final long version) {
+        final Decision existing = decisions.get(permission);
+        if (existing != null) {
+            // a concurrent check may already have recorded a decision for a newer version
+            if (existing.version <= version) {
+                decisions.put(permission, new Decision(permitted, version, existing.slot));
+            }
+            return;
+        }
+
+        final int slot;
+        if (size < capacity) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, Math.min(capacity, size * 2));
+            }
+            slot = size++;
+        } else {
+            slot = sweep();
+            decisions.remove(slots[slot]);
+        }
+        slots[slot] = permission;
+        decisions.put(permission, new Decision(permitted, version, slot));
+    }
+
+    /**
+     * Advances the clock hand to the next decision that was not used since the hand last passed it, clearing the
+     * mark of every decision it passes on the way, and returns its slot
+     */
+    private int sweep() {
+        while (true) {
+            final int slot = hand;
+            hand = (hand + 1 == capacity) ? 0 : hand + 1;
+
+            final Decision decision = decisions.get(slots[slot]);
+            if (!decision.referenced) {
+                return slot;
+            }
+            decision.referenced = false;
+        }
+    }
+
+    private static final class Decision {
+        private final boolean permitted;
+
+        private final long version;
+
+        private final int slot;
+
+        private volatile boolean referenced;
+
+        private Decision(final boolean permitted, final long version, final int slot) {
+            this.permitted = permitted;
+            this.version = version;
+            this.slot = slot;
+        }
+    }
+}
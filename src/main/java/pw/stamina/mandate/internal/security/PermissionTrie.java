@@ -0,0 +1,204 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.security;
+
+import pw.stamina.mandate.security.Permission;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable set of permissions, stored as a trie of their dot-separated segments. Segments are interned while the
+ * trie is built, and a {@link Permission#WILDCARD wildcard} segment is stored as a dedicated child of its parent node.
+ * <p>
+ * A permission is implied by the trie if one of the permissions it was built from is compatible with it, comparing
+ * both segment by segment until either of them runs out of segments. Two segments are compatible if they are equal,
+ * or if the segment of the held permission is a wildcard. Segments are split like {@link String#split(String) split}
+ * would split them on a dot, so trailing empty segments are ignored.
+ * <p>
+ * Checking a permission walks its name once, looking children up by the region of the name that makes up a segment,
+ * so no strings are allocated. Only wildcard nodes can cause the walk to branch.
+ *
+ * @author Mark Johnson
+ */
+final class PermissionTrie {
+
+    private static final String WILDCARD_SEGMENT = Permission.WILDCARD.getRawName();
+
+    /**
+     * The trie of an empty set of permissions, shared by every sender that holds none
+     */
+    static final PermissionTrie EMPTY = new PermissionTrie(null);
+
+    private final Node root;
+
+    private PermissionTrie(final Node root) {
+        this.root = root;
+    }
+
+    static PermissionTrie of(final Collection<Permission> permissions) {
+        if (permissions.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Map<String, String> internedSegments = new HashMap<>();
+        final Node root = new Node();
+        for (final Permission permission : permissions) {
+            final String name = permission.getRawName();
+            final int end = segmentsEnd(name);
+
+            Node node = root;
+            int start = 0;
+            while (start <= end) {
+                final int segmentEnd = segmentEnd(name, start, end);
+                final String segment = internedSegments.computeIfAbsent(name.substring(start, segmentEnd), s -> s);
+                node = segment.equals(WILDCARD_SEGMENT) ? node.wildcardChild() : node.child(segment);
+                start = segmentEnd + 1;
+            }
+            node.terminal = true;
+        }
+        return new PermissionTrie(root);
+    }
+
+    boolean implies(final Permission permission) {
+        if (root == null) {
+            return false;
+        }
+        final String name = permission.getRawName();
+        return implies(root, name, 0, segmentsEnd(name));
+    }
+
+    private static boolean implies(final Node node, final String name, final int start, final int end) {
+        // either a held permission ran out of segments, or the requested one did while a held one was still compatible
+        if (node.terminal || start > end) {
+            return true;
+        }
+
+        final int segmentEnd = segmentEnd(name, start, end);
+        final Node exactChild = node.find(name, start, segmentEnd);
+        if (exactChild != null && implies(exactChild, name, segmentEnd + 1, end)) {
+            return true;
+        }
+        return node.wildcard != null && implies(node.wildcard, name, segmentEnd + 1, end);
+    }
+
+    /**
+     * Returns the end of the last segment of a permission name, ignoring trailing empty segments, or -1 if the name has no
+     * segments at all
+     */
+    private static int segmentsEnd(final String name) {
+        if (name.isEmpty()) {
+            return 0;
+        }
+        int end = name.length();
+        while (end > 0 && name.charAt(end - 1) == '.') {
+            end--;
+        }
+        return (end == 0) ? -1 : end;
+    }
+
+    private static int segmentEnd(final String name, final int start, final int end) {
+        final int dot = name.indexOf('.', start);
+        return (dot < 0 || dot > end) ? end : dot;
+    }
+
+    /**
+     * A node of the trie, whose children are kept in an open-addressed table so that they can be looked up by a region
+     * of a permission name instead of a substring of it
+     */
+    private static final class Node {
+        private String[] keys = new String[4];
+
+        private Node[] children = new Node[4];
+
+        private int size;
+
+        private Node wildcard;
+
+        private boolean terminal;
+
+        Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        Node child(final String segment) {
+            final Node existing = find(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            final Node child = new Node();
+            insert(segment, child);
+            return child;
+        }
+
+        Node find(final String name, final int start, final int end) {
+            final int length = end - start;
+            final int mask = keys.length - 1;
+            for (int slot = hash(name, start, end) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                final String key = keys[slot];
+                if (key.length() == length && key.regionMatches(0, name, start, length)) {
+                    return children[slot];
+                }
+            }
+            return null;
+        }
+
+        private void insert(final String segment, final Node child) {
+            final int mask = keys.length - 1;
+            int slot = segment.hashCode() & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = segment;
+            children[slot] = child;
+            size++;
+        }
+
+        private void resize() {
+            final String[] oldKeys = keys;
+            final Node[] oldChildren = children;
+            keys = new String[oldKeys.length * 2];
+            children = new Node[oldChildren.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+
+        /**
+         * Computes the same hash as {@link String#hashCode()} would for the given region of name
+         */
+        private static int hash(final String name, final int start, final int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + name.charAt(i);
+            }
+            return hash;
+        }
+    }
+}
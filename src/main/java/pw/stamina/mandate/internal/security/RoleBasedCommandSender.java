@@ -0,0 +1,74 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.security;
+
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionRole;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A CommandSender which is a member of a number of {@link PermissionRole roles}. The roles, and the permissions they
+ * grant, are shared with every other member; the sender itself only holds the permissions granted to it beyond those
+ * of its roles, which may be {@link #grant(Permission) granted} and {@link #revoke(Permission) revoked} as with a
+ * {@link SimpleCommandSender SimpleCommandSender}.
+ * <p>
+ * Checking a role-based sender only walks the tries of its overrides and its roles, so by default it caches no
+ * decisions; a sender without overrides then holds little more than the array of its roles.
+ *
+ * @author Mark Johnson
+ */
+public class RoleBasedCommandSender extends SimpleCommandSender {
+
+    private final PermissionRole[] roles;
+
+    public RoleBasedCommandSender(final Collection<PermissionRole> roles, final Set<Permission> overrides) {
+        this(roles, overrides, 0);
+    }
+
+    /**
+     * @param roles the roles the sender is a member of
+     * @param overrides the permissions granted to the sender beyond those of its roles
+     * @param decisionCacheCapacity the number of decisions the sender may cache, or zero to not cache any decisions
+     */
+    public RoleBasedCommandSender(final Collection<PermissionRole> roles, final Set<Permission> overrides, final int decisionCacheCapacity) {
+        super(overrides, decisionCacheCapacity);
+        this.roles = roles.toArray(new PermissionRole[0]);
+    }
+
+    public List<PermissionRole> getRoles() {
+        return Arrays.asList(roles.clone());
+    }
+
+    @Override
+    protected boolean isImplied(final Permission permission) {
+        if (super.isImplied(permission)) {
+            return true;
+        }
+        for (final PermissionRole role : roles) {
+            if (role.implies(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
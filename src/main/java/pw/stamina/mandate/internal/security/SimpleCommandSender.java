@@ -20,46 +20,107 @@ package pw.stamina.mandate.internal.security;
 
 import pw.stamina.mandate.security.CommandSender;
 import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionDecisionCache;
 
-import java.util.*;
-import java.util.regex.Pattern;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 
 /**
+ * A CommandSender holding a set of permissions. The permissions are copied into a {@link PermissionTrie PermissionTrie}
+ * when the sender is created, so later changes to the given set do not affect the sender; permissions may instead be
+ * {@link #grant(Permission) granted} and {@link #revoke(Permission) revoked} through the sender itself.
+ * <p>
+ * Decisions are cached in a {@link PermissionDecisionCache PermissionDecisionCache}, which is invalidated by bumping
+ * the version of the sender's grants whenever they change. The cache may be disabled by giving it a capacity of zero.
+ * Senders created without any permissions share a single empty trie, and only allocate a set for their grants once
+ * a permission is granted to them.
+ *
  * @author Mark Johnson
  */
 public class SimpleCommandSender implements CommandSender {
+    private static final int DEFAULT_DECISION_CACHE_CAPACITY = 256;
+
+    private Set<Permission> grantedPermissions;
+
+    private final PermissionDecisionCache decisionCache;
 
-    private final Set<Permission> permissions;
+    private volatile PermissionTrie permissions;
+
+    private volatile long version;
 
     public SimpleCommandSender(final Set<Permission> permissions) {
-        this.permissions = permissions;
+        this(permissions, DEFAULT_DECISION_CACHE_CAPACITY);
+    }
+
+    /**
+     * @param permissions the permissions initially granted to the sender
+     * @param decisionCacheCapacity the number of decisions the sender may cache, or zero to not cache any decisions
+     */
+    public SimpleCommandSender(final Set<Permission> permissions, final int decisionCacheCapacity) {
+        if (decisionCacheCapacity < 0) {
+            throw new IllegalArgumentException(String.format("Capacity must not be negative, was %d", decisionCacheCapacity));
+        }
+        this.grantedPermissions = permissions.isEmpty() ? null : new HashSet<>(permissions);
+        this.decisionCache = (decisionCacheCapacity == 0) ? null : new BoundedPermissionDecisionCache(decisionCacheCapacity);
+        this.permissions = permissions.isEmpty() ? PermissionTrie.EMPTY : PermissionTrie.of(grantedPermissions);
     }
 
     @Override
     public boolean hasPermission(Permission permission) {
-        if (permissions.contains(permission)) {
-            return true;
-        }
-        final List<String> lookupPermissionBlocks = Arrays.asList(permission.getRawName().split(Pattern.quote(".")));
-        for (final Permission presentPermission : permissions) {
-            final List<String> presentPermissionBlocks = Arrays.asList(presentPermission.getRawName().split(Pattern.quote(".")));
-            if (arePermissionBlocksCompatible(lookupPermissionBlocks.iterator(), presentPermissionBlocks.iterator())) {
-               return true;
-            }
+        if (decisionCache == null) {
+            return isImplied(permission);
         }
-        return false;
+        // the version is read before the trie, as the trie is replaced before the version is bumped
+        return decisionCache.isPermitted(permission, version, this::isImplied);
     }
 
-    private static boolean arePermissionBlocksCompatible(final Iterator<String> lookupIterator, final Iterator<String> presentIterator) {
-        while (lookupIterator.hasNext() && presentIterator.hasNext()) {
-            final String lookupBlock = lookupIterator.next();
-            final String presentBlock = presentIterator.next();
+    @Override
+    public Optional<PermissionDecisionCache> getDecisionCache() {
+        return Optional.ofNullable(decisionCache);
+    }
 
-            if (!lookupBlock.equals(presentBlock) && !presentBlock.equals(Permission.WILDCARD.getRawName())) {
-                return false;
-            }
+    /**
+     * Grants a permission to this sender
+     *
+     * @param permission the permission to grant
+     * @return {@code true} if the permission had not been granted to this sender yet, else {@code false}
+     */
+    public synchronized boolean grant(final Permission permission) {
+        if (grantedPermissions == null) {
+            grantedPermissions = new HashSet<>();
         }
-        return true;
+        return grantedPermissions.add(permission) && updatePermissions();
+    }
+
+    /**
+     * Revokes a permission from this sender. Permissions implied by other granted permissions, such as through
+     * wildcards, remain implied.
+     *
+     * @param permission the permission to revoke
+     * @return {@code true} if the permission had been granted to this sender, else {@code false}
+     */
+    public synchronized boolean revoke(final Permission permission) {
+        return grantedPermissions != null && grantedPermissions.remove(permission) && updatePermissions();
+    }
+
+    public long getVersion() {
+        return version;
     }
 
+    /**
+     * Determines if the permissions granted to this sender imply the given permission, bypassing the decision cache
+     *
+     * @param permission the permission to check for
+     * @return {@code true} if the permission is implied, else {@code false}
+     */
+    protected boolean isImplied(final Permission permission) {
+        return permissions.implies(permission);
+    }
+
+    private boolean updatePermissions() {
+        permissions = PermissionTrie.of(grantedPermissions);
+        version++;
+        return true;
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.security;
+
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionRole;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Mark Johnson
+ */
+final class SimplePermissionRole implements PermissionRole {
+
+    private final String name;
+
+    private final List<PermissionRole> parents;
+
+    private final Set<Permission> permissions;
+
+    private final Set<Permission> effectivePermissions;
+
+    private final PermissionTrie effectivePermissionTrie;
+
+    SimplePermissionRole(final String name, final List<PermissionRole> parents, final Set<Permission> permissions, final Set<Permission> effectivePermissions) {
+        this.name = name;
+        this.parents = parents;
+        this.permissions = permissions;
+        this.effectivePermissions = effectivePermissions;
+        this.effectivePermissionTrie = PermissionTrie.of(effectivePermissions);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<PermissionRole> getParents() {
+        return parents;
+    }
+
+    @Override
+    public Set<Permission> getPermissions() {
+        return permissions;
+    }
+
+    @Override
+    public Set<Permission> getEffectivePermissions() {
+        return effectivePermissions;
+    }
+
+    @Override
+    public boolean implies(final Permission permission) {
+        return effectivePermissionTrie.implies(permission);
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionRole{" +
+                "name='" + name + '\'' +
+                '}';
+    }
+}
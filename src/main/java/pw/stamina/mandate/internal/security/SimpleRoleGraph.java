@@ -0,0 +1,57 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.security;
+
+import pw.stamina.mandate.security.CommandSender;
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionRole;
+import pw.stamina.mandate.security.RoleGraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * @author Mark Johnson
+ */
+public class SimpleRoleGraph implements RoleGraph {
+
+    private final Map<String, PermissionRole> roles;
+
+    public SimpleRoleGraph(final Map<String, PermissionRole> roles) {
+        this.roles = roles;
+    }
+
+    @Override
+    public Optional<PermissionRole> findRole(final String name) {
+        return Optional.ofNullable(roles.get(name));
+    }
+
+    @Override
+    public CommandSender newSender(final Collection<String> roleNames, final Set<Permission> overrides) {
+        final List<PermissionRole> memberRoles = new ArrayList<>(roleNames.size());
+        for (final String roleName : roleNames) {
+            memberRoles.add(findRole(roleName).orElseThrow(() -> new IllegalArgumentException(String.format("Role %s is not present in this graph", roleName))));
+        }
+        return new RoleBasedCommandSender(memberRoles, overrides);
+    }
+}
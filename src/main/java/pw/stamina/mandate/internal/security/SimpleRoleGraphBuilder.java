@@ -0,0 +1,104 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.security;
+
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionRole;
+import pw.stamina.mandate.security.RoleGraph;
+import pw.stamina.mandate.security.RoleGraphBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Mark Johnson
+ */
+public class SimpleRoleGraphBuilder implements RoleGraphBuilder {
+
+    private final Map<String, RoleDefinition> definitions = new LinkedHashMap<>();
+
+    @Override
+    public RoleGraphBuilder addRole(final String name, final Set<Permission> permissions, final String... parents) {
+        checkPrecondition(!definitions.containsKey(name), String.format("Role %s has already been added", name));
+        definitions.put(name, new RoleDefinition(new HashSet<>(permissions), Arrays.asList(parents)));
+        return this;
+    }
+
+    @Override
+    public RoleGraph build() {
+        final Map<String, PermissionRole> roles = new HashMap<>();
+        for (final String name : definitions.keySet()) {
+            resolve(name, roles, new LinkedHashSet<>());
+        }
+        return new SimpleRoleGraph(roles);
+    }
+
+    /**
+     * Resolves a role after resolving every role it inherits from, so that the effective permissions of each role
+     * are computed exactly once
+     */
+    private PermissionRole resolve(final String name, final Map<String, PermissionRole> roles, final Set<String> path) {
+        final PermissionRole resolved = roles.get(name);
+        if (resolved != null) {
+            return resolved;
+        }
+        checkPrecondition(path.add(name), String.format("Roles %s inherit from each other in a cycle", path));
+
+        final RoleDefinition definition = definitions.get(name);
+        final List<PermissionRole> parents = new ArrayList<>(definition.parents.size());
+        final Set<Permission> effectivePermissions = new HashSet<>(definition.permissions);
+        for (final String parentName : definition.parents) {
+            checkPrecondition(definitions.containsKey(parentName), String.format("Role %s inherits from unknown role %s", name, parentName));
+            final PermissionRole parent = resolve(parentName, roles, path);
+            parents.add(parent);
+            effectivePermissions.addAll(parent.getEffectivePermissions());
+        }
+        path.remove(name);
+
+        final PermissionRole role = new SimplePermissionRole(name,
+                Collections.unmodifiableList(parents),
+                Collections.unmodifiableSet(definition.permissions),
+                Collections.unmodifiableSet(effectivePermissions));
+        roles.put(name, role);
+        return role;
+    }
+
+    private static void checkPrecondition(final boolean assertion, final String failureMessage) {
+        if (!assertion) throw new IllegalStateException(failureMessage);
+    }
+
+    private static final class RoleDefinition {
+        private final Set<Permission> permissions;
+
+        private final List<String> parents;
+
+        private RoleDefinition(final Set<Permission> permissions, final List<String> parents) {
+            this.permissions = permissions;
+            this.parents = parents;
+        }
+    }
+}
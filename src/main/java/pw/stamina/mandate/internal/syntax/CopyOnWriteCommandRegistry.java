@@ -0,0 +1,97 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.syntax;
+
+import pw.stamina.mandate.execution.ExecutionContext;
+import pw.stamina.mandate.internal.syntax.component.ImmutableSyntaxTreeDecorator;
+import pw.stamina.mandate.internal.syntax.component.SyntaxTrees;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+import pw.stamina.mandate.syntax.CommandRegistry;
+import pw.stamina.mandate.syntax.ExecutableLookup;
+import pw.stamina.mandate.syntax.SyntaxTree;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A thread-safe CommandRegistry in which lookups read an immutable snapshot of the registered commands without any
+ * locking. Adding a command copies the affected syntax root, merges the new command into the copy, and atomically
+ * publishes a new snapshot containing it; syntax trees are never mutated once they have been published. Writers are
+ * serialized by the registry's lock, so each snapshot is built from the one published before it.
+ *
+ * @author Mark Johnson
+ */
+public class CopyOnWriteCommandRegistry implements CommandRegistry {
+
+    private volatile Map<String, SyntaxTree> registeredCommands = Collections.emptyMap();
+
+    private volatile FrozenCommandTable frozenCommands;
+
+    @Override
+    public Set<SyntaxTree> getCommands() {
+        return Collections.unmodifiableSet(registeredCommands.values().stream().map(ImmutableSyntaxTreeDecorator::new).collect(Collectors.toSet()));
+    }
+
+    @Override
+    public synchronized void addCommand(final SyntaxTree component) {
+        checkNotFrozen();
+        final SyntaxTree addition = SyntaxTrees.copyOf(component);
+        final Map<String, SyntaxTree> snapshot = new HashMap<>(registeredCommands);
+        final SyntaxTree old;
+        if ((old = snapshot.get(addition.getSyntax())) == null) {
+            snapshot.put(addition.getSyntax(), addition);
+        } else {
+            final SyntaxTree merged = SyntaxTrees.copyOf(old);
+            SyntaxTrees.merge(addition, merged);
+            snapshot.put(merged.getSyntax(), merged);
+        }
+        registeredCommands = Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public ExecutableLookup findExecutable(final Deque<CommandArgument> arguments, final ExecutionContext executionContext) {
+        final FrozenCommandTable frozenCommands = this.frozenCommands;
+        if (frozenCommands != null) {
+            return frozenCommands.findExecutable(arguments);
+        }
+        return SyntaxTreeLookup.findExecutable(registeredCommands.get(arguments.getFirst().getRaw()), arguments);
+    }
+
+    @Override
+    public boolean commandPresent(final String command) {
+        final FrozenCommandTable frozenCommands = this.frozenCommands;
+        if (frozenCommands != null) {
+            return frozenCommands.commandPresent(command);
+        }
+        return registeredCommands.containsKey(command);
+    }
+
+    @Override
+    public synchronized void freeze() {
+        if (frozenCommands == null) {
+            frozenCommands = new FrozenCommandTable(registeredCommands.values());
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozenCommands != null) {
+            throw new IllegalStateException("Commands cannot be added to a registry once it has been frozen");
+        }
+    }
+}
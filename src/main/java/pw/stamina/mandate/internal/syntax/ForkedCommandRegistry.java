@@ -65,4 +65,10 @@ public class ForkedCommandRegistry implements CommandRegistry {
     public boolean commandPresent(final String command) {
         return thisRegistry.commandPresent(command) || forkedRegistry.commandPresent(command);
     }
+
+    @Override
+    public void freeze() {
+        thisRegistry.freeze();
+        forkedRegistry.freeze();
+    }
 }
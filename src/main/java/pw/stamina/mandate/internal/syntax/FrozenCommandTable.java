@@ -0,0 +1,170 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.syntax;
+
+import pw.stamina.mandate.execution.executable.CommandExecutable;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+import pw.stamina.mandate.syntax.ExecutableLookup;
+import pw.stamina.mandate.syntax.SyntaxTree;
+
+import java.util.*;
+
+/**
+ * A read-only compilation of a syntax forest, in which every level stores its syntax in a sorted array searched by
+ * bisection, and every node stores its executables in flat arrays indexed by the number of arguments they accept.
+ * Successful lookups against a table do not allocate: the lookup result for each executable is created once, when
+ * the table is compiled.
+ *
+ * @author Mark Johnson
+ */
+final class FrozenCommandTable {
+
+    private static final int MAXIMUM_INDEXED_ARITY = 255;
+
+    private final String[] rootSyntax;
+
+    private final Node[] roots;
+
+    FrozenCommandTable(final Collection<SyntaxTree> commands) {
+        final SyntaxTree[] sorted = sort(commands);
+        this.rootSyntax = new String[sorted.length];
+        this.roots = new Node[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            rootSyntax[i] = sorted[i].getSyntax();
+            roots[i] = new Node(sorted[i]);
+        }
+    }
+
+    boolean commandPresent(final String command) {
+        return Arrays.binarySearch(rootSyntax, command) >= 0;
+    }
+
+    ExecutableLookup findExecutable(final Deque<CommandArgument> arguments) {
+        final int argumentCount = arguments.size();
+        final Iterator<CommandArgument> it = arguments.iterator();
+        final CommandArgument command = it.next();
+
+        Node currentNode = find(rootSyntax, roots, command.getRaw());
+        if (currentNode == null) {
+            return new SimpleExecutableLookup(null, new InputParsingException(String.format("'%s' is not a valid command", command)));
+        }
+
+        int depth = 0;
+        for (int consumed = 1; ; consumed++) {
+            final int remaining = argumentCount - consumed;
+            final ExecutableLookup lookup = currentNode.findLookup(remaining);
+            if (lookup != null) {
+                for (int i = 0; i < consumed; i++) {
+                    arguments.poll();
+                }
+                return lookup;
+            } else if (currentNode.lowestMinimumArguments >= 0) {
+                depth += currentNode.lowestMinimumArguments;
+            }
+
+            final Node child = (remaining > 0) ? find(currentNode.childSyntax, currentNode.children, it.next().getRaw()) : null;
+            if (child != null) {
+                depth++;
+                currentNode = child;
+            } else {
+                final List<CommandArgument> consumedArgs = new ArrayList<>(arguments);
+                if (++depth <= consumedArgs.size()) {
+                    return new SimpleExecutableLookup(null, new InputParsingException(String.format("Invalid argument(s) '%s' passed to command '%s'", consumedArgs.subList(depth, consumedArgs.size()), consumedArgs.subList(0, depth))));
+                } else {
+                    return new SimpleExecutableLookup(null, new InputParsingException(String.format("Missing %d argument(s) for command '%s'", depth - consumedArgs.size(), consumedArgs)));
+                }
+            }
+        }
+    }
+
+    private static Node find(final String[] syntax, final Node[] nodes, final String key) {
+        final int index = Arrays.binarySearch(syntax, key);
+        return (index >= 0) ? nodes[index] : null;
+    }
+
+    private static SyntaxTree[] sort(final Collection<SyntaxTree> trees) {
+        final SyntaxTree[] sorted = trees.toArray(new SyntaxTree[trees.size()]);
+        Arrays.sort(sorted, Comparator.comparing(SyntaxTree::getSyntax));
+        return sorted;
+    }
+
+    private static final class Node {
+        private final String[] childSyntax;
+
+        private final Node[] children;
+
+        private final ExecutableLookup[] lookupsByArity;
+
+        private final ExecutableLookup[] lookups;
+
+        private final int[] minimumArguments;
+
+        private final int[] maximumArguments;
+
+        private final int lowestMinimumArguments;
+
+        private Node(final SyntaxTree tree) {
+            final SyntaxTree[] sorted = sort(tree.findChildren().orElse(Collections.emptySet()));
+            this.childSyntax = new String[sorted.length];
+            this.children = new Node[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                childSyntax[i] = sorted[i].getSyntax();
+                children[i] = new Node(sorted[i]);
+            }
+
+            final CommandExecutable[] executables = tree.findExecutables()
+                    .map(set -> set.toArray(new CommandExecutable[set.size()]))
+                    .orElseGet(() -> new CommandExecutable[0]);
+            this.lookups = new ExecutableLookup[executables.length];
+            this.minimumArguments = new int[executables.length];
+            this.maximumArguments = new int[executables.length];
+
+            int lowestMinimumArguments = -1, highestArity = -1;
+            for (int i = 0; i < executables.length; i++) {
+                lookups[i] = new SimpleExecutableLookup(executables[i]);
+                minimumArguments[i] = executables[i].minimumArguments();
+                maximumArguments[i] = executables[i].maximumArguments();
+                lowestMinimumArguments = (lowestMinimumArguments < 0) ? minimumArguments[i] : Math.min(lowestMinimumArguments, minimumArguments[i]);
+                highestArity = Math.max(highestArity, maximumArguments[i]);
+            }
+            this.lowestMinimumArguments = lowestMinimumArguments;
+
+            this.lookupsByArity = new ExecutableLookup[Math.min(highestArity, MAXIMUM_INDEXED_ARITY) + 1];
+            for (int i = executables.length - 1; i >= 0; i--) {
+                for (int arity = Math.max(minimumArguments[i], 0); arity <= maximumArguments[i] && arity < lookupsByArity.length; arity++) {
+                    lookupsByArity[arity] = lookups[i];
+                }
+            }
+        }
+
+        private ExecutableLookup findLookup(final int argumentCount) {
+            if (argumentCount < lookupsByArity.length) {
+                return lookupsByArity[argumentCount];
+            }
+
+            for (int i = 0; i < lookups.length; i++) {
+                if (argumentCount >= minimumArguments[i] && argumentCount <= maximumArguments[i]) {
+                    return lookups[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -19,10 +19,9 @@
 package pw.stamina.mandate.internal.syntax;
 
 import pw.stamina.mandate.execution.ExecutionContext;
-import pw.stamina.mandate.execution.executable.CommandExecutable;
 import pw.stamina.mandate.internal.syntax.component.ImmutableSyntaxTreeDecorator;
+import pw.stamina.mandate.internal.syntax.component.SyntaxTrees;
 import pw.stamina.mandate.parsing.argument.CommandArgument;
-import pw.stamina.mandate.parsing.InputParsingException;
 import pw.stamina.mandate.syntax.CommandRegistry;
 import pw.stamina.mandate.syntax.ExecutableLookup;
 import pw.stamina.mandate.syntax.SyntaxTree;
@@ -37,6 +36,8 @@ public class SimpleCommandRegistry implements CommandRegistry {
 
     private final Map<String, SyntaxTree> registeredCommands = new HashMap<>();
 
+    private volatile FrozenCommandTable frozenCommands;
+
     @Override
     public Set<SyntaxTree> getCommands() {
         return Collections.unmodifiableSet(registeredCommands.values().stream().map(ImmutableSyntaxTreeDecorator::new).collect(Collectors.toSet()));
@@ -44,55 +45,22 @@ public class SimpleCommandRegistry implements CommandRegistry {
 
     @Override
     public void addCommand(final SyntaxTree component) {
+        checkNotFrozen();
         final SyntaxTree old;
         if ((old = registeredCommands.get(component.getSyntax())) == null) {
             registeredCommands.put(component.getSyntax(), component);
         } else {
-            mergeSyntaxComponent(component, old);
+            SyntaxTrees.merge(component, old);
         }
     }
 
     @Override
     public ExecutableLookup findExecutable(final Deque<CommandArgument> arguments, final ExecutionContext executionContext) {
-        int depth = 0;
-        final List<CommandArgument> consumedArgs = new ArrayList<>();
-        SyntaxTree currentComponent;
-        CommandArgument currentArgument;
-        if ((currentComponent = registeredCommands.get((currentArgument = arguments.getFirst()).getRaw())) != null) {
-
-            while ((currentArgument = arguments.poll()) != null) {
-                consumedArgs.add(currentArgument);
-                if (currentComponent.findExecutables().isPresent()) {
-
-                    int lowestConsumed = Integer.MAX_VALUE;
-                    for (final CommandExecutable executable : currentComponent.findExecutables().get()) {
-                        if (arguments.size() >= executable.minimumArguments() && arguments.size() <= executable.maximumArguments()) {
-                            return new SimpleExecutableLookup(executable);
-                        } else {
-                            lowestConsumed = lowestConsumed > executable.minimumArguments() ? executable.minimumArguments() : lowestConsumed;
-                        }
-                    }
-                    if (lowestConsumed != Integer.MAX_VALUE) {
-                        depth += lowestConsumed;
-                    }
-                }
-                final Optional<SyntaxTree> tokenLookup;
-                if (!arguments.isEmpty() && (tokenLookup = currentComponent.findChild(arguments.getFirst().getRaw())).isPresent()) {
-                    depth++;
-                    currentComponent = tokenLookup.get();
-                } else {
-                    consumedArgs.addAll(arguments);
-                    if (++depth <= consumedArgs.size()) {
-                        return new SimpleExecutableLookup(null, new InputParsingException(String.format("Invalid argument(s) '%s' passed to command '%s'", consumedArgs.subList(depth, consumedArgs.size()), consumedArgs.subList(0, depth))));
-                    } else {
-                        return new SimpleExecutableLookup(null, new InputParsingException(String.format("Missing %d argument(s) for command '%s'", depth - consumedArgs.size(), consumedArgs)));
-                    }
-                }
-            }
-            return new SimpleExecutableLookup(null, new IllegalStateException("No possible arguments available to parse"));
-        } else {
-            return new SimpleExecutableLookup(null, new InputParsingException(String.format("'%s' is not a valid command", currentArgument)));
+        final FrozenCommandTable frozenCommands = this.frozenCommands;
+        if (frozenCommands != null) {
+            return frozenCommands.findExecutable(arguments);
         }
+        return SyntaxTreeLookup.findExecutable(registeredCommands.get(arguments.getFirst().getRaw()), arguments);
     }
 
     @Override
@@ -100,17 +68,16 @@ public class SimpleCommandRegistry implements CommandRegistry {
         return registeredCommands.containsKey(command);
     }
 
-    private static void mergeSyntaxComponent(final SyntaxTree newComponent, final SyntaxTree oldComponent) {
-        Optional<SyntaxTree> lookup;
-        newComponent.findExecutables().ifPresent(set -> set.forEach(oldComponent::addExecutable));
-        if (newComponent.findChildren().isPresent()) {
-            for (final SyntaxTree component : newComponent.findChildren().get()) {
-                if ((lookup = oldComponent.findChild(component.getSyntax())).isPresent()) {
-                    mergeSyntaxComponent(component, lookup.get());
-                } else {
-                    oldComponent.addChild(component);
-                }
-            }
+    @Override
+    public void freeze() {
+        if (frozenCommands == null) {
+            frozenCommands = new FrozenCommandTable(registeredCommands.values());
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozenCommands != null) {
+            throw new IllegalStateException("Commands cannot be added to a registry once it has been frozen");
         }
     }
 }
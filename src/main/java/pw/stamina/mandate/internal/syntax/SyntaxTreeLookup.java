@@ -0,0 +1,78 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.syntax;
+
+import pw.stamina.mandate.execution.executable.CommandExecutable;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+import pw.stamina.mandate.syntax.ExecutableLookup;
+import pw.stamina.mandate.syntax.SyntaxTree;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Mark Johnson
+ */
+final class SyntaxTreeLookup {
+
+    private SyntaxTreeLookup() {}
+
+    static ExecutableLookup findExecutable(final SyntaxTree root, final Deque<CommandArgument> arguments) {
+        int depth = 0;
+        final List<CommandArgument> consumedArgs = new ArrayList<>();
+        SyntaxTree currentComponent;
+        CommandArgument currentArgument = arguments.getFirst();
+        if ((currentComponent = root) != null) {
+
+            while ((currentArgument = arguments.poll()) != null) {
+                consumedArgs.add(currentArgument);
+                final Optional<CommandExecutable> executableLookup = currentComponent.findExecutable(arguments.size());
+                if (executableLookup.isPresent()) {
+                    return new SimpleExecutableLookup(executableLookup.get());
+                } else if (currentComponent.findExecutables().isPresent()) {
+                    int lowestConsumed = Integer.MAX_VALUE;
+                    for (final CommandExecutable executable : currentComponent.findExecutables().get()) {
+                        lowestConsumed = lowestConsumed > executable.minimumArguments() ? executable.minimumArguments() : lowestConsumed;
+                    }
+                    if (lowestConsumed != Integer.MAX_VALUE) {
+                        depth += lowestConsumed;
+                    }
+                }
+                final Optional<SyntaxTree> tokenLookup;
+                if (!arguments.isEmpty() && (tokenLookup = currentComponent.findChild(arguments.getFirst().getRaw())).isPresent()) {
+                    depth++;
+                    currentComponent = tokenLookup.get();
+                } else {
+                    consumedArgs.addAll(arguments);
+                    if (++depth <= consumedArgs.size()) {
+                        return new SimpleExecutableLookup(null, new InputParsingException(String.format("Invalid argument(s) '%s' passed to command '%s'", consumedArgs.subList(depth, consumedArgs.size()), consumedArgs.subList(0, depth))));
+                    } else {
+                        return new SimpleExecutableLookup(null, new InputParsingException(String.format("Missing %d argument(s) for command '%s'", depth - consumedArgs.size(), consumedArgs)));
+                    }
+                }
+            }
+            return new SimpleExecutableLookup(null, new IllegalStateException("No possible arguments available to parse"));
+        } else {
+            return new SimpleExecutableLookup(null, new InputParsingException(String.format("'%s' is not a valid command", currentArgument)));
+        }
+    }
+}
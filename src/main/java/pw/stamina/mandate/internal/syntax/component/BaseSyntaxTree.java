@@ -30,6 +30,7 @@ class BaseSyntaxTree implements SyntaxTree {
     private Map<String, SyntaxTree> childMap;
     private final String syntax;
     private Set<CommandExecutable> executables;
+    private ExecutableArityIndex arityIndex;
 
     BaseSyntaxTree(final String syntax) {
         this(syntax, new CommandExecutable[0]);
@@ -39,6 +40,7 @@ class BaseSyntaxTree implements SyntaxTree {
         this.syntax = syntax;
         if (executables.length > 0) {
             this.executables = new HashSet<>(Arrays.asList(executables));
+            this.arityIndex = new ExecutableArityIndex(this.executables);
         }
     }
 
@@ -66,7 +68,9 @@ class BaseSyntaxTree implements SyntaxTree {
     @Override
     public void addExecutable(final CommandExecutable executable) {
         if (executables == null) executables = new HashSet<>();
-        executables.add(executable);
+        if (executables.add(executable)) {
+            arityIndex = new ExecutableArityIndex(executables);
+        }
     }
 
     @Override
@@ -74,6 +78,11 @@ class BaseSyntaxTree implements SyntaxTree {
         return Optional.ofNullable(executables);
     }
 
+    @Override
+    public Optional<CommandExecutable> findExecutable(final int argumentCount) {
+        return arityIndex != null ? arityIndex.find(argumentCount) : Optional.empty();
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -32,9 +32,10 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * @author Mark Johnson
@@ -42,34 +43,44 @@ import java.util.stream.Collectors;
 public enum DefaultSyntaxTreeFactory implements SyntaxTreeCreationStrategy {
     INSTANCE;
 
+    /**
+     * The syntax of each executable method, read from its annotations once per declaring class. Only the syntax trees
+     * themselves, which are bound to the executable of a single container, are created for every registration.
+     */
+    private static final ClassValue<Map<Method, SyntaxTemplate>> SYNTAX_TEMPLATES = new ClassValue<Map<Method, SyntaxTemplate>>() {
+        @Override
+        protected Map<Method, SyntaxTemplate> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     @Override
     public Set<SyntaxTree> createSyntaxTree(final Method backingMethod, final Object container, final CommandContext commandContext) {
-        Syntax syntax; final String[][] tree; final Set<SyntaxTree> parents;
-        if ((syntax = backingMethod.getDeclaredAnnotation(Syntax.class)) == null && (syntax = backingMethod.getDeclaringClass().getDeclaredAnnotation(Syntax.class)) == null) {
+        final SyntaxTemplate template = SYNTAX_TEMPLATES.get(backingMethod.getDeclaringClass()).computeIfAbsent(backingMethod, SyntaxTemplate::new);
+        if (template.roots == null) {
             throw new MissingSyntaxException("No syntax annotation found for method " + backingMethod.getName() + " annotated as executable.");
         }
 
-        final CommandExecutable executable = createAppropriateCommandExecutable(backingMethod, container, commandContext);
+        final CommandExecutable executable = createAppropriateCommandExecutable(backingMethod, container, commandContext, template.permission);
 
-        if ((tree = treeifySubSyntax(backingMethod.getDeclaredAnnotation(Executes.class).tree())).length > 0) {
-            addSubSyntax(
-                    (parents = Arrays.stream(syntax.root())
-                            .map(BaseSyntaxTree::new)
-                            .collect(Collectors.toCollection(LinkedHashSet::new))
-            ), tree, 0, executable);
+        final Set<SyntaxTree> parents = new LinkedHashSet<>();
+        if (template.tree.length > 0) {
+            for (final String root : template.roots) {
+                parents.add(new BaseSyntaxTree(root));
+            }
+            addSubSyntax(parents, template.tree, 0, executable);
         } else {
-            return Arrays.stream(syntax.root())
-                    .map(s -> new BaseSyntaxTree(s, executable))
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            for (final String root : template.roots) {
+                parents.add(new BaseSyntaxTree(root, executable));
+            }
         }
-
         return parents;
     }
 
-    private static CommandExecutable createAppropriateCommandExecutable(final Method backingMethod, final Object container, final CommandContext commandContext) {
+    private static CommandExecutable createAppropriateCommandExecutable(final Method backingMethod, final Object container, final CommandContext commandContext, final Permission permission) {
         CommandExecutable executable = commandContext.getCommandConfiguration().getExecutableCreationStrategy().newExecutable(backingMethod, container, commandContext);
-        if (backingMethod.isAnnotationPresent(Restricted.class)) {
-            executable = new PermissionValidatingExecutableWrapper(executable, Permission.of(backingMethod.getDeclaredAnnotation(Restricted.class).permission()));
+        if (permission != null) {
+            executable = new PermissionValidatingExecutableWrapper(executable, permission);
         }
         return executable;
     }
@@ -77,14 +88,14 @@ public enum DefaultSyntaxTreeFactory implements SyntaxTreeCreationStrategy {
     private static void addSubSyntax(final Collection<SyntaxTree> syntaxComponents, final String[][] syntaxTree, final int index, final CommandExecutable terminalOp) {
         for (final SyntaxTree component : syntaxComponents) {
             if (index < syntaxTree.length - 1) {
-                Arrays.stream(syntaxTree[index])
-                        .map(BaseSyntaxTree::new)
-                        .forEach(component::addChild);
+                for (final String syntax : syntaxTree[index]) {
+                    component.addChild(new BaseSyntaxTree(syntax));
+                }
                 addSubSyntax(component.findChildren().get(), syntaxTree, index+1, terminalOp);
             } else {
-                Arrays.stream(syntaxTree[index])
-                        .map(s -> new BaseSyntaxTree(s, terminalOp))
-                        .forEach(component::addChild);
+                for (final String syntax : syntaxTree[index]) {
+                    component.addChild(new BaseSyntaxTree(syntax, terminalOp));
+                }
             }
         }
     }
@@ -98,4 +109,26 @@ public enum DefaultSyntaxTreeFactory implements SyntaxTreeCreationStrategy {
     public static DefaultSyntaxTreeFactory getInstance() {
         return INSTANCE;
     }
+
+    private static final class SyntaxTemplate {
+        private final String[] roots;
+
+        private final String[][] tree;
+
+        private final Permission permission;
+
+        private SyntaxTemplate(final Method backingMethod) {
+            Syntax syntax;
+            if ((syntax = backingMethod.getDeclaredAnnotation(Syntax.class)) == null) {
+                syntax = backingMethod.getDeclaringClass().getDeclaredAnnotation(Syntax.class);
+            }
+            this.roots = (syntax != null) ? syntax.root() : null;
+
+            final Executes executes = backingMethod.getDeclaredAnnotation(Executes.class);
+            this.tree = (executes != null) ? treeifySubSyntax(executes.tree()) : null;
+
+            final Restricted restricted = backingMethod.getDeclaredAnnotation(Restricted.class);
+            this.permission = (restricted != null) ? Permission.of(restricted.permission()) : null;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.syntax.component;
+
+import pw.stamina.mandate.execution.executable.CommandExecutable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * An index from a number of arguments to the first of a collection of executables accepting that number of arguments,
+ * in the iteration order of the collection. Argument counts up to {@link #MAXIMUM_INDEXED_ARITY} are resolved with a
+ * single array access; larger counts fall back to scanning the executables.
+ *
+ * @author Mark Johnson
+ */
+final class ExecutableArityIndex {
+
+    static final int MAXIMUM_INDEXED_ARITY = 255;
+
+    private final CommandExecutable[] executables;
+
+    private final int[] minimumArguments;
+
+    private final int[] maximumArguments;
+
+    private final Optional<CommandExecutable>[] executablesByArity;
+
+    private final boolean exceedsIndex;
+
+    @SuppressWarnings("unchecked")
+    ExecutableArityIndex(final Collection<CommandExecutable> executables) {
+        this.executables = executables.toArray(new CommandExecutable[executables.size()]);
+        this.minimumArguments = new int[this.executables.length];
+        this.maximumArguments = new int[this.executables.length];
+
+        int highestArity = -1;
+        for (int i = 0; i < this.executables.length; i++) {
+            minimumArguments[i] = this.executables[i].minimumArguments();
+            maximumArguments[i] = this.executables[i].maximumArguments();
+            highestArity = Math.max(highestArity, maximumArguments[i]);
+        }
+
+        this.exceedsIndex = highestArity > MAXIMUM_INDEXED_ARITY;
+        this.executablesByArity = new Optional[Math.min(highestArity, MAXIMUM_INDEXED_ARITY) + 1];
+        Arrays.fill(executablesByArity, Optional.empty());
+        for (int i = this.executables.length - 1; i >= 0; i--) {
+            final Optional<CommandExecutable> executable = Optional.of(this.executables[i]);
+            for (int arity = Math.max(minimumArguments[i], 0); arity <= maximumArguments[i] && arity < executablesByArity.length; arity++) {
+                executablesByArity[arity] = executable;
+            }
+        }
+    }
+
+    Optional<CommandExecutable> find(final int argumentCount) {
+        if (argumentCount >= 0 && argumentCount < executablesByArity.length) {
+            return executablesByArity[argumentCount];
+        } else if (!exceedsIndex || argumentCount < 0) {
+            return Optional.empty();
+        }
+
+        for (int i = 0; i < executables.length; i++) {
+            if (argumentCount >= minimumArguments[i] && argumentCount <= maximumArguments[i]) {
+                return Optional.of(executables[i]);
+            }
+        }
+        return Optional.empty();
+    }
+}
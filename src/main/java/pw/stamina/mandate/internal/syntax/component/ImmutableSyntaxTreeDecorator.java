@@ -65,4 +65,9 @@ public class ImmutableSyntaxTreeDecorator implements SyntaxTree {
     public Optional<Set<CommandExecutable>> findExecutables() {
         return backingComponent.findExecutables();
     }
+
+    @Override
+    public Optional<CommandExecutable> findExecutable(final int argumentCount) {
+        return backingComponent.findExecutable(argumentCount);
+    }
 }
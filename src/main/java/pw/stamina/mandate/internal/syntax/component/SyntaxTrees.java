@@ -0,0 +1,66 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.syntax.component;
+
+import pw.stamina.mandate.execution.executable.CommandExecutable;
+import pw.stamina.mandate.syntax.SyntaxTree;
+
+import java.util.Optional;
+
+/**
+ * @author Mark Johnson
+ */
+public final class SyntaxTrees {
+
+    private SyntaxTrees() {}
+
+    /**
+     * Creates a deep copy of the provided syntax tree, sharing only its executables
+     *
+     * @param tree the syntax tree to be copied
+     * @return a new, mutable syntax tree structurally identical to the one provided
+     */
+    public static SyntaxTree copyOf(final SyntaxTree tree) {
+        final SyntaxTree copy = new BaseSyntaxTree(tree.getSyntax(), tree.findExecutables()
+                .map(executables -> executables.toArray(new CommandExecutable[executables.size()]))
+                .orElseGet(() -> new CommandExecutable[0]));
+        tree.findChildren().ifPresent(children -> children.forEach(child -> copy.addChild(copyOf(child))));
+        return copy;
+    }
+
+    /**
+     * Merges the children and executables of one syntax tree into another, mutating only the latter
+     *
+     * @param newComponent the syntax tree whose contents should be merged
+     * @param oldComponent the syntax tree the contents should be merged into
+     */
+    public static void merge(final SyntaxTree newComponent, final SyntaxTree oldComponent) {
+        Optional<SyntaxTree> lookup;
+        newComponent.findExecutables().ifPresent(set -> set.forEach(oldComponent::addExecutable));
+        if (newComponent.findChildren().isPresent()) {
+            for (final SyntaxTree component : newComponent.findChildren().get()) {
+                if ((lookup = oldComponent.findChild(component.getSyntax())).isPresent()) {
+                    merge(component, lookup.get());
+                } else {
+                    oldComponent.addChild(component);
+                }
+            }
+        }
+    }
+}
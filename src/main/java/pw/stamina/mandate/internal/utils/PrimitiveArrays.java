@@ -19,24 +19,33 @@
 package pw.stamina.mandate.internal.utils;
 
 import java.lang.reflect.Array;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * @author Mark Johnson
  */
 public final class PrimitiveArrays {
-    private static final Map<Class, Class> UNWRAPPED_TO_WRAPPED_CACHE = new HashMap<>();
-    private static final Map<Class, Class> WRAPPED_TO_UNWRAPPED_CACHE = new HashMap<>();
+    private static final ClassValue<Class> UNWRAPPED_TO_WRAPPED_CACHE = new ClassValue<Class>() {
+        @Override
+        protected Class computeValue(final Class<?> unwrapped) {
+            return Array.newInstance(Primitives.wrap(getBaseComponentType(unwrapped)), getDimensions(unwrapped)).getClass();
+        }
+    };
+
+    private static final ClassValue<Class> WRAPPED_TO_UNWRAPPED_CACHE = new ClassValue<Class>() {
+        @Override
+        protected Class computeValue(final Class<?> wrapped) {
+            return Array.newInstance(Primitives.unwrap(getBaseComponentType(wrapped)), getDimensions(wrapped)).getClass();
+        }
+    };
 
     private PrimitiveArrays() {}
 
     public static Class wrap(final Class unwrapped) {
-        return UNWRAPPED_TO_WRAPPED_CACHE.computeIfAbsent(Primitives.wrap(getBaseComponentType(validateIsArray(unwrapped))), componentType -> Array.newInstance(componentType, getDimensions(unwrapped)).getClass());
+        return UNWRAPPED_TO_WRAPPED_CACHE.get(validateIsArray(unwrapped));
     }
 
     public static Class unwrap(final Class wrapped) {
-        return WRAPPED_TO_UNWRAPPED_CACHE.computeIfAbsent(Primitives.unwrap(getBaseComponentType(validateIsArray(wrapped))), componentType -> Array.newInstance(componentType, getDimensions(wrapped)).getClass());
+        return WRAPPED_TO_UNWRAPPED_CACHE.get(validateIsArray(wrapped));
     }
 
     private static <T> Class<T> validateIsArray(final Class<T> arrayClass) {
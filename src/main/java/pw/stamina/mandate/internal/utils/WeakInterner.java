@@ -0,0 +1,110 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.internal.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe interner which holds its values weakly, so that an interned value is only shared for as long as it
+ * is still referenced elsewhere. Entries whose values have been collected are removed the next time the interner is
+ * used, so its size stays bounded by the number of values that are still reachable.
+ *
+ * @param <K> the type of the keys values are interned by
+ * @param <V> the type of the interned values
+ * @author Mark Johnson
+ */
+public final class WeakInterner<K, V> {
+
+    private final ConcurrentMap<K, ValueReference<K, V>> values = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<V> collectedValues = new ReferenceQueue<>();
+
+    private final Function<? super K, ? extends V> valueFactory;
+
+    public WeakInterner(final Function<? super K, ? extends V> valueFactory) {
+        this.valueFactory = valueFactory;
+    }
+
+    /**
+     * Returns the value interned for the given key, creating and interning a new value if no value is interned for
+     * the key or the previously interned value has been collected. Concurrent calls for the same key are guaranteed to
+     * return the same instance.
+     *
+     * @param key the key to look up the value by
+     * @return the interned value
+     */
+    public V intern(final K key) {
+        expungeCollectedValues();
+
+        final ValueReference<K, V> existing = values.get(key);
+        final V existingValue = (existing != null) ? existing.get() : null;
+        if (existingValue != null) {
+            return existingValue;
+        }
+
+        final V created = valueFactory.apply(key);
+        final ValueReference<K, V> createdReference = new ValueReference<>(key, created, collectedValues);
+        while (true) {
+            final ValueReference<K, V> raced = values.putIfAbsent(key, createdReference);
+            if (raced == null) {
+                return created;
+            }
+            final V racedValue = raced.get();
+            if (racedValue != null) {
+                return racedValue;
+            }
+            if (values.replace(key, raced, createdReference)) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values that are interned, after removing every entry whose value has been collected
+     *
+     * @return the number of interned values
+     */
+    public int size() {
+        expungeCollectedValues();
+        return values.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeCollectedValues() {
+        Reference<? extends V> collected;
+        while ((collected = collectedValues.poll()) != null) {
+            final ValueReference<K, V> reference = (ValueReference<K, V>) collected;
+            values.remove(reference.key, reference);
+        }
+    }
+
+    private static final class ValueReference<K, V> extends WeakReference<V> {
+        private final K key;
+
+        private ValueReference(final K key, final V value, final ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.io;
+
+/**
+ * A {@link CommandOutput CommandOutput} that queues the objects written to it instead of writing them immediately.
+ * Queued objects are written out in batches by a dedicated writer thread, so that commands writing to the output do
+ * not contend with each other for the underlying stream.
+ *
+ * @author Mark Johnson
+ */
+public interface BufferedCommandOutput extends CommandOutput, AutoCloseable {
+
+    /**
+     * Queues the given object to be written out on its own line
+     *
+     * @param o the object to write
+     * @throws java.io.UncheckedIOException if writing to the underlying channel failed, and the failure has not been
+     * reported yet; the given object is then not queued
+     * @throws IllegalStateException if this output has been closed
+     */
+    @Override
+    void write(Object o);
+
+    /**
+     * Writes every object that was queued before this method was called, blocking until they have been written
+     *
+     * @throws java.io.UncheckedIOException if writing to the underlying channel failed, and the failure has not been reported yet
+     */
+    void flush();
+
+    /**
+     * Returns the number of written objects that are still waiting to be written out
+     *
+     * @return the number of queued objects
+     */
+    int getPendingCount();
+
+    /**
+     * Stops the writer thread of this output, after writing out every object that is still queued. Objects may no
+     * longer be written to this output once it has been closed. The underlying channel is not closed.
+     *
+     * @throws java.io.UncheckedIOException if writing to the underlying channel failed, and the failure has not been reported yet
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,60 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.io;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Mark Johnson
+ */
+public interface BufferedOutputBuilder {
+    BufferedOutputBuilder usingChannel(WritableByteChannel channel);
+
+    BufferedOutputBuilder usingCharset(Charset charset);
+
+    /**
+     * Sets the number of queued objects at which the writer thread is woken up to write them out, before its flush
+     * interval has passed. This is also the largest number of objects written to the channel in one call.
+     *
+     * @param batchSize the number of objects in a batch
+     * @return this BufferedOutputBuilder instance
+     */
+    BufferedOutputBuilder usingBatchSize(int batchSize);
+
+    /**
+     * Sets the longest amount of time an object may stay queued while fewer than a batch of objects are queued
+     *
+     * @param flushInterval the amount of time between flushes
+     * @param unit the unit of flushInterval
+     * @return this BufferedOutputBuilder instance
+     */
+    BufferedOutputBuilder usingFlushInterval(long flushInterval, TimeUnit unit);
+
+    /**
+     * Registers a shutdown hook with the runtime which closes the output, so that objects which are still queued when
+     * the JVM exits are written out
+     *
+     * @return this BufferedOutputBuilder instance
+     */
+    BufferedOutputBuilder flushingOnShutdown();
+
+    BufferedCommandOutput build();
+}
@@ -18,6 +18,7 @@
 
 package pw.stamina.mandate.io;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.function.Supplier;
 
 /**
@@ -30,5 +31,33 @@ public interface IOBuilder {
 
     IOBuilder usingErrorStream(Supplier<CommandOutput> errorStreamSupplier);
 
+    /**
+     * Uses a {@link BufferedCommandOutput BufferedCommandOutput} with the default batching settings as the output stream,
+     * writing to the given channel. The output is flushed when the JVM shuts down.
+     * <p>
+     * Builders that do not support buffered channel output throw an {@link UnsupportedOperationException
+     * UnsupportedOperationException}, which is the default.
+     *
+     * @param channel the channel to which output is written
+     * @return this IOBuilder instance
+     */
+    default IOBuilder usingOutputChannel(final WritableByteChannel channel) {
+        throw new UnsupportedOperationException("This builder does not support buffered channel output");
+    }
+
+    /**
+     * Uses a {@link BufferedCommandOutput BufferedCommandOutput} with the default batching settings as the error stream,
+     * writing to the given channel. The output is flushed when the JVM shuts down.
+     * <p>
+     * Builders that do not support buffered channel output throw an {@link UnsupportedOperationException
+     * UnsupportedOperationException}, which is the default.
+     *
+     * @param channel the channel to which errors are written
+     * @return this IOBuilder instance
+     */
+    default IOBuilder usingErrorChannel(final WritableByteChannel channel) {
+        throw new UnsupportedOperationException("This builder does not support buffered channel output");
+    }
+
     IOEnvironment build();
 }
@@ -31,4 +31,17 @@ import java.util.List;
  */
 public interface ArgumentReificationStrategy {
     Object[] parse(Deque<CommandArgument> arguments, List<CommandParameter> parameters, ExecutionContext executionContext, CommandContext commandContext) throws InputParsingException;
+
+    /**
+     * Prepares a {@link ReificationPlan ReificationPlan} for the provided parameters, which will be used to reify
+     * arguments for them on every subsequent execution. Implementations should perform any work that depends only on
+     * the parameters here, rather than on each invocation of {@link #parse parse}.
+     *
+     * @param parameters the parameters arguments will be reified against
+     * @param commandContext the context the parameters were registered in
+     * @return a plan for reifying arguments against the provided parameters
+     */
+    default ReificationPlan compile(final List<CommandParameter> parameters, final CommandContext commandContext) {
+        return (arguments, executionContext) -> parse(arguments, parameters, executionContext, commandContext);
+    }
 }
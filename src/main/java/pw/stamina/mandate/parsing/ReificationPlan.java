@@ -0,0 +1,45 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.parsing;
+
+import pw.stamina.mandate.execution.ExecutionContext;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+import java.util.Deque;
+
+/**
+ * A set of command parameters which has been prepared ahead of time by an
+ * {@link ArgumentReificationStrategy ArgumentReificationStrategy}, such that any work depending only on the parameters
+ * themselves does not have to be repeated each time arguments are reified against them.
+ *
+ * @author Mark Johnson
+ */
+@FunctionalInterface
+public interface ReificationPlan {
+
+    /**
+     * Reifies the provided arguments to objects suitable for passing to the parameters this plan was prepared for
+     *
+     * @param arguments the arguments that should be reified
+     * @param executionContext the context of the execution the arguments are being reified for
+     * @return an array of reified arguments, ordered as the parameters this plan was prepared for
+     * @throws InputParsingException if the arguments could not be reified against the parameters of this plan
+     */
+    Object[] reify(Deque<CommandArgument> arguments, ExecutionContext executionContext) throws InputParsingException;
+}
@@ -44,6 +44,23 @@ public interface ArgumentHandler<T> {
      */
     T parse(CommandArgument input, CommandParameter parameter, CommandContext commandContext) throws InputParsingException;
 
+    /**
+     * A method that returns an argument handler specialized for parsing input to the provided CommandParameter
+     * <p>
+     * This is called once per parameter when an executable is created, so a handler may use it to resolve anything that
+     * only depends on the parameter, such as its annotations, ahead of time rather than on every call to {@link #parse parse}.
+     * The returned handler must only be used to parse arguments for the parameter it was specialized for.
+     * <p>
+     * By default, this handler itself is returned.
+     *
+     * @param parameter the parameter that the returned handler will parse input for
+     * @param commandContext the command manager that this handler is registered to
+     * @return an argument handler parsing input for the provided parameter
+     */
+    default ArgumentHandler<T> specialize(CommandParameter parameter, CommandContext commandContext) {
+        return this;
+    }
+
     /**
      * A method designed to provide a friendly representation of the provided parameter, as interpreted by this argument handler
      *
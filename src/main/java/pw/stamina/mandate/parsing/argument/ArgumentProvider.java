@@ -18,6 +18,8 @@
 
 package pw.stamina.mandate.parsing.argument;
 
+import pw.stamina.mandate.execution.ExecutionContext;
+
 import java.lang.reflect.Type;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -44,6 +46,21 @@ public interface ArgumentProvider {
      */
     void registerProvider(Type valueType, Supplier<?> valueProvider);
 
+    /**
+     * Attempts to register a new implicit value provider to this provider registry, whose values are cached according to
+     * the given {@link ProviderScope scope}. The registration will fail under the same conditions as
+     * {@link ArgumentProvider#registerProvider(Type, Supplier)}.
+     * <p>
+     * By default the scope is ignored, and valueProvider is registered as if it were {@link ProviderScope#unscoped() unscoped}.
+     *
+     * @param valueType A class representing the type of value that this provider will be supplying
+     * @param valueProvider the provider supplying values of type V
+     * @param scope the scope in which values supplied by valueProvider may be reused
+     */
+    default void registerProvider(final Type valueType, final Supplier<?> valueProvider, final ProviderScope scope) {
+        registerProvider(valueType, valueProvider);
+    }
+
     /**
      * Attempts to locate a provider of values of type V, if one is present.
      *
@@ -60,4 +77,35 @@ public interface ArgumentProvider {
      * @return {@code true} if a matching argument provider is found, else {@code false}
      */
     boolean isProviderPresent(Type valueType);
+
+    /**
+     * Returns a value of the type described by valueType for the given execution, honoring the {@link ProviderScope scope}
+     * its provider was registered with.
+     * <p>
+     * Unlike the {@link Supplier Supplier} returned by {@link ArgumentProvider#findProvider(Type)}, which has no
+     * execution to key its values by, values from {@link ProviderScope#perSender() per-sender} and
+     * {@link ProviderScope#perExecution() per-execution} providers are cached when they are requested through this method.
+     * <p>
+     * By default this simply asks the provider located by {@link ArgumentProvider#findProvider(Type)} for a new value.
+     *
+     * @param valueType A class representing the type of value to provide
+     * @param executionContext the context of the execution the value is provided for
+     * @return the provided value, which may be {@code null} if the provider supplied it
+     * @throws IllegalArgumentException if no provider of values of the type described by valueType is present
+     */
+    default Object provideValue(final Type valueType, final ExecutionContext executionContext) {
+        return findProvider(valueType)
+                .orElseThrow(() -> new IllegalArgumentException("Unable to resolve a suitable value for type " + valueType.getTypeName()))
+                .get();
+    }
+
+    /**
+     * Returns the cache statistics of the providers registered to this provider registry, by the kind of scope they
+     * were registered with. By default no lookups are counted, and every count is zero.
+     *
+     * @return the statistics of this provider registry
+     */
+    default ProviderStatistics getStatistics() {
+        return ProviderStatistics.Empty.getInstance();
+    }
 }
@@ -54,6 +54,39 @@ public interface ArgumentProviderBuilder {
      */
     ArgumentProviderBuilder addProvider(Type valueType, Supplier<?> valueProvider);
 
+    /**
+     * Attempts to register a new implicit value provider to the provider registry being built, whose values are cached
+     * according to the given {@link ProviderScope scope}. The registration will fail under the same conditions as
+     * {@link ArgumentProviderBuilder#addProvider(Class, Supplier)}.
+     * <p>
+     * By default the scope is ignored, and valueProvider is added as if it were {@link ProviderScope#unscoped() unscoped}.
+     *
+     * @param valueType A class representing the type of value that this provider will be supplying
+     * @param valueProvider the provider supplying values of type V
+     * @param scope the scope in which values supplied by valueProvider may be reused
+     * @param <T> the type of value that this provider will be supplying
+     * @return this ArgumentProviderBuilder instance
+     */
+    default <T> ArgumentProviderBuilder addProvider(final Class<T> valueType, final Supplier<? extends T> valueProvider, final ProviderScope scope) {
+        return addProvider(valueType, valueProvider);
+    }
+
+    /**
+     * Attempts to register a new implicit value provider to the provider registry being built, whose values are cached
+     * according to the given {@link ProviderScope scope}. Like {@link ArgumentProviderBuilder#addProvider(Type, Supplier)},
+     * this method supports using parameterized types as value types.
+     * <p>
+     * By default the scope is ignored, and valueProvider is added as if it were {@link ProviderScope#unscoped() unscoped}.
+     *
+     * @param valueType A class representing the type of value that this provider will be supplying
+     * @param valueProvider the provider supplying values of type V
+     * @param scope the scope in which values supplied by valueProvider may be reused
+     * @return this ArgumentProviderBuilder instance
+     */
+    default ArgumentProviderBuilder addProvider(final Type valueType, final Supplier<?> valueProvider, final ProviderScope scope) {
+        return addProvider(valueType, valueProvider);
+    }
+
     /**
      * Returns a newly constructed {@link ArgumentProvider ArgumentProvider} with all argument providers
      * that had been provided during the construction process automatically registered to it.
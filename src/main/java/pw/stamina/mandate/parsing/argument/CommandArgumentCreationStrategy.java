@@ -34,4 +34,18 @@ public interface CommandArgumentCreationStrategy {
      * @return a new CommandArgument representing the String argument passed to this method
      */
     CommandArgument newArgument(String argument);
+
+    /**
+     * Attempts to return a CommandArgument instance that is syntactically equivalent to the region of the source String
+     * beginning at the provided offset and spanning the provided length. Implementations may return a view over the
+     * source rather than copying the region, deferring the creation of a String until one is required.
+     *
+     * @param source the String from which a region should be derived as a CommandArgument
+     * @param offset the index of the first character of the region
+     * @param length the number of characters in the region
+     * @return a new CommandArgument representing the region of the source String passed to this method
+     */
+    default CommandArgument newArgument(final String source, final int offset, final int length) {
+        return newArgument(source.substring(offset, offset + length));
+    }
 }
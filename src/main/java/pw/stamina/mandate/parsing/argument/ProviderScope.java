@@ -0,0 +1,132 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.parsing.argument;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Describes how long a value supplied by an {@link pw.stamina.mandate.annotations.Implicit implicit} value provider may be
+ * reused before the provider is asked for a new one.
+ * <p>
+ * An {@link #unscoped() unscoped} provider is asked for a value every time one is needed, which is how providers registered
+ * without a scope behave. Every other scope caches the values it is given, so that providers of values that are expensive
+ * to create, such as database handles, are not consulted on every execution.
+ *
+ * @author Mark Johnson
+ */
+public final class ProviderScope {
+
+    private static final ProviderScope UNSCOPED = new ProviderScope(Kind.UNSCOPED, null);
+
+    private static final ProviderScope SINGLETON = new ProviderScope(Kind.SINGLETON, null);
+
+    private static final ProviderScope PER_SENDER = new ProviderScope(Kind.PER_SENDER, null);
+
+    private static final ProviderScope PER_EXECUTION = new ProviderScope(Kind.PER_EXECUTION, null);
+
+    private final Kind kind;
+
+    private final Duration timeToLive;
+
+    private ProviderScope(final Kind kind, final Duration timeToLive) {
+        this.kind = kind;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns a scope in which the provider is asked for a new value every time one is needed
+     *
+     * @return the unscoped ProviderScope
+     */
+    public static ProviderScope unscoped() {
+        return UNSCOPED;
+    }
+
+    /**
+     * Returns a scope in which the first value supplied by the provider is reused for every execution
+     *
+     * @return the singleton ProviderScope
+     */
+    public static ProviderScope singleton() {
+        return SINGLETON;
+    }
+
+    /**
+     * Returns a scope in which a value is supplied once for every {@link pw.stamina.mandate.security.CommandSender CommandSender},
+     * and reused for as long as that sender is reachable. Senders are told apart by identity.
+     * <p>
+     * The supplied values are held strongly, so a value must not reference the sender it was supplied for; if it does,
+     * neither the value nor the sender is released for as long as the provider is registered.
+     *
+     * @return the per-sender ProviderScope
+     */
+    public static ProviderScope perSender() {
+        return PER_SENDER;
+    }
+
+    /**
+     * Returns a scope in which a value is supplied once for every execution, and shared by all the implicit parameters of
+     * that execution which request it
+     *
+     * @return the per-execution ProviderScope
+     */
+    public static ProviderScope perExecution() {
+        return PER_EXECUTION;
+    }
+
+    /**
+     * Returns a scope in which a supplied value is reused until the given amount of time has passed since it was supplied,
+     * after which the provider is asked for a new value
+     *
+     * @param timeToLive the amount of time for which a supplied value may be reused
+     * @return an expiring ProviderScope
+     * @throws IllegalArgumentException if timeToLive is not positive
+     */
+    public static ProviderScope expiring(final Duration timeToLive) {
+        Objects.requireNonNull(timeToLive, "timeToLive");
+        if (timeToLive.isZero() || timeToLive.isNegative()) {
+            throw new IllegalArgumentException(String.format("Time to live must be positive, was %s", timeToLive));
+        }
+        return new ProviderScope(Kind.EXPIRING, timeToLive);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the amount of time for which values supplied in this scope may be reused, if this is an {@link #expiring(Duration) expiring}
+     * scope
+     *
+     * @return the time to live of this scope, or {@code null} if values in this scope do not expire
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    @Override
+    public String toString() {
+        return (timeToLive != null) ? kind + "[ttl=" + timeToLive + "]" : kind.toString();
+    }
+
+    public enum Kind {
+        UNSCOPED, SINGLETON, PER_SENDER, PER_EXECUTION, EXPIRING
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.parsing.argument;
+
+/**
+ * Counts how often the values requested from an {@link ArgumentProvider ArgumentProvider} were served from the cache of
+ * their {@link ProviderScope scope}, and how often a provider had to be asked for a new value.
+ * <p>
+ * Values from {@link ProviderScope#unscoped() unscoped} providers are never cached, so every request for one is a miss.
+ *
+ * @author Mark Johnson
+ */
+public interface ProviderStatistics {
+
+    /**
+     * @param scope the kind of scope to count the hits of
+     * @return the number of requested values that were served from a cache of the given kind of scope
+     */
+    long getHits(ProviderScope.Kind scope);
+
+    /**
+     * @param scope the kind of scope to count the misses of
+     * @return the number of requested values for which a provider in the given kind of scope had to be asked for a new value
+     */
+    long getMisses(ProviderScope.Kind scope);
+
+    /**
+     * The statistics of an {@link ArgumentProvider ArgumentProvider} that does not count its lookups, for which every
+     * count is zero
+     */
+    enum Empty implements ProviderStatistics {
+        INSTANCE;
+
+        @Override
+        public long getHits(final ProviderScope.Kind scope) {
+            return 0L;
+        }
+
+        @Override
+        public long getMisses(final ProviderScope.Kind scope) {
+            return 0L;
+        }
+
+        public static Empty getInstance() {
+            return INSTANCE;
+        }
+    }
+}
@@ -18,9 +18,21 @@
 
 package pw.stamina.mandate.security;
 
+import java.util.Optional;
+
 /**
  * @author Mark Johnson
  */
 public interface CommandSender {
     boolean hasPermission(Permission permission);
+
+    /**
+     * Returns the cache in which this sender keeps its permission decisions, if it keeps one. Senders are not required
+     * to cache their decisions.
+     *
+     * @return a present {@link Optional Optional} wrapping the decision cache of this sender if it has one, else an {@link Optional#empty() empty Optional}
+     */
+    default Optional<PermissionDecisionCache> getDecisionCache() {
+        return Optional.empty();
+    }
 }
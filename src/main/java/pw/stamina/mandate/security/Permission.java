@@ -18,8 +18,8 @@
 
 package pw.stamina.mandate.security;
 
-import java.util.HashMap;
-import java.util.Map;
+import pw.stamina.mandate.internal.utils.WeakInterner;
+
 import java.util.Objects;
 
 /**
@@ -29,7 +29,11 @@ public final class Permission {
 
     public static final Permission WILDCARD = new Permission("*");
 
-    private static final Map<String, Permission> PERMISSION_CACHE = new HashMap<>();
+    /**
+     * Permissions are interned weakly, as permissions may be built from user input; a permission that is no longer
+     * referenced anywhere, such as by a restricted command, is dropped from the cache
+     */
+    private static final WeakInterner<String, Permission> PERMISSION_CACHE = new WeakInterner<>(Permission::new);
 
     private final String permission;
 
@@ -42,7 +46,7 @@ public final class Permission {
     }
 
     public static Permission of(final String permission) {
-        return PERMISSION_CACHE.computeIfAbsent(permission, Permission::new);
+        return PERMISSION_CACHE.intern(permission);
     }
 
     @Override
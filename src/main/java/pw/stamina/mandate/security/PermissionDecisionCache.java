@@ -0,0 +1,68 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.security;
+
+import java.util.function.Predicate;
+
+/**
+ * A cache of the permission decisions made for a single {@link CommandSender CommandSender}. Every decision is stored
+ * with the version of the sender's grants it was made for, and is only reused while the sender's grants remain at that
+ * version, so a sender only has to bump its version whenever its grants change to invalidate every cached decision.
+ * <p>
+ * Implementations must be safe for use by multiple threads at once.
+ *
+ * @author Mark Johnson
+ */
+public interface PermissionDecisionCache {
+
+    /**
+     * Returns the cached decision for the given permission if one was made at the given version of the sender's grants,
+     * otherwise makes the decision using evaluator and caches it
+     *
+     * @param permission the permission to decide on
+     * @param version the current version of the sender's grants
+     * @param evaluator the function deciding whether the sender holds a permission
+     * @return {@code true} if the sender holds the permission, else {@code false}
+     */
+    boolean isPermitted(Permission permission, long version, Predicate<Permission> evaluator);
+
+    /**
+     * Removes every cached decision from this cache
+     */
+    void invalidateAll();
+
+    /**
+     * @return the number of decisions that were served from this cache
+     */
+    long getHits();
+
+    /**
+     * @return the number of decisions that had to be made because no decision was cached for the current version
+     */
+    long getMisses();
+
+    /**
+     * @return the fraction of decisions that were served from this cache, or {@code 0} if no decisions were requested yet
+     */
+    default double getHitRate() {
+        final long hits = getHits();
+        final long requests = hits + getMisses();
+        return (requests == 0L) ? 0.0D : (double) hits / requests;
+    }
+}
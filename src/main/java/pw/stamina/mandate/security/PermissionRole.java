@@ -0,0 +1,56 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.security;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A named group of permissions, which also holds every permission of the roles it inherits from. Roles are immutable,
+ * and are meant to be shared between every {@link CommandSender CommandSender} that is a member of them.
+ *
+ * @author Mark Johnson
+ */
+public interface PermissionRole {
+    String getName();
+
+    /**
+     * @return the roles this role directly inherits from
+     */
+    List<PermissionRole> getParents();
+
+    /**
+     * @return the permissions granted to this role itself, excluding inherited ones
+     */
+    Set<Permission> getPermissions();
+
+    /**
+     * @return the permissions granted to this role and every role it inherits from, directly or transitively
+     */
+    Set<Permission> getEffectivePermissions();
+
+    /**
+     * Determines if any of the {@link #getEffectivePermissions() effective permissions} of this role grant the given
+     * permission, following the same rules as {@link CommandSender#hasPermission(Permission)}
+     *
+     * @param permission the permission to check for
+     * @return {@code true} if this role grants the permission, else {@code false}
+     */
+    boolean implies(Permission permission);
+}
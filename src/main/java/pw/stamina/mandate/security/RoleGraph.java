@@ -0,0 +1,43 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.security;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable graph of {@link PermissionRole roles}, whose effective permissions have all been computed when the graph
+ * was built.
+ *
+ * @author Mark Johnson
+ */
+public interface RoleGraph {
+    Optional<PermissionRole> findRole(String name);
+
+    /**
+     * Creates a sender which is a member of the given roles, and which is additionally granted the given permissions
+     *
+     * @param roleNames the names of the roles the sender is a member of
+     * @param overrides the permissions granted to the sender beyond those of its roles
+     * @return a new CommandSender
+     * @throws IllegalArgumentException if any of the roles is not present in this graph
+     */
+    CommandSender newSender(Collection<String> roleNames, Set<Permission> overrides);
+}
@@ -0,0 +1,48 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.security;
+
+import java.util.Set;
+
+/**
+ * A builder object for a {@link RoleGraph RoleGraph}. Roles may be added in any order, as the parents of every role
+ * are only resolved once the graph is built.
+ *
+ * @author Mark Johnson
+ */
+public interface RoleGraphBuilder {
+
+    /**
+     * Adds a role to the graph being built
+     *
+     * @param name the name of the role, which must be unique within the graph
+     * @param permissions the permissions granted to the role itself
+     * @param parents the names of the roles the role inherits from
+     * @return this RoleGraphBuilder instance
+     */
+    RoleGraphBuilder addRole(String name, Set<Permission> permissions, String... parents);
+
+    /**
+     * Returns a newly constructed {@link RoleGraph RoleGraph} containing every role that was added to this builder
+     *
+     * @return a newly constructed RoleGraph
+     * @throws IllegalStateException if a role inherits from a role that was not added, or if roles inherit from each other in a cycle
+     */
+    RoleGraph build();
+}
@@ -38,4 +38,13 @@ public interface CommandRegistry {
     ExecutableLookup findExecutable(Deque<CommandArgument> commandArguments, ExecutionContext executionContext);
 
     boolean commandPresent(String command);
+
+    /**
+     * Compiles the commands present in this registry into a read-only structure optimized for lookups, after which
+     * no further commands may be added to it.
+     * <p>
+     * This is intended to be called once all commands have been registered, typically at the end of startup.
+     * Registries which do not support being frozen may ignore this.
+     */
+    default void freeze() {}
 }
@@ -69,4 +69,18 @@ public interface SyntaxTree {
      * @return a set, if any, of all executables coupled to this piece of syntax
      */
     Optional<Set<CommandExecutable>> findExecutables();
+
+    /**
+     * Looks up the executable coupled to this piece of syntax which accepts the provided number of arguments.
+     * <p>
+     * Implementations are encouraged to index their executables by the number of arguments they accept, such that
+     * this lookup does not have to consider every executable coupled to this piece of syntax
+     * @param argumentCount the number of arguments remaining after this piece of syntax
+     * @return an executable coupled to this piece of syntax which accepts the provided number of arguments, if any
+     */
+    default Optional<CommandExecutable> findExecutable(final int argumentCount) {
+        return findExecutables().flatMap(executables -> executables.stream()
+                .filter(executable -> argumentCount >= executable.minimumArguments() && argumentCount <= executable.maximumArguments())
+                .findFirst());
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Test;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.parameter.CommandParameter;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.ArgumentHandler;
+import pw.stamina.mandate.parsing.argument.ArgumentHandlerRegistry;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class ArgumentHandlerRegistryTestSuite {
+
+    @Test
+    public void testFailedLookupIsForgottenWhenHandlerAdded() {
+        final ArgumentHandlerRegistry registry = Mandate.newHandlerRegistryBuilder().build();
+
+        assertFalse(registry.findArgumentHandler(StringBuilder.class).isPresent());
+
+        final ArgumentHandler<?> handler = new NamedHandler(CharSequence.class);
+        registry.addArgumentHandler(handler);
+
+        assertSame(handler, registry.findArgumentHandler(StringBuilder.class).orElse(null));
+    }
+
+    @Test
+    public void testResolvedLookupIsReplacedWhenHandlerAdded() {
+        final ArgumentHandlerRegistry registry = Mandate.newHandlerRegistryBuilder().build();
+        final ArgumentHandler<?> general = new NamedHandler(Number.class);
+        registry.addArgumentHandler(general);
+
+        assertSame(general, registry.findArgumentHandler(Integer.class).orElse(null));
+        assertSame(general, registry.findArgumentHandler(int.class).orElse(null));
+
+        final ArgumentHandler<?> exact = new NamedHandler(Integer.class);
+        registry.addArgumentHandler(exact);
+
+        assertSame(exact, registry.findArgumentHandler(Integer.class).orElse(null));
+        assertSame(general, registry.findArgumentHandler(Long.class).orElse(null));
+    }
+
+    @Test
+    public void testLatestRegistrySuppliedToContextTakesPrecedence() {
+        final ArgumentHandler<?> first = new NamedHandler(StringBuilder.class);
+        final ArgumentHandler<?> second = new NamedHandler(StringBuilder.class);
+        final CommandContext commandContext = Mandate.newContextBuilder()
+                .withHandlerRegistry(Mandate.newHandlerRegistryBuilder().addHandler(first).build())
+                .withHandlerRegistry(Mandate.newHandlerRegistryBuilder().addHandler(second).build())
+                .build();
+
+        assertSame(second, commandContext.getArgumentHandlers().findArgumentHandler(StringBuilder.class).orElse(null));
+
+        final Optional<ArgumentHandler<String>> fallback = commandContext.getArgumentHandlers().findArgumentHandler(String.class);
+        assertTrue(fallback.isPresent());
+        assertFalse(((Object) fallback.get()) instanceof NamedHandler);
+
+        final ArgumentHandler<?> added = new NamedHandler(Thread.class);
+        commandContext.getArgumentHandlers().addArgumentHandler(added);
+
+        assertSame(added, commandContext.getArgumentHandlers().findArgumentHandler(Thread.class).orElse(null));
+    }
+
+    private static final class NamedHandler implements ArgumentHandler<Object> {
+        private final Class<?> handledType;
+
+        private NamedHandler(final Class<?> handledType) {
+            this.handledType = handledType;
+        }
+
+        @Override
+        public Object parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            return input.getRaw();
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return parameter.getLabel();
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return new Class[] {handledType};
+        }
+    }
+}
@@ -32,6 +32,7 @@ import pw.stamina.mandate.execution.result.Execution;
 import pw.stamina.mandate.execution.result.ExitCode;
 import pw.stamina.mandate.io.IODescriptor;
 import pw.stamina.mandate.annotations.Length;
+import pw.stamina.mandate.annotations.numeric.IntClamp;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
@@ -144,6 +145,57 @@ public class ArrayArgumentTestSuite {
         assertEquals(1, commandErrors.size());
     }
 
+    @Test
+    public void testPassingToPrimitiveLongAndDoubleArrays() {
+        final Execution result = commandContext.execute("run longsanddoubles [0x7f, -9000000000, 010] [1.5, -2, 1e3]");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertArrayEquals(new long[] {127L, -9000000000L, 8L}, (long[]) commandOutput.poll());
+        assertArrayEquals(new double[] {1.5D, -2D, 1000D}, (double[]) commandOutput.poll(), 0D);
+    }
+
+    @Test
+    public void testPassingToClampedValueIntArray() {
+        final Execution result = commandContext.execute("run clampedvalues [-5, 50, 500]");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertArrayEquals(new int[] {0, 50, 100}, (int[]) commandOutput.poll());
+    }
+
+    @Test
+    public void testPassingLargePrimitiveIntArray() {
+        final StringBuilder literal = new StringBuilder("[");
+        final int[] expected = new int[50_000];
+        for (int i = 0; i < expected.length; i++) {
+            literal.append((i > 0) ? ", " : "").append(i * 7);
+            expected[i] = i * 7;
+        }
+        final Execution result = commandContext.execute("run ints " + literal.append(']'));
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertArrayEquals(expected, (int[]) commandOutput.poll());
+    }
+
+    @Test
+    public void testFailingUnparseablePrimitiveIntArrayElement() {
+        final Execution result = commandContext.execute("run ints [1, 2147483648, 3]");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals(0, commandOutput.size());
+
+        assertEquals("'2147483648' cannot be parsed to a(n) java.lang.Integer", commandErrors.poll());
+    }
+
     @Executes(tree = "strings")
     public ExitCode runStrings(@Implicit final IODescriptor io, final String[] strings) {
         io.out().write(strings);
@@ -156,6 +208,19 @@ public class ArrayArgumentTestSuite {
         return ExitCode.SUCCESS;
     }
 
+    @Executes(tree = "longsanddoubles")
+    public ExitCode runLongsAndDoubles(@Implicit final IODescriptor io, final long[] longs, final double[] doubles) {
+        io.out().write(longs);
+        io.out().write(doubles);
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(tree = "clampedvalues")
+    public ExitCode runClampedValues(@Implicit final IODescriptor io, @IntClamp(min = 0, max = 100) final int[] ints) {
+        io.out().write(ints);
+        return ExitCode.SUCCESS;
+    }
+
     @Executes(tree = "clampedints")
     public ExitCode runClampedInts(@Implicit final IODescriptor io, @Length(min = 5, max = 5) final int[] ints) {
         io.out().write(ints);
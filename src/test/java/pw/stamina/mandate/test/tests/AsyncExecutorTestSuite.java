@@ -0,0 +1,279 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.RejectionPolicy;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.execution.executor.DefaultAsyncCommandExecutor;
+import pw.stamina.mandate.internal.execution.executor.VirtualThreadCommandExecutor;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mark Johnson
+ */
+public class AsyncExecutorTestSuite {
+    private final Queue<Object> commandErrors = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Object> commandOutput = new ConcurrentLinkedQueue<>();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @After
+    public void releaseBlockedCommands() {
+        release.countDown();
+    }
+
+    @Test
+    public void testAbortPolicyRejectsSaturatedExecutor() throws InterruptedException, TimeoutException {
+        final AsyncCommandExecutor executor = Mandate.newExecutorBuilder()
+                .usingPoolSize(1)
+                .usingQueueCapacity(0)
+                .usingRejectionPolicy(RejectionPolicy.ABORT)
+                .build();
+        final CommandContext commandContext = newContext(executor);
+
+        final Execution blocked = commandContext.execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, executor.getActiveCount());
+        assertEquals(0, executor.getQueueDepth());
+
+        final Execution rejected = commandContext.execute("block");
+        assertTrue(rejected.completed());
+        assertTrue(rejected.result() == ExitCode.TERMINATED);
+        assertEquals("Command rejected: the async executor has no capacity left", commandErrors.poll());
+
+        release.countDown();
+        assertTrue(blocked.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testQueuedCommandsAreReported() throws InterruptedException, TimeoutException {
+        final AsyncCommandExecutor executor = Mandate.newExecutorBuilder()
+                .usingPoolSize(1)
+                .usingQueueCapacity(4)
+                .build();
+        final CommandContext commandContext = newContext(executor);
+
+        final Execution blocked = commandContext.execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        final Execution queued = commandContext.execute("where");
+        assertFalse(queued.completed());
+        assertEquals(1, executor.getQueueDepth());
+
+        release.countDown();
+        assertTrue(blocked.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+        assertTrue(queued.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+        assertEquals(0, executor.getQueueDepth());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testCallerRunsPolicyThrottlesSubmitter() throws InterruptedException, TimeoutException {
+        final AsyncCommandExecutor executor = Mandate.newExecutorBuilder()
+                .usingPoolSize(1)
+                .usingQueueCapacity(0)
+                .usingRejectionPolicy(RejectionPolicy.CALLER_RUNS)
+                .build();
+        final CommandContext commandContext = newContext(executor);
+
+        final Execution blocked = commandContext.execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        final Execution throttled = commandContext.execute("where");
+        assertTrue(throttled.completed());
+        assertEquals(Thread.currentThread().getName(), commandOutput.poll());
+
+        release.countDown();
+        assertTrue(blocked.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testGroupExecutorIsUsedForGroupedCommands() throws TimeoutException {
+        final Queue<Runnable> groupSubmissions = new ConcurrentLinkedQueue<>();
+        final AsyncCommandExecutor groupExecutor = new AsyncCommandExecutor() {
+            @Override
+            public int getQueueDepth() {
+                return groupSubmissions.size();
+            }
+
+            @Override
+            public int getActiveCount() {
+                return 0;
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public void execute(final Runnable command) {
+                groupSubmissions.add(command);
+            }
+        };
+        final CommandContext commandContext = Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputStream(() -> commandOutput::add)
+                        .usingErrorStream(() -> commandErrors::add)
+                        .build())
+                .usingAsyncExecutor("reports", groupExecutor)
+                .build();
+        commandContext.register(this);
+
+        final Execution pending = commandContext.execute("report");
+        assertFalse(pending.completed());
+        assertEquals(1, groupExecutor.getQueueDepth());
+
+        groupSubmissions.poll().run();
+        assertTrue(pending.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+        assertEquals("report", commandOutput.poll());
+    }
+
+    @Test
+    public void testVirtualThreadsRequireSupportingJvm() throws InterruptedException, TimeoutException {
+        if (!VirtualThreadCommandExecutor.isSupported()) {
+            try {
+                Mandate.newExecutorBuilder().usingVirtualThreads();
+                fail("Expected virtual threads to be rejected on this JVM");
+            } catch (final IllegalStateException expected) {
+                return;
+            }
+        }
+
+        final AsyncCommandExecutor executor = Mandate.newExecutorBuilder()
+                .usingVirtualThreads()
+                .usingPoolSize(1)
+                .build();
+        final CommandContext commandContext = newContext(executor);
+
+        final Execution blocked = commandContext.execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getActiveCount());
+
+        release.countDown();
+        assertTrue(blocked.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSubmittingToShutDownExecutorCompletes() throws TimeoutException {
+        final AsyncCommandExecutor executor = Mandate.newExecutorBuilder()
+                .usingPoolSize(1)
+                .usingRejectionPolicy(RejectionPolicy.CALLER_RUNS)
+                .build();
+        final CommandContext commandContext = newContext(executor);
+        executor.shutdown();
+
+        final Execution rejected = commandContext.execute("report");
+
+        assertTrue(rejected.completed());
+        assertTrue(rejected.result(5, TimeUnit.SECONDS) == ExitCode.TERMINATED);
+        assertTrue(rejected.toCompletionStage().toCompletableFuture().isDone());
+        assertEquals(1, commandErrors.size());
+        assertTrue(commandOutput.isEmpty());
+    }
+
+    @Test
+    public void testSharedExecutorIgnoresShutdown() throws InterruptedException, TimeoutException {
+        final AsyncCommandExecutor executor = DefaultAsyncCommandExecutor.getInstance();
+        executor.shutdown();
+
+        final Execution blocked = newContext(executor).execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(blocked.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExecutorMayOnlyBeProvidedOnce() {
+        Mandate.newContextBuilder()
+                .usingAsyncExecutor("reports", Mandate.newExecutorBuilder().build())
+                .usingAsyncExecutor("reports", Mandate.newExecutorBuilder().build());
+    }
+
+    private CommandContext newContext(final AsyncCommandExecutor executor) {
+        final CommandContext commandContext = Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputStream(() -> commandOutput::add)
+                        .usingErrorStream(() -> commandErrors::add)
+                        .build())
+                .usingAsyncExecutor(executor)
+                .build();
+        commandContext.register(this);
+        return commandContext;
+    }
+
+    @Executes(async = true)
+    @Syntax(root = "block")
+    public ExitCode block() throws InterruptedException {
+        started.countDown();
+        return release.await(5, TimeUnit.SECONDS) ? ExitCode.SUCCESS : ExitCode.FAILURE;
+    }
+
+    @Executes(async = true)
+    @Syntax(root = "where")
+    public ExitCode where(@Implicit final IODescriptor io) {
+        io.out().write(Thread.currentThread().getName());
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(async = true, group = "reports")
+    @Syntax(root = "report")
+    public ExitCode report(@Implicit final IODescriptor io) {
+        io.out().write("report");
+        return ExitCode.SUCCESS;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.After;
+import org.junit.Test;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.io.BufferedCommandOutput;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mark Johnson
+ */
+@Syntax(root = "buffered")
+public class BufferedOutputTestSuite {
+
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    private final List<BufferedCommandOutput> outputs = new ArrayList<>();
+
+    @After
+    public void closeOutputs() {
+        outputs.forEach(BufferedCommandOutput::close);
+    }
+
+    @Test
+    public void testFlushWritesQueuedOutput() {
+        final BufferedCommandOutput output = newOutput(1024, 1L, TimeUnit.HOURS);
+
+        output.write("foo");
+        output.write(42);
+
+        assertEquals("", writtenText());
+
+        output.flush();
+
+        assertEquals(0, output.getPendingCount());
+        assertEquals(Arrays.asList("foo", "42"), writtenLines());
+    }
+
+    @Test
+    public void testFullBatchIsWrittenWithoutFlushing() throws InterruptedException {
+        final BufferedCommandOutput output = newOutput(2, 1L, TimeUnit.HOURS);
+
+        output.write("foo");
+        output.write("bar");
+
+        awaitLines(2);
+
+        assertEquals(Arrays.asList("foo", "bar"), writtenLines());
+    }
+
+    @Test
+    public void testFlushIntervalWritesPartialBatch() throws InterruptedException {
+        final BufferedCommandOutput output = newOutput(1024, 10L, TimeUnit.MILLISECONDS);
+
+        output.write("foo");
+
+        awaitLines(1);
+
+        assertEquals(Arrays.asList("foo"), writtenLines());
+    }
+
+    @Test
+    public void testCloseWritesRemainingOutput() {
+        final BufferedCommandOutput output = newOutput(1024, 1L, TimeUnit.HOURS);
+
+        output.write("foo");
+        output.close();
+
+        assertEquals(Arrays.asList("foo"), writtenLines());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWritingToClosedOutput() {
+        final BufferedCommandOutput output = newOutput(1024, 1L, TimeUnit.HOURS);
+
+        output.close();
+        output.write("foo");
+    }
+
+    @Test
+    public void testConcurrentWritersLoseNoOutput() throws InterruptedException {
+        final BufferedCommandOutput output = newOutput(64, 1L, TimeUnit.MILLISECONDS);
+
+        final Thread[] writers = new Thread[8];
+        for (int i = 0; i < writers.length; i++) {
+            final int writer = i;
+            writers[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    output.write(writer + ":" + j);
+                }
+            });
+            writers[i].start();
+        }
+        for (final Thread writer : writers) {
+            writer.join();
+        }
+        output.close();
+
+        final List<String> lines = writtenLines();
+        assertEquals(8000, lines.size());
+        assertEquals(8000, new HashSet<>(lines).size());
+
+        // output from a single writer must stay in the order it was written
+        for (int i = 0; i < writers.length; i++) {
+            final String prefix = i + ":";
+            int expected = 0;
+            for (final String line : lines) {
+                if (line.startsWith(prefix)) {
+                    assertEquals(prefix + expected++, line);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWritesRacingCloseAreWrittenOrRejected() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            written.reset();
+            final BufferedCommandOutput output = newOutput(16, 1L, TimeUnit.MILLISECONDS);
+
+            final AtomicInteger accepted = new AtomicInteger();
+            final CountDownLatch started = new CountDownLatch(4);
+            final Thread[] writers = new Thread[4];
+            for (int i = 0; i < writers.length; i++) {
+                writers[i] = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            output.write("foo");
+                            accepted.incrementAndGet();
+                        }
+                    } catch (final IllegalStateException closed) {
+                        // the output was closed while writing
+                    }
+                });
+                writers[i].start();
+            }
+            started.await();
+            output.close();
+            for (final Thread writer : writers) {
+                writer.join();
+            }
+
+            // every write that was not rejected must have been written by close
+            assertEquals(accepted.get(), writtenLines().size());
+            assertEquals(0, output.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testBatchesAreWrittenWhileFailureIsPending() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final WritableByteChannel target = Channels.newChannel(written);
+        final BufferedCommandOutput output = Mandate.newBufferedOutputBuilder()
+                .usingChannel(new WritableByteChannel() {
+                    @Override
+                    public int write(final ByteBuffer src) throws IOException {
+                        if (attempts.getAndIncrement() == 0) {
+                            throw new IOException("channel broken");
+                        }
+                        return target.write(src);
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                })
+                .usingBatchSize(1)
+                .usingFlushInterval(1L, TimeUnit.HOURS)
+                .build();
+        outputs.add(output);
+
+        output.write("foo");
+        output.write("bar");
+        try {
+            output.flush();
+            fail("Expected the write failure to be reported on flush");
+        } catch (final UncheckedIOException expected) {
+            // only the batch that failed is lost
+        }
+
+        assertEquals(Arrays.asList("bar"), writtenLines());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testWriteFailureIsReportedOnFlush() {
+        final BufferedCommandOutput output = Mandate.newBufferedOutputBuilder()
+                .usingChannel(new WritableByteChannel() {
+                    @Override
+                    public int write(final ByteBuffer src) throws IOException {
+                        throw new IOException("channel broken");
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                })
+                .usingFlushInterval(1L, TimeUnit.HOURS)
+                .build();
+        outputs.add(output);
+
+        output.write("foo");
+        output.flush();
+    }
+
+    @Test
+    public void testWriteFailureIsReportedOnWrite() throws InterruptedException {
+        final CountDownLatch attempted = new CountDownLatch(1);
+        final BufferedCommandOutput output = Mandate.newBufferedOutputBuilder()
+                .usingChannel(new WritableByteChannel() {
+                    @Override
+                    public int write(final ByteBuffer src) throws IOException {
+                        attempted.countDown();
+                        throw new IOException("channel broken");
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                })
+                .usingBatchSize(1)
+                .usingFlushInterval(1L, TimeUnit.HOURS)
+                .build();
+
+        try {
+            output.write("foo");
+            assertTrue(attempted.await(10L, TimeUnit.SECONDS));
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+            while (System.nanoTime() < deadline) {
+                try {
+                    output.write("bar");
+                } catch (final UncheckedIOException expected) {
+                    return;
+                }
+                Thread.sleep(1L);
+            }
+            fail("Expected the write failure to be reported by a later write");
+        } finally {
+            try {
+                output.close();
+            } catch (final UncheckedIOException ignored) {
+                // probes written before the failure was reported may fail as well
+            }
+        }
+    }
+
+    @Test
+    public void testOutputChannelMayOnlyBeProvidedOnce() {
+        final long writerThreads = countWriterThreads();
+        try {
+            Mandate.newIOBuilder()
+                    .usingOutputStream(() -> System.out::println)
+                    .usingOutputChannel(Channels.newChannel(written));
+            fail("Expected a second output to be rejected");
+        } catch (final IllegalStateException expected) {
+            // no writer thread may have been started for the rejected channel
+            assertEquals(writerThreads, countWriterThreads());
+        }
+    }
+
+    @Test
+    public void testContextWritingToOutputChannel() throws InterruptedException {
+        final CommandContext commandContext = Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputChannel(Channels.newChannel(written))
+                        .build())
+                .build();
+        commandContext.register(this);
+
+        assertTrue(commandContext.execute("buffered echo foo").result() == ExitCode.SUCCESS);
+
+        awaitLines(1);
+
+        assertEquals(Arrays.asList("foo"), writtenLines());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuildingWithoutChannel() {
+        Mandate.newBufferedOutputBuilder().build();
+    }
+
+    @Executes(tree = "echo")
+    public ExitCode echo(@Implicit final IODescriptor io, final String message) {
+        io.out().write(message);
+        return ExitCode.SUCCESS;
+    }
+
+    private BufferedCommandOutput newOutput(final int batchSize, final long flushInterval, final TimeUnit unit) {
+        final BufferedCommandOutput output = Mandate.newBufferedOutputBuilder()
+                .usingChannel(Channels.newChannel(written))
+                .usingBatchSize(batchSize)
+                .usingFlushInterval(flushInterval, unit)
+                .build();
+        outputs.add(output);
+        return output;
+    }
+
+    private void awaitLines(final int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (writtenLines().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private static long countWriterThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("mandate-output-writer-"))
+                .count();
+    }
+
+    private String writtenText() {
+        return new String(written.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private List<String> writtenLines() {
+        final String text = writtenText();
+        return text.isEmpty() ? new ArrayList<>() : Arrays.asList(text.split(System.lineSeparator()));
+    }
+}
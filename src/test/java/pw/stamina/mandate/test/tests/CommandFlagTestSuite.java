@@ -106,6 +106,30 @@ public class CommandFlagTestSuite {
         assertEquals("to me: HELLO", commandOutput.poll());
     }
 
+    @Test
+    public void testInlineFlagOperand() {
+        final Execution result = commandContext.execute("greet hello --recipient=them");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals("to them: hello", commandOutput.poll());
+    }
+
+    @Test
+    public void testRepeatedFlagIsRejected() {
+        final Execution result = commandContext.execute("greet --caps hello --caps");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals(0, commandOutput.size());
+
+        assertEquals(1, commandErrors.size());
+
+        assertEquals("Passed 1 invalid or previously present argument(s): [--caps]", commandErrors.poll());
+    }
+
     @Executes
     @Syntax(root = "greet")
     public ExitCode doGreeting(@Implicit final IODescriptor io,
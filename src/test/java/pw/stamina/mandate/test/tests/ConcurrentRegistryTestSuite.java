@@ -0,0 +1,175 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class ConcurrentRegistryTestSuite {
+    private static final int EXECUTING_THREADS = 8;
+
+    private static final int EXECUTIONS_PER_THREAD = 2_000;
+
+    private static final int REGISTRATIONS = 400;
+
+    private final Queue<Object> commandErrors = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Object> commandOutput = new ConcurrentLinkedQueue<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testExecutingWhileRegistering() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(EXECUTING_THREADS + 1);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < EXECUTING_THREADS; i++) {
+                final int thread = i;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < EXECUTIONS_PER_THREAD; j++) {
+                        if (commandContext.execute("ping " + thread + " " + j).result() != ExitCode.SUCCESS) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            tasks.add(executor.submit(() -> {
+                start.await();
+                final Object[] containers = {new Alpha(), new Beta(), new Gamma(), new Delta()};
+                for (int i = 0; i < REGISTRATIONS; i++) {
+                    final Object container = containers[i % containers.length];
+                    commandContext.register(container);
+                    if (commandContext.execute(container.getClass().getSimpleName().toLowerCase()).result() != ExitCode.SUCCESS) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (final Future<?> task : tasks) {
+                task.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, failures.get());
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(EXECUTING_THREADS * EXECUTIONS_PER_THREAD, commandOutput.stream().filter(Integer.class::isInstance).count());
+
+        assertEquals(5, commandContext.getRegisteredCommands().getCommands().size());
+
+        for (final String command : new String[] {"alpha", "beta", "gamma", "delta"}) {
+            assertTrue(commandContext.getRegisteredCommands().commandPresent(command));
+        }
+    }
+
+    @Executes
+    @Syntax(root = "ping")
+    public ExitCode ping(@Implicit final IODescriptor io, final int thread, final int sequence) {
+        io.out().write(thread + sequence);
+        return ExitCode.SUCCESS;
+    }
+
+    public static class Alpha {
+        @Executes
+        @Syntax(root = "alpha")
+        public ExitCode run() {
+            return ExitCode.SUCCESS;
+        }
+    }
+
+    public static class Beta {
+        @Executes
+        @Syntax(root = "beta")
+        public ExitCode run() {
+            return ExitCode.SUCCESS;
+        }
+    }
+
+    public static class Gamma {
+        @Executes
+        @Syntax(root = "gamma")
+        public ExitCode run() {
+            return ExitCode.SUCCESS;
+        }
+    }
+
+    public static class Delta {
+        @Executes
+        @Syntax(root = "delta")
+        public ExitCode run() {
+            return ExitCode.SUCCESS;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+@Syntax(root = {"acceptenums"})
+public class EnumArgumentTestSuite {
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testPassingConstantNamesIgnoringCase() {
+        final Execution result = commandContext.execute("acceptenums single STONE Gold_Ore");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(Material.STONE, commandOutput.poll());
+        assertEquals(Material.GOLD_ORE, commandOutput.poll());
+    }
+
+    @Test
+    public void testPassingConstantStringForms() {
+        final Execution result = commandContext.execute("acceptenums single cobble Oak-Log");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(Material.COBBLESTONE, commandOutput.poll());
+        assertEquals(Material.OAK_LOG, commandOutput.poll());
+    }
+
+    @Test
+    public void testFirstDeclaredConstantWins() {
+        final Execution result = commandContext.execute("acceptenums single stone_alias stone_alias");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(Material.STONE_ALIAS, commandOutput.poll());
+        assertEquals(Material.STONE_ALIAS, commandOutput.poll());
+    }
+
+    @Test
+    public void testFailingUnknownConstant() {
+        final Execution result = commandContext.execute("acceptenums single stone diamond");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals("'diamond' is not a valid constant in enumeration " + Material.class.getCanonicalName(), commandErrors.poll());
+    }
+
+    @Executes(tree = {"single"})
+    public ExitCode acceptMaterials(@Implicit final IODescriptor io, final Material first, final Material second) {
+        io.out().write(first);
+        io.out().write(second);
+        return ExitCode.SUCCESS;
+    }
+
+    public enum Material {
+        STONE,
+        STONE_ALIAS,
+        COBBLESTONE {
+            @Override
+            public String toString() {
+                return "cobble";
+            }
+        },
+        GOLD_ORE,
+        OAK_LOG {
+            @Override
+            public String toString() {
+                return "oak-log";
+            }
+        },
+        SHADOWING_STONE_ALIAS {
+            @Override
+            public String toString() {
+                return "stone_alias";
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.AsyncCommandExecutor;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class ExecutionCompletionTestSuite {
+    private final Queue<Object> commandErrors = new ConcurrentLinkedQueue<>();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AsyncCommandExecutor executor = Mandate.newExecutorBuilder()
+            .usingPoolSize(2)
+            .build();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .usingAsyncExecutor(executor)
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @After
+    public void teardown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testCompletedExecutionsAreShared() {
+        assertSame(Execution.complete(ExitCode.INVALID), Execution.complete(ExitCode.INVALID));
+
+        final CompletableFuture<ExitCode> stage = Execution.complete(ExitCode.SUCCESS).toCompletionStage().toCompletableFuture();
+        assertTrue(stage.isDone());
+        assertEquals(ExitCode.SUCCESS, stage.join());
+
+        stage.obtrudeValue(ExitCode.FAILURE);
+        assertEquals(ExitCode.SUCCESS, Execution.complete(ExitCode.SUCCESS).toCompletionStage().toCompletableFuture().join());
+    }
+
+    @Test
+    public void testObtrudingSynchronousStageDoesNotAffectExecution() {
+        final Execution execution = commandContext.execute("sync");
+
+        execution.toCompletionStage().toCompletableFuture().obtrudeValue(ExitCode.FAILURE);
+
+        assertEquals(ExitCode.SUCCESS, execution.toCompletionStage().toCompletableFuture().join());
+        assertEquals(ExitCode.SUCCESS, execution.result());
+    }
+
+    @Test
+    public void testDefaultStageCompletesFromResult() {
+        final Execution execution = new Execution() {
+            @Override
+            public ExitCode result() {
+                return ExitCode.INVALID;
+            }
+
+            @Override
+            public ExitCode result(final long timeout, final TimeUnit unit) {
+                return ExitCode.INVALID;
+            }
+
+            @Override
+            public boolean kill() {
+                return false;
+            }
+
+            @Override
+            public boolean completed() {
+                return true;
+            }
+        };
+
+        final AtomicReference<ExitCode> observed = new AtomicReference<>();
+        execution.onComplete(observed::set);
+
+        assertEquals(ExitCode.INVALID, observed.get());
+    }
+
+    @Test
+    public void testSynchronousCallbackRunsImmediately() {
+        final AtomicReference<ExitCode> observed = new AtomicReference<>();
+
+        commandContext.execute("sync").onComplete(observed::set);
+
+        assertEquals(ExitCode.SUCCESS, observed.get());
+    }
+
+    @Test
+    public void testAsynchronousStageCompletesFromWorker() throws Exception {
+        final CompletableFuture<String> completingThread = new CompletableFuture<>();
+
+        final Execution execution = commandContext.execute("block");
+        execution.onComplete(exitCode -> completingThread.complete(Thread.currentThread().getName()));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(execution.toCompletionStage().toCompletableFuture().isDone());
+
+        release.countDown();
+
+        assertEquals(ExitCode.SUCCESS, execution.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread().getName(), completingThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testKilledExecutionCompletesAsTerminated() throws Exception {
+        final Execution execution = commandContext.execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(execution.kill());
+
+        assertEquals(ExitCode.TERMINATED, execution.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertTrue(execution.completed());
+    }
+
+    @Test
+    public void testFailedExecutionReportsOnce() throws Exception {
+        final Execution execution = commandContext.execute("fail");
+
+        assertEquals(ExitCode.TERMINATED, execution.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertTrue(execution.result() == ExitCode.TERMINATED);
+        assertTrue(execution.result() == ExitCode.TERMINATED);
+
+        assertEquals(1, commandErrors.size());
+    }
+
+    @Test
+    public void testCompletingReturnedStageDoesNotAffectExecution() throws Exception {
+        final Execution execution = commandContext.execute("block");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        execution.toCompletionStage().toCompletableFuture().complete(ExitCode.FAILURE);
+        release.countDown();
+
+        assertTrue(execution.result(5, TimeUnit.SECONDS) == ExitCode.SUCCESS);
+    }
+
+    @Executes
+    @Syntax(root = "sync")
+    public ExitCode sync() {
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(async = true)
+    @Syntax(root = "block")
+    public ExitCode block() throws InterruptedException {
+        started.countDown();
+        return release.await(5, TimeUnit.SECONDS) ? ExitCode.SUCCESS : ExitCode.FAILURE;
+    }
+
+    @Executes(async = true)
+    @Syntax(root = "fail")
+    public ExitCode fail() {
+        throw new IllegalStateException("fail");
+    }
+}
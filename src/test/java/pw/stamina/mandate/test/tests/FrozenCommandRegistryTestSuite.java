@@ -0,0 +1,148 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class FrozenCommandRegistryTestSuite {
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .build();
+
+    private final Queue<Object> frozenErrors = new ArrayDeque<>();
+
+    private final Queue<Object> frozenOutput = new ArrayDeque<>();
+
+    private final CommandContext frozenContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> frozenOutput::add)
+                    .usingErrorStream(() -> frozenErrors::add)
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+            frozenErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+        frozenContext.register(this);
+        frozenContext.getRegisteredCommands().freeze();
+    }
+
+    @Test
+    public void testFrozenLookupsMatchUnfrozenLookups() {
+        final String[] inputs = {
+                "math add 1 2",
+                "math add 1 2 3",
+                "math subtract 5 3",
+                "math add 1",
+                "math add 1 2 3 4",
+                "math divide 1 2",
+                "math",
+                "physics add 1 2"
+        };
+
+        for (final String input : inputs) {
+            final ExitCode expected = commandContext.execute(input).result();
+            assertEquals(input, expected, frozenContext.execute(input).result());
+        }
+
+        assertEquals(new ArrayList<>(commandOutput), new ArrayList<>(frozenOutput));
+
+        assertEquals(new ArrayList<>(commandErrors), new ArrayList<>(frozenErrors));
+
+        assertEquals(3, frozenOutput.size());
+    }
+
+    @Test
+    public void testFrozenRegistryRejectsRegistration() {
+        assertTrue(frozenContext.getRegisteredCommands().commandPresent("math"));
+        assertFalse(frozenContext.getRegisteredCommands().commandPresent("physics"));
+
+        try {
+            frozenContext.register(new Object() {
+                @Executes
+                @Syntax(root = "physics")
+                public ExitCode run() {
+                    return ExitCode.SUCCESS;
+                }
+            });
+        } catch (final IllegalStateException e) {
+            return;
+        }
+        throw new AssertionError("Registration succeeded against a frozen registry");
+    }
+
+    @Executes(tree = "add")
+    @Syntax(root = "math")
+    public ExitCode add(@Implicit final IODescriptor io, final int first, final int second) {
+        io.out().write(first + second);
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(tree = "add")
+    @Syntax(root = "math")
+    public ExitCode add(@Implicit final IODescriptor io, final int first, final int second, final int third) {
+        io.out().write(first + second + third);
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(tree = "subtract")
+    @Syntax(root = "math")
+    public ExitCode subtract(@Implicit final IODescriptor io, final int first, final int second) {
+        io.out().write(first - second);
+        return ExitCode.SUCCESS;
+    }
+}
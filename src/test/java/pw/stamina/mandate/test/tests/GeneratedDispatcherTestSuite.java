@@ -0,0 +1,143 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.executable.CommandDispatcher;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.execution.executable.invoker.GeneratedDispatcherInvokerFactory;
+import pw.stamina.mandate.internal.execution.executable.invoker.GeneratedInvokerProxy;
+import pw.stamina.mandate.internal.execution.executable.invoker.MethodHandleInvokerProxy;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class GeneratedDispatcherTestSuite {
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testDispatcherIsGeneratedForContainer() throws ClassNotFoundException {
+        final Class<?> dispatcherClass = Class.forName(GeneratedDispatcherTestSuite.class.getName() + CommandDispatcher.DISPATCHER_SUFFIX);
+
+        assertTrue(CommandDispatcher.class.isAssignableFrom(dispatcherClass));
+    }
+
+    @Test
+    public void testAccessibleCommandsUseGeneratedInvoker() throws NoSuchMethodException {
+        assertTrue(GeneratedDispatcherInvokerFactory.getInstance().newInvoker(
+                getClass().getMethod("join", IODescriptor.class, String.class, List.class, int.class), this) instanceof GeneratedInvokerProxy);
+
+        assertTrue(GeneratedDispatcherInvokerFactory.getInstance().newInvoker(
+                getClass().getDeclaredMethod("hidden", IODescriptor.class), this) instanceof MethodHandleInvokerProxy);
+    }
+
+    @Test
+    public void testExecutingGeneratedCommand() {
+        final Execution result = commandContext.execute("join - [a, b, c] 2");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals("a-b-c-a-b-c", commandOutput.poll());
+    }
+
+    @Test
+    public void testExecutingFallbackCommand() {
+        final Execution result = commandContext.execute("hidden");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals("hidden", commandOutput.poll());
+    }
+
+    @Test
+    public void testCommandExceptionsAreReported() {
+        final Execution result = commandContext.execute("fail");
+
+        assertTrue(result.result() == ExitCode.TERMINATED);
+
+        assertEquals("Exception while executing command: " + InvocationTargetException.class.getName(), commandErrors.poll());
+    }
+
+    @Executes
+    @Syntax(root = "join")
+    public ExitCode join(@Implicit final IODescriptor io, final String separator, final List<String> elements, final int times) {
+        final StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            joined.append((i == 0) ? "" : separator).append(String.join(separator, elements));
+        }
+        io.out().write(joined.toString());
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes
+    @Syntax(root = "hidden")
+    private ExitCode hidden(@Implicit final IODescriptor io) {
+        io.out().write("hidden");
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes
+    @Syntax(root = "fail")
+    public ExitCode fail() throws Exception {
+        throw new Exception("fail");
+    }
+}
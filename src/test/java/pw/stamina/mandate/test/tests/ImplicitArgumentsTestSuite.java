@@ -40,6 +40,7 @@ import java.util.Map;
 import java.util.Queue;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -136,6 +137,30 @@ public class ImplicitArgumentsTestSuite {
         assertEquals(0, commandErrors.size());
     }
 
+    @Test
+    public void testInjectingBuiltInImplicitArguments() {
+        final Execution result = commandContext.execute("implicit context");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(1, commandOutput.size());
+
+        assertEquals(0, commandErrors.size());
+
+        assertSame(commandContext, commandOutput.poll());
+    }
+
+    @Test
+    public void testBuiltInImplicitArgumentsTakePrecedenceOverProviders() {
+        commandContext.getValueProviders().registerProvider(CommandContext.class, () -> null);
+
+        final Execution result = commandContext.execute("implicit context");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertSame(commandContext, commandOutput.poll());
+    }
+
     @Executes(tree = "time")
     public ExitCode runImplicitTime(@Implicit final IODescriptor io, @Implicit final ZonedDateTime time) {
         io.out().write(time);
@@ -153,6 +178,12 @@ public class ImplicitArgumentsTestSuite {
         return ExitCode.SUCCESS;
     }
 
+    @Executes(tree = "context")
+    public ExitCode runImplicitContext(@Implicit final IODescriptor io, @Implicit final CommandContext context) {
+        io.out().write(context);
+        return ExitCode.SUCCESS;
+    }
+
     @Executes(tree = "none")
     public ExitCode runNoImplicits() {
         return ExitCode.SUCCESS;
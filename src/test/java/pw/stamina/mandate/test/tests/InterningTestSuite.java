@@ -0,0 +1,142 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Test;
+import pw.stamina.mandate.internal.utils.PrimitiveArrays;
+import pw.stamina.mandate.internal.utils.WeakInterner;
+import pw.stamina.mandate.security.Permission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class InterningTestSuite {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testWrappingArraysOfDifferentDimensions() {
+        assertSame(Integer[].class, PrimitiveArrays.wrap(int[].class));
+        assertSame(Integer[][].class, PrimitiveArrays.wrap(int[][].class));
+        assertSame(int[][][].class, PrimitiveArrays.unwrap(Integer[][][].class));
+        assertSame(int[].class, PrimitiveArrays.unwrap(Integer[].class));
+        assertSame(String[][].class, PrimitiveArrays.wrap(String[][].class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrappingNonArrayType() {
+        PrimitiveArrays.wrap(int.class);
+    }
+
+    @Test
+    public void testConcurrentArrayWrapping() throws InterruptedException {
+        final Class[][] pairs = {
+                {boolean[].class, Boolean[].class}, {char[][].class, Character[][].class},
+                {long[][][].class, Long[][][].class}, {double[].class, Double[].class},
+                {float[][].class, Float[][].class}, {short[].class, Short[].class}
+        };
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                final Class[] pair = pairs[(i + thread) % pairs.length];
+                if (PrimitiveArrays.wrap(pair[0]) != pair[1] || PrimitiveArrays.unwrap(pair[1]) != pair[0]) {
+                    throw new AssertionError(pair[0] + " did not round-trip through " + pair[1]);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testConcurrentPermissionInterning() throws InterruptedException {
+        final Permission[][] interned = new Permission[THREADS][500];
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < interned[thread].length; i++) {
+                interned[thread][i] = Permission.of("interning.stress.node" + i);
+            }
+        });
+
+        for (int i = 0; i < interned[0].length; i++) {
+            assertEquals("interning.stress.node" + i, interned[0][i].getRawName());
+            for (int thread = 1; thread < THREADS; thread++) {
+                assertSame(interned[0][i], interned[thread][i]);
+            }
+        }
+    }
+
+    @Test
+    public void testInternerDropsUnreachableValues() throws InterruptedException {
+        final WeakInterner<String, StringBuilder> interner = new WeakInterner<>(StringBuilder::new);
+        final StringBuilder retained = interner.intern("retained");
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 50_000; i++) {
+                interner.intern("dynamic-" + thread + "-" + i);
+            }
+        });
+
+        for (int attempt = 0; attempt < 50 && interner.size() > 1_000; attempt++) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+
+        assertTrue("Interner retained " + interner.size() + " unreachable values", interner.size() <= 1_000);
+        assertSame(retained, interner.intern("retained"));
+    }
+
+    private static void runConcurrently(final ThreadTask task) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            final int thread = i;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (final Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -123,6 +123,17 @@ public class ListArgumentTestSuite {
         assertEquals(1, commandErrors.size());
     }
 
+    @Test
+    public void testFailingClampedLengthListCheckWhenTooLong() {
+        final Execution result = commandContext.execute("run clampedints [1, 2, 3, 4, 5, 6]");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals(0, commandOutput.size());
+
+        assertEquals("'[1, 2, 3, 4, 5, 6]' is too long: length can be between 5-5 elements", commandErrors.poll());
+    }
+
     @Test
     public void testPassingTo2DStringList() {
         final Execution result = commandContext.execute("run 2dstrings [[foo, bar], [baz, quz]]");
@@ -138,12 +149,46 @@ public class ListArgumentTestSuite {
         assertEquals(Arrays.asList(Arrays.asList("foo", "bar"), Arrays.asList("baz", "quz")), commandOutput.poll());
     }
 
+    @Test
+    public void testPassingQuotedElementsToStringList() {
+        final Execution result = commandContext.execute("run strings [\"foo, bar\", baz]");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(Arrays.asList("foo, bar", "baz"), commandOutput.poll());
+    }
+
+    @Test
+    public void testPassingLargeIntList() {
+        final StringBuilder literal = new StringBuilder("[");
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            literal.append((i > 0) ? ", " : "").append(i);
+            expected.add(i);
+        }
+        final Execution result = commandContext.execute("run ints " + literal.append(']'));
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(expected, commandOutput.poll());
+    }
+
     @Executes(tree = "strings")
     public ExitCode runStrings(@Implicit final IODescriptor io, final List<String> strings) {
         io.out().write(strings);
         return ExitCode.SUCCESS;
     }
 
+    @Executes(tree = "ints")
+    public ExitCode runInts(@Implicit final IODescriptor io, final List<Integer> ints) {
+        io.out().write(ints);
+        return ExitCode.SUCCESS;
+    }
+
     @Executes(tree = "clampedints")
     public ExitCode runClampedInts(@Implicit final IODescriptor io, @Length(min = 5, max = 5) final List<Integer> ints) {
         io.out().write(ints);
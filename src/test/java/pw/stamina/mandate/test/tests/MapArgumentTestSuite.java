@@ -26,6 +26,7 @@ import org.junit.runner.Description;
 import pw.stamina.mandate.Mandate;
 import pw.stamina.mandate.annotations.Executes;
 import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Length;
 import pw.stamina.mandate.annotations.Syntax;
 import pw.stamina.mandate.execution.CommandContext;
 import pw.stamina.mandate.execution.result.Execution;
@@ -99,6 +100,28 @@ public class MapArgumentTestSuite {
         assertEquals(Collections.singletonMap("bar", 512), ((Map) commandOutput.poll()).get("foo"));
     }
 
+    @Test
+    public void testClampedLengthCountsMappingsAsWritten() {
+        final Execution result = commandContext.execute("clampedintmap [1->a, 01->b]");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals(0, commandOutput.size());
+
+        assertEquals("'[1->a, 01->b]' is too long: length can be between 1-1 mappings", commandErrors.poll());
+    }
+
+    @Test
+    public void testClampedLengthIgnoresRepeatedKeys() {
+        final Execution result = commandContext.execute("clampedintmap [1->a, 1->b]");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(Collections.singletonMap(1, "b"), commandOutput.poll());
+    }
+
     @Executes
     @Syntax(root = "stringintmap")
     public ExitCode stringIntMapCommand(@Implicit final IODescriptor io, final Map<String, Integer> map) {
@@ -112,4 +135,11 @@ public class MapArgumentTestSuite {
         io.out().write(map);
         return ExitCode.SUCCESS;
     }
+
+    @Executes
+    @Syntax(root = "clampedintmap")
+    public ExitCode clampedIntMapCommand(@Implicit final IODescriptor io, @Length(min = 1, max = 1) final Map<Integer, String> map) {
+        io.out().write(map);
+        return ExitCode.SUCCESS;
+    }
 }
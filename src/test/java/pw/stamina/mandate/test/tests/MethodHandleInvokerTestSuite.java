@@ -0,0 +1,196 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.executable.CommandInvoker;
+import pw.stamina.mandate.execution.executable.CommandInvokerCreationStrategy;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.execution.executable.invoker.GeneratedDispatcherInvokerFactory;
+import pw.stamina.mandate.internal.execution.executable.invoker.GeneratedInvokerProxy;
+import pw.stamina.mandate.internal.execution.executable.invoker.MethodHandleInvokerFactory;
+import pw.stamina.mandate.internal.execution.executable.invoker.ReflectionInvokerFactory;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class MethodHandleInvokerTestSuite {
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .usingConfiguration(Mandate.newConfigurationBuilder()
+                    .usingInvokerCreationStrategy(MethodHandleInvokerFactory.getInstance())
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testExecutingThroughMethodHandle() {
+        final Execution result = commandContext.execute("add 3 4");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(7, commandOutput.poll());
+    }
+
+    @Test
+    public void testCommandExceptionsAreReported() {
+        final Execution result = commandContext.execute("fail");
+
+        assertTrue(result.result() == ExitCode.TERMINATED);
+
+        assertEquals(1, commandErrors.size());
+
+        assertEquals("Exception while executing command: " + InvocationTargetException.class.getName(), commandErrors.poll());
+    }
+
+    @Test
+    public void testStrategiesAreInterchangeable() throws Exception {
+        final CommandInvokerCreationStrategy[] strategies = {ReflectionInvokerFactory.getInstance(), MethodHandleInvokerFactory.getInstance()};
+
+        for (final CommandInvokerCreationStrategy strategy : strategies) {
+            final CommandInvoker invoker = strategy.newInvoker(MethodHandleInvokerTestSuite.class.getDeclaredMethod("twice", int.class), null);
+
+            assertTrue(invoker.invoke(21) == ExitCode.SUCCESS);
+
+            try {
+                strategy.newInvoker(getClass().getMethod("fail"), this).invoke();
+            } catch (final InvocationTargetException e) {
+                assertTrue(e.getCause() instanceof UnsupportedOperationException);
+                continue;
+            }
+            throw new AssertionError("Expected the backing exception to be wrapped");
+        }
+    }
+
+    @Test
+    public void testMismatchedArgumentsAreRejected() throws Exception {
+        final CommandInvokerCreationStrategy[] strategies = {ReflectionInvokerFactory.getInstance(), MethodHandleInvokerFactory.getInstance(),
+                GeneratedDispatcherInvokerFactory.getInstance()};
+        final Object[][] mismatchedArguments = {{}, {null, 3}, {null, 3, 4, 5}, {null, "3", 4}, {null, null, 4}};
+        final Method add = getClass().getMethod("add", IODescriptor.class, int.class, int.class);
+
+        for (final CommandInvokerCreationStrategy strategy : strategies) {
+            final CommandInvoker invoker = strategy.newInvoker(add, this);
+
+            for (final Object[] arguments : mismatchedArguments) {
+                try {
+                    invoker.invoke(arguments);
+                    throw new AssertionError(Arrays.toString(arguments) + " should have been rejected by " + strategy);
+                } catch (final IllegalArgumentException expected) {
+                    // expected
+                }
+            }
+        }
+
+        assertTrue(GeneratedDispatcherInvokerFactory.getInstance().newInvoker(add, this) instanceof GeneratedInvokerProxy);
+    }
+
+    @Test
+    public void testTargetClassCastExceptionIsWrapped() throws Exception {
+        final CommandInvoker invoker = MethodHandleInvokerFactory.getInstance()
+                .newInvoker(MethodHandleInvokerTestSuite.class.getDeclaredMethod("cast", Object.class), null);
+
+        try {
+            invoker.invoke(21);
+        } catch (final InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+            return;
+        }
+        throw new AssertionError("Expected the backing exception to be wrapped");
+    }
+
+    @Test
+    public void testDefaultInvokerStrategyIsSharedByEveryEntryPoint() {
+        final CommandInvokerCreationStrategy defaultStrategy = Mandate.newContextBuilder().build()
+                .getCommandConfiguration().getInvokerCreationStrategy();
+
+        assertSame(defaultStrategy, Mandate.newConfigurationBuilder().build().getInvokerCreationStrategy());
+        assertSame(GeneratedDispatcherInvokerFactory.getInstance(), defaultStrategy);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInvokerStrategyMayOnlyBeProvidedOnce() {
+        Mandate.newConfigurationBuilder()
+                .usingInvokerCreationStrategy(MethodHandleInvokerFactory.getInstance())
+                .usingInvokerCreationStrategy(ReflectionInvokerFactory.getInstance());
+    }
+
+    @Executes
+    @Syntax(root = "add")
+    public ExitCode add(@Implicit final IODescriptor io, final int first, final int second) {
+        io.out().write(first + second);
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes
+    @Syntax(root = "fail")
+    public ExitCode fail() {
+        throw new UnsupportedOperationException("fail");
+    }
+
+    private static ExitCode twice(final int value) {
+        return (value * 2 == 42) ? ExitCode.SUCCESS : ExitCode.FAILURE;
+    }
+
+    private static ExitCode cast(final Object value) {
+        return ((String) value).isEmpty() ? ExitCode.FAILURE : ExitCode.SUCCESS;
+    }
+}
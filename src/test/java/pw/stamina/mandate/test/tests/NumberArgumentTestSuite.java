@@ -144,6 +144,46 @@ public class NumberArgumentTestSuite {
         assertEquals(new BigInteger("324161900713241619007132416190071324161900713241619007132416190071"), commandOutput.poll());
     }
 
+    @Test
+    public void testPassingRadixPrefixedNumbersToCommand() {
+        final Execution result = commandContext.execute("acceptnumbers unwrapped 0x7f -0200 #7FFF -0x80000000 0x10 010");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals((byte) 127, commandOutput.poll());
+        assertEquals((short) -128, commandOutput.poll());
+        assertEquals(32767, commandOutput.poll());
+        assertEquals(-2147483648L, commandOutput.poll());
+        assertEquals(16F, commandOutput.poll());
+        assertEquals(8D, commandOutput.poll());
+    }
+
+    @Test
+    public void testPassingOutOfRangeNumberToCommand() {
+        final Execution result = commandContext.execute("acceptnumbers unwrapped 128 64 128 256 512.1024 1024.2048");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals("'128' cannot be parsed to a(n) java.lang.Byte", commandErrors.poll());
+    }
+
+    @Test
+    public void testPassingClampedNumbersBelowBoundsToCommand() {
+        final Execution result = commandContext.execute("acceptnumbers mixedclamped -5 3 1e2 -1 0");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals(0, commandOutput.poll());
+        assertEquals(512L, commandOutput.poll());
+        assertEquals(256F, commandOutput.poll());
+        assertEquals(4096D, commandOutput.poll());
+        assertEquals(new BigInteger("8213748312784723184783217423894172384123423142134234"), commandOutput.poll());
+    }
+
     @Executes(tree = {"wrapped"})
     public ExitCode acceptNumbersWrapped(@Implicit final IODescriptor io, Byte b, Short s, Integer i, Long j, Float f, Double d) {
         io.out().write(b);
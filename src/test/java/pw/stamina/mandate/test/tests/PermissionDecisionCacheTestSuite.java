@@ -0,0 +1,180 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Test;
+import pw.stamina.mandate.internal.security.BoundedPermissionDecisionCache;
+import pw.stamina.mandate.internal.security.SimpleCommandSender;
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionDecisionCache;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class PermissionDecisionCacheTestSuite {
+
+    @Test
+    public void testRepeatedDecisionsAreCached() {
+        final SimpleCommandSender commandSender = new SimpleCommandSender(Collections.singleton(Permission.of("mandate.*")));
+        final PermissionDecisionCache decisionCache = commandSender.getDecisionCache().get();
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(commandSender.hasPermission(Permission.of("mandate.admin")));
+            assertFalse(commandSender.hasPermission(Permission.of("other.admin")));
+        }
+
+        assertEquals(2L, decisionCache.getMisses());
+        assertEquals(6L, decisionCache.getHits());
+        assertEquals(0.75D, decisionCache.getHitRate(), 0.0D);
+    }
+
+    @Test
+    public void testGrantingAndRevokingInvalidatesDecisions() {
+        final SimpleCommandSender commandSender = new SimpleCommandSender(Collections.emptySet());
+        final Permission permission = Permission.of("mandate.admin");
+
+        assertFalse(commandSender.hasPermission(permission));
+
+        assertTrue(commandSender.grant(Permission.of("mandate.*")));
+        assertFalse(commandSender.grant(Permission.of("mandate.*")));
+        assertTrue(commandSender.hasPermission(permission));
+
+        assertTrue(commandSender.revoke(Permission.of("mandate.*")));
+        assertFalse(commandSender.revoke(Permission.of("mandate.*")));
+        assertFalse(commandSender.hasPermission(permission));
+
+        assertEquals(2L, commandSender.getVersion());
+        assertEquals(3L, commandSender.getDecisionCache().get().getMisses());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        final PermissionDecisionCache decisionCache = new BoundedPermissionDecisionCache(2);
+        final AtomicInteger evaluations = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            decisionCache.isPermitted(Permission.of("node" + i), 0L, permission -> evaluations.incrementAndGet() > 0);
+        }
+        decisionCache.isPermitted(Permission.of("node9"), 0L, permission -> evaluations.incrementAndGet() > 0);
+
+        assertEquals(10, evaluations.get());
+        assertEquals(1L, decisionCache.getHits());
+    }
+
+    @Test
+    public void testUsedDecisionsSurviveEviction() {
+        final PermissionDecisionCache decisionCache = new BoundedPermissionDecisionCache(4);
+        final Permission frequent = Permission.of("frequent");
+        final AtomicInteger evaluations = new AtomicInteger();
+
+        decisionCache.isPermitted(frequent, 0L, permission -> evaluations.incrementAndGet() > 0);
+        for (int i = 0; i < 100; i++) {
+            decisionCache.isPermitted(Permission.of("rare" + i), 0L, permission -> true);
+            decisionCache.isPermitted(frequent, 0L, permission -> evaluations.incrementAndGet() > 0);
+        }
+
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void testConcurrentDecisionsStayWithinCapacity() throws InterruptedException {
+        final BoundedPermissionDecisionCache decisionCache = new BoundedPermissionDecisionCache(32);
+        final AtomicBoolean exceeded = new AtomicBoolean();
+
+        final Thread[] checkers = new Thread[8];
+        for (int i = 0; i < checkers.length; i++) {
+            final int checker = i;
+            checkers[i] = new Thread(() -> {
+                for (int j = 0; j < 20_000; j++) {
+                    decisionCache.isPermitted(Permission.of("node" + checker + "." + (j % 500)), 0L, permission -> true);
+                    if (decisionCache.size() > 32) {
+                        exceeded.set(true);
+                    }
+                }
+            });
+            checkers[i].start();
+        }
+        for (final Thread checker : checkers) {
+            checker.join();
+        }
+
+        assertFalse(exceeded.get());
+        assertEquals(32, decisionCache.size());
+    }
+
+    @Test
+    public void testOutdatedDecisionsAreReevaluated() {
+        final PermissionDecisionCache decisionCache = new BoundedPermissionDecisionCache(16);
+        final Permission permission = Permission.of("mandate.admin");
+
+        assertTrue(decisionCache.isPermitted(permission, 0L, p -> true));
+        assertTrue(decisionCache.isPermitted(permission, 0L, p -> false));
+        assertFalse(decisionCache.isPermitted(permission, 1L, p -> false));
+
+        decisionCache.invalidateAll();
+
+        assertTrue(decisionCache.isPermitted(permission, 1L, p -> true));
+    }
+
+    @Test
+    public void testConcurrentChecksObserveGrants() throws InterruptedException {
+        final SimpleCommandSender commandSender = new SimpleCommandSender(Collections.emptySet());
+        final Permission permission = Permission.of("mandate.admin");
+        final AtomicBoolean granted = new AtomicBoolean();
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        final Thread[] checkers = new Thread[4];
+        for (int i = 0; i < checkers.length; i++) {
+            checkers[i] = new Thread(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    final boolean grantedBefore = granted.get();
+                    if (grantedBefore && !commandSender.hasPermission(permission)) {
+                        failed.set(true);
+                    } else if (!grantedBefore) {
+                        commandSender.hasPermission(permission);
+                    }
+                }
+            });
+            checkers[i].start();
+        }
+
+        commandSender.grant(permission);
+        granted.set(true);
+
+        for (final Thread checker : checkers) {
+            checker.join();
+        }
+
+        assertFalse(failed.get());
+        assertTrue(commandSender.hasPermission(permission));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCacheRejectsNonPositiveCapacity() {
+        new BoundedPermissionDecisionCache(0);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Test;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Restricted;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.annotations.flag.AutoFlag;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.parameter.CommandParameter;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.execution.parameter.UnsupportedParameterException;
+import pw.stamina.mandate.io.IODescriptor;
+import pw.stamina.mandate.parsing.InputParsingException;
+import pw.stamina.mandate.parsing.argument.ArgumentHandler;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mark Johnson
+ */
+public class RepeatedRegistrationTestSuite {
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    @Test
+    public void testEachInstanceIsBoundToItsOwnReceiver() {
+        final CommandContext[] contexts = new CommandContext[100];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = newContext();
+            assertTrue(contexts[i].register(new World("world" + i)));
+        }
+
+        for (int i = contexts.length - 1; i >= 0; i--) {
+            assertTrue(contexts[i].execute("world name").result() == ExitCode.SUCCESS);
+            assertEquals("world" + i, commandOutput.poll());
+        }
+    }
+
+    @Test
+    public void testRegisteringInstancesOfSameClassInOneContext() {
+        final CommandContext commandContext = newContext();
+
+        assertTrue(commandContext.register(new World("first")));
+        assertTrue(commandContext.register(new World("second")));
+
+        assertTrue(commandContext.execute("world name").result() == ExitCode.SUCCESS);
+        assertEquals(1, commandOutput.size());
+        assertTrue(commandContext.execute("world secret").result() == ExitCode.INVALID);
+    }
+
+    @Test
+    public void testHandlersAreCheckedForEveryContext() {
+        final CommandContext supportingContext = Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputStream(() -> commandOutput::add)
+                        .usingErrorStream(() -> o -> {})
+                        .build())
+                .withHandlerRegistry(Mandate.newHandlerRegistryBuilder().addHandler(new WidgetHandler()).build())
+                .build();
+
+        assertTrue(supportingContext.register(new WidgetCommands()));
+        assertTrue(supportingContext.execute("widget show foo").result() == ExitCode.SUCCESS);
+        assertEquals("widget:foo", commandOutput.poll());
+
+        try {
+            newContext().register(new WidgetCommands());
+            fail("Registered a command with an unsupported parameter type");
+        } catch (final UnsupportedParameterException expected) {
+            assertTrue(expected.getMessage().contains("is not a supported parameter type"));
+        }
+    }
+
+    @Test
+    public void testMalformedCommandsFailEveryRegistration() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                newContext().register(new MalformedCommands());
+                fail("Registered a command with a flag after a required parameter");
+            } catch (final UnsupportedParameterException expected) {
+                assertTrue(expected.getMessage().contains("exists after non-flag parameters"));
+            }
+        }
+    }
+
+    private CommandContext newContext() {
+        return Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputStream(() -> commandOutput::add)
+                        .usingErrorStream(() -> o -> {})
+                        .build())
+                .build();
+    }
+
+    @Syntax(root = "world")
+    public static class World {
+        private final String name;
+
+        World(final String name) {
+            this.name = name;
+        }
+
+        @Executes(tree = "name")
+        public ExitCode name(@Implicit final IODescriptor io) {
+            io.out().write(name);
+            return ExitCode.SUCCESS;
+        }
+
+        @Executes(tree = "secret")
+        @Restricted(permission = "world.secret")
+        public ExitCode secret(@Implicit final IODescriptor io) {
+            io.out().write(name);
+            return ExitCode.SUCCESS;
+        }
+    }
+
+    @Syntax(root = "widget")
+    public static class WidgetCommands {
+        @Executes(tree = "show")
+        public ExitCode show(@Implicit final IODescriptor io, final Widget widget) {
+            io.out().write("widget:" + widget.name);
+            return ExitCode.SUCCESS;
+        }
+    }
+
+    @Syntax(root = "malformed")
+    public static class MalformedCommands {
+        @Executes(tree = "run")
+        public ExitCode run(final String required, @AutoFlag(flag = "f") final boolean flag) {
+            return ExitCode.SUCCESS;
+        }
+    }
+
+    public static final class Widget {
+        private final String name;
+
+        Widget(final String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class WidgetHandler implements ArgumentHandler<Widget> {
+        @Override
+        public Widget parse(final CommandArgument input, final CommandParameter parameter, final CommandContext commandContext) throws InputParsingException {
+            return new Widget(input.getRaw());
+        }
+
+        @Override
+        public String getSyntax(final CommandParameter parameter) {
+            return parameter.getLabel();
+        }
+
+        @Override
+        public Class[] getHandledTypes() {
+            return new Class[] {Widget.class};
+        }
+    }
+}
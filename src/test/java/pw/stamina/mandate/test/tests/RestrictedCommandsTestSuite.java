@@ -98,6 +98,37 @@ public class RestrictedCommandsTestSuite {
         assertTrue(commandSender.hasPermission(Permission.of("h.i.j")));
     }
 
+    @Test
+    public void testCheckingWildcardPermissionsForCommandSender() {
+        final CommandSender commandSender = new SimpleCommandSender(new HashSet<>(Arrays.asList(
+                Permission.of("a.*.c"),
+                Permission.of("a.b.d"),
+                Permission.of("x.y")
+        )));
+
+        assertTrue(commandSender.hasPermission(Permission.of("a.b.c")));
+        assertTrue(commandSender.hasPermission(Permission.of("a.z.c")));
+        assertTrue(commandSender.hasPermission(Permission.of("a.b.d")));
+        assertFalse(commandSender.hasPermission(Permission.of("a.z.d")));
+        assertTrue(commandSender.hasPermission(Permission.of("x.y.z")));
+        assertFalse(commandSender.hasPermission(Permission.of("x.z")));
+        assertFalse(new SimpleCommandSender(Collections.emptySet()).hasPermission(Permission.of("a.b.c")));
+    }
+
+    @Test
+    public void testCheckingManyPermissionsForCommandSender() {
+        final Set<Permission> permissions = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            permissions.add(Permission.of("staff.node" + i + ".use"));
+        }
+        final CommandSender commandSender = new SimpleCommandSender(permissions);
+
+        assertTrue(commandSender.hasPermission(Permission.of("staff.node0.use")));
+        assertTrue(commandSender.hasPermission(Permission.of("staff.node499.use")));
+        assertFalse(commandSender.hasPermission(Permission.of("staff.node500.use")));
+        assertFalse(commandSender.hasPermission(Permission.of("staff.node1.manage")));
+    }
+
     @Executes(tree = "restricted")
     @Syntax(root = "run")
     @Restricted(permission = "mandate.admin")
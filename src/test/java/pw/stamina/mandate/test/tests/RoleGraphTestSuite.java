@@ -0,0 +1,178 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Test;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Restricted;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.security.RoleBasedCommandSender;
+import pw.stamina.mandate.security.CommandSender;
+import pw.stamina.mandate.security.Permission;
+import pw.stamina.mandate.security.PermissionRole;
+import pw.stamina.mandate.security.RoleGraph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+@Syntax(root = "roles")
+public class RoleGraphTestSuite {
+
+    private final RoleGraph roleGraph = Mandate.newRoleGraphBuilder()
+            .addRole("admin", permissions("server.*"), "moderator", "builder")
+            .addRole("moderator", permissions("chat.mute", "chat.kick"), "member")
+            .addRole("builder", permissions("world.edit"), "member")
+            .addRole("member", permissions("chat.send", "help"))
+            .build();
+
+    @Test
+    public void testRolesInheritPermissionsTransitively() {
+        final PermissionRole admin = roleGraph.findRole("admin").get();
+
+        assertTrue(admin.implies(Permission.of("server.stop")));
+        assertTrue(admin.implies(Permission.of("chat.kick")));
+        assertTrue(admin.implies(Permission.of("world.edit")));
+        assertTrue(admin.implies(Permission.of("chat.send")));
+        assertFalse(admin.implies(Permission.of("world.delete")));
+
+        assertEquals(permissions("server.*", "chat.mute", "chat.kick", "world.edit", "chat.send", "help"), admin.getEffectivePermissions());
+        assertEquals(permissions("server.*"), admin.getPermissions());
+
+        final PermissionRole member = roleGraph.findRole("member").get();
+
+        assertFalse(member.implies(Permission.of("chat.kick")));
+        assertSame(member, roleGraph.findRole("moderator").get().getParents().get(0));
+        assertSame(member, roleGraph.findRole("builder").get().getParents().get(0));
+    }
+
+    @Test
+    public void testSendersHoldRolesAndOverrides() {
+        final CommandSender moderator = roleGraph.newSender(Collections.singleton("moderator"), permissions("world.edit"));
+        final CommandSender member = roleGraph.newSender(Collections.singleton("member"), Collections.emptySet());
+
+        assertTrue(moderator.hasPermission(Permission.of("chat.kick")));
+        assertTrue(moderator.hasPermission(Permission.of("chat.send")));
+        assertTrue(moderator.hasPermission(Permission.of("world.edit")));
+        assertFalse(moderator.hasPermission(Permission.of("server.stop")));
+
+        assertTrue(member.hasPermission(Permission.of("help")));
+        assertFalse(member.hasPermission(Permission.of("world.edit")));
+
+        assertSame(((RoleBasedCommandSender) moderator).getRoles().get(0), roleGraph.findRole("moderator").get());
+    }
+
+    @Test
+    public void testGrantingOverrides() {
+        final RoleBasedCommandSender member = (RoleBasedCommandSender) roleGraph.newSender(Collections.singleton("member"), Collections.emptySet());
+
+        assertFalse(member.hasPermission(Permission.of("world.edit")));
+
+        member.grant(Permission.of("world.edit"));
+
+        assertTrue(member.hasPermission(Permission.of("world.edit")));
+
+        member.revoke(Permission.of("world.edit"));
+
+        assertFalse(member.hasPermission(Permission.of("world.edit")));
+        assertTrue(member.hasPermission(Permission.of("chat.send")));
+    }
+
+    @Test
+    public void testRoleBasedSendersCacheDecisionsOnlyWhenAsked() {
+        final PermissionRole member = roleGraph.findRole("member").get();
+        final CommandSender uncached = roleGraph.newSender(Collections.singleton("member"), Collections.emptySet());
+        final RoleBasedCommandSender cached = new RoleBasedCommandSender(Collections.singleton(member), Collections.emptySet(), 16);
+
+        assertFalse(uncached.getDecisionCache().isPresent());
+        assertTrue(uncached.hasPermission(Permission.of("chat.send")));
+
+        assertTrue(cached.hasPermission(Permission.of("chat.send")));
+        assertTrue(cached.hasPermission(Permission.of("chat.send")));
+        assertEquals(1L, cached.getDecisionCache().get().getHits());
+    }
+
+    @Test
+    public void testRestrictedCommandWithRoleBasedSender() {
+        final CommandContext commandContext = Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputStream(() -> o -> {})
+                        .usingErrorStream(() -> o -> {})
+                        .build())
+                .build();
+        commandContext.register(this);
+
+        assertTrue(commandContext.execute("roles stop", roleGraph.newSender(Arrays.asList("member", "admin"), Collections.emptySet())).result() == ExitCode.SUCCESS);
+        assertTrue(commandContext.execute("roles stop", roleGraph.newSender(Collections.singleton("moderator"), Collections.emptySet())).result() == ExitCode.INVALID);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCyclicInheritanceIsRejected() {
+        Mandate.newRoleGraphBuilder()
+                .addRole("a", permissions("a"), "b")
+                .addRole("b", permissions("b"), "c")
+                .addRole("c", permissions("c"), "a")
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownParentIsRejected() {
+        Mandate.newRoleGraphBuilder()
+                .addRole("a", permissions("a"), "missing")
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDuplicateRoleIsRejected() {
+        Mandate.newRoleGraphBuilder()
+                .addRole("a", permissions("a"))
+                .addRole("a", permissions("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSenderWithUnknownRole() {
+        roleGraph.newSender(Collections.singleton("missing"), Collections.emptySet());
+    }
+
+    @Executes(tree = "stop")
+    @Restricted(permission = "server.stop")
+    public ExitCode stop() {
+        return ExitCode.SUCCESS;
+    }
+
+    private static Set<Permission> permissions(final String... names) {
+        final Set<Permission> permissions = new HashSet<>();
+        for (final String name : names) {
+            permissions.add(Permission.of(name));
+        }
+        return permissions;
+    }
+}
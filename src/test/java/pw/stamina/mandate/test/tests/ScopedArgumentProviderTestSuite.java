@@ -0,0 +1,297 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.io.IODescriptor;
+import pw.stamina.mandate.parsing.argument.ArgumentProvider;
+import pw.stamina.mandate.parsing.argument.ProviderScope;
+import pw.stamina.mandate.parsing.argument.ProviderStatistics;
+import pw.stamina.mandate.security.CommandSender;
+import pw.stamina.mandate.security.Permission;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mark Johnson
+ */
+@Syntax(root = "scoped")
+public class ScopedArgumentProviderTestSuite {
+
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final AtomicInteger suppliedTokens = new AtomicInteger();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testUnscopedProviderIsCalledForEveryValue() {
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken);
+
+        final Object first = executeForToken("scoped token");
+        final Object second = executeForToken("scoped token");
+
+        assertNotSame(first, second);
+        assertEquals(2, suppliedTokens.get());
+        assertStatistics(ProviderScope.Kind.UNSCOPED, 0, 2);
+    }
+
+    @Test
+    public void testSingletonProviderIsCalledOnce() {
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken, ProviderScope.singleton());
+
+        final Object first = executeForToken("scoped token");
+        final Object second = executeForToken("scoped token");
+
+        assertSame(first, second);
+        assertEquals(1, suppliedTokens.get());
+        assertStatistics(ProviderScope.Kind.SINGLETON, 1, 1);
+    }
+
+    @Test
+    public void testPerSenderProviderIsCalledOncePerSender() {
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken, ProviderScope.perSender());
+
+        final CommandSender firstSender = permission -> true;
+        final CommandSender secondSender = permission -> true;
+
+        final Object first = executeForToken("scoped token", firstSender);
+        final Object second = executeForToken("scoped token", secondSender);
+
+        assertNotSame(first, second);
+        assertSame(first, executeForToken("scoped token", firstSender));
+        assertSame(second, executeForToken("scoped token", secondSender));
+        assertEquals(2, suppliedTokens.get());
+        assertStatistics(ProviderScope.Kind.PER_SENDER, 2, 2);
+    }
+
+    @Test
+    public void testPerSenderProviderReleasesUnreachableSenders() throws InterruptedException {
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken, ProviderScope.perSender());
+
+        final WeakReference<CommandSender> released = executeForUnreachableSender();
+
+        for (int attempt = 0; attempt < 50 && released.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+
+        assertNull(released.get());
+    }
+
+    @Test
+    public void testPerExecutionProviderIsSharedWithinAnExecution() {
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken, ProviderScope.perExecution());
+
+        final Execution result = commandContext.execute("scoped pair");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(2, commandOutput.size());
+
+        assertSame(commandOutput.poll(), commandOutput.poll());
+
+        assertNotSame(executeForToken("scoped token"), executeForToken("scoped token"));
+        assertEquals(3, suppliedTokens.get());
+        assertStatistics(ProviderScope.Kind.PER_EXECUTION, 1, 3);
+    }
+
+    @Test
+    public void testExpiringProviderIsReusedUntilExpired() throws InterruptedException {
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken, ProviderScope.expiring(Duration.ofHours(1L)));
+
+        assertSame(executeForToken("scoped token"), executeForToken("scoped token"));
+        assertEquals(1, suppliedTokens.get());
+
+        commandContext.getValueProviders().registerProvider(Token.class, this::supplyToken, ProviderScope.expiring(Duration.ofNanos(1L)));
+
+        final Object first = executeForToken("scoped token");
+        Thread.sleep(1L);
+        final Object second = executeForToken("scoped token");
+
+        assertNotSame(first, second);
+        assertEquals(3, suppliedTokens.get());
+    }
+
+    @Test
+    public void testScopedProviderFromBuilder() {
+        final CommandContext builtContext = Mandate.newContextBuilder()
+                .usingIOEnvironment(Mandate.newIOBuilder()
+                        .usingOutputStream(() -> commandOutput::add)
+                        .usingErrorStream(() -> commandErrors::add)
+                        .build())
+                .withArgumentProvider(Mandate.newArgumentProviderBuilder()
+                        .addProvider(Token.class, this::supplyToken, ProviderScope.singleton())
+                        .build())
+                .build();
+        builtContext.register(this);
+
+        assertTrue(builtContext.execute("scoped token").result() == ExitCode.SUCCESS);
+        assertTrue(builtContext.execute("scoped token").result() == ExitCode.SUCCESS);
+
+        assertEquals(2, commandOutput.size());
+
+        assertSame(commandOutput.poll(), commandOutput.poll());
+        assertEquals(1, suppliedTokens.get());
+    }
+
+    @Test
+    public void testProviderWithoutScopeSupportFallsBackToUnscoped() {
+        final Map<Type, Supplier<?>> providers = new HashMap<>();
+        final ArgumentProvider argumentProvider = new ArgumentProvider() {
+            @Override
+            public void registerProvider(final Type valueType, final Supplier<?> valueProvider) {
+                providers.put(valueType, valueProvider);
+            }
+
+            @Override
+            public Optional<Supplier<?>> findProvider(final Type valueType) {
+                return Optional.ofNullable(providers.get(valueType));
+            }
+
+            @Override
+            public boolean isProviderPresent(final Type valueType) {
+                return providers.containsKey(valueType);
+            }
+        };
+        argumentProvider.registerProvider(Token.class, this::supplyToken, ProviderScope.singleton());
+
+        assertNotSame(argumentProvider.provideValue(Token.class, null), argumentProvider.provideValue(Token.class, null));
+        assertEquals(2, suppliedTokens.get());
+        assertEquals(0, argumentProvider.getStatistics().getMisses(ProviderScope.Kind.SINGLETON));
+    }
+
+    @Test
+    public void testNullProviderIsRejected() {
+        try {
+            commandContext.getValueProviders().registerProvider(Token.class, null, ProviderScope.singleton());
+            fail("Expected a null provider to be rejected");
+        } catch (final NullPointerException expected) {
+            assertEquals("Value provider cannot be null", expected.getMessage());
+        }
+        assertFalse(commandContext.getValueProviders().isProviderPresent(Token.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpiringScopeRejectsNonPositiveTimeToLive() {
+        ProviderScope.expiring(Duration.ZERO);
+    }
+
+    @Executes(tree = "token")
+    public ExitCode runToken(@Implicit final IODescriptor io, @Implicit final Token token) {
+        io.out().write(token);
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(tree = "pair")
+    public ExitCode runPair(@Implicit final IODescriptor io, @Implicit final Token first, @Implicit final Token second) {
+        io.out().write(first);
+        io.out().write(second);
+        return ExitCode.SUCCESS;
+    }
+
+    private Token supplyToken() {
+        suppliedTokens.incrementAndGet();
+        return new Token();
+    }
+
+    private Object executeForToken(final String input) {
+        return executeForToken(input, permission -> true);
+    }
+
+    private Object executeForToken(final String input, final CommandSender commandSender) {
+        final Execution result = commandContext.execute(input, commandSender);
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(1, commandOutput.size());
+
+        assertEquals(0, commandErrors.size());
+
+        return commandOutput.poll();
+    }
+
+    private WeakReference<CommandSender> executeForUnreachableSender() {
+        final CommandSender commandSender = new CommandSender() {
+            @Override
+            public boolean hasPermission(final Permission permission) {
+                return true;
+            }
+        };
+        executeForToken("scoped token", commandSender);
+        return new WeakReference<>(commandSender);
+    }
+
+    private void assertStatistics(final ProviderScope.Kind scope, final long hits, final long misses) {
+        final ProviderStatistics statistics = commandContext.getValueProviders().getStatistics();
+        assertEquals(hits, statistics.getHits(scope));
+        assertEquals(misses, statistics.getMisses(scope));
+    }
+
+    public static final class Token {
+    }
+}
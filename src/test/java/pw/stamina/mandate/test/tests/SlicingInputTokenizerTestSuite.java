@@ -0,0 +1,151 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.annotations.flag.UserFlag;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.internal.parsing.DefaultInputTokenizer;
+import pw.stamina.mandate.internal.parsing.SlicingInputTokenizer;
+import pw.stamina.mandate.internal.parsing.argument.DefaultCommandArgumentFactory;
+import pw.stamina.mandate.internal.parsing.argument.SliceCommandArgument;
+import pw.stamina.mandate.io.IODescriptor;
+import pw.stamina.mandate.parsing.InputTokenizationException;
+import pw.stamina.mandate.parsing.InputTokenizationStrategy;
+import pw.stamina.mandate.parsing.argument.CommandArgument;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+public class SlicingInputTokenizerTestSuite {
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .usingConfiguration(Mandate.newConfigurationBuilder()
+                    .usingInputTokenizationStrategy(SlicingInputTokenizer.getInstance())
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testTokenizationMatchesDefaultTokenizer() throws InputTokenizationException {
+        final String[] inputs = {
+                "run foo bar",
+                "  run   foo  bar  ",
+                "run \"foo bar\" baz",
+                "run \"\" foo",
+                "run fo\\ o \\\"bar\\\"",
+                "run [foo, \"bar, baz\", [quz]] end",
+                "run -f=\"top kek\" --bar=x",
+                "run a\"b c\"d",
+                ""
+        };
+
+        for (final String input : inputs) {
+            assertEquals(input, tokenize(DefaultInputTokenizer.getInstance(), input), tokenize(SlicingInputTokenizer.getInstance(), input));
+        }
+    }
+
+    @Test
+    public void testPlainTokensAreRegionsOfInput() throws InputTokenizationException {
+        final String input = "run \"foo bar\" [baz, quz]";
+        final Deque<CommandArgument> arguments = SlicingInputTokenizer.getInstance().parse(input, DefaultCommandArgumentFactory.getInstance());
+
+        assertEquals(3, arguments.size());
+
+        final CommandArgument first = arguments.poll();
+        assertTrue(first instanceof SliceCommandArgument);
+        assertTrue(((SliceCommandArgument) first).getSource() == input);
+
+        assertFalse(arguments.poll() instanceof SliceCommandArgument);
+
+        final CommandArgument last = arguments.poll();
+        assertTrue(last instanceof SliceCommandArgument);
+        assertEquals("[baz, quz]", last.getRaw());
+    }
+
+    @Test(expected = InputTokenizationException.class)
+    public void testUnterminatedListIsRejected() throws InputTokenizationException {
+        SlicingInputTokenizer.getInstance().parse("run [foo, bar", DefaultCommandArgumentFactory.getInstance());
+    }
+
+    @Test
+    public void testExecutingWithSlicedArguments() {
+        final Execution result = commandContext.execute("echo -p=\"> \" hello");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals("> hello", commandOutput.poll());
+    }
+
+    private static List<String> tokenize(final InputTokenizationStrategy tokenizer, final String input) throws InputTokenizationException {
+        return tokenizer.parse(input, DefaultCommandArgumentFactory.getInstance()).stream()
+                .map(CommandArgument::getRaw)
+                .collect(Collectors.toList());
+    }
+
+    @Executes
+    @Syntax(root = "echo")
+    public ExitCode echo(@Implicit final IODescriptor io,
+                         @UserFlag(flag = "p", elsedef = "") final String prefix,
+                         final String message) {
+        io.out().write(prefix + message);
+        return ExitCode.SUCCESS;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Mandate - A flexible annotation-based command parsing and execution system
+ * Copyright (C) 2017 Mark Johnson
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package pw.stamina.mandate.test.tests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import pw.stamina.mandate.Mandate;
+import pw.stamina.mandate.annotations.Executes;
+import pw.stamina.mandate.annotations.Implicit;
+import pw.stamina.mandate.annotations.Length;
+import pw.stamina.mandate.annotations.Syntax;
+import pw.stamina.mandate.annotations.strings.Equals;
+import pw.stamina.mandate.execution.CommandContext;
+import pw.stamina.mandate.execution.result.Execution;
+import pw.stamina.mandate.execution.result.ExitCode;
+import pw.stamina.mandate.io.IODescriptor;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mark Johnson
+ */
+@Syntax(root = {"acceptstrings"})
+public class StringArgumentTestSuite {
+    private final Queue<Object> commandErrors = new ArrayDeque<>();
+
+    private final Queue<Object> commandOutput = new ArrayDeque<>();
+
+    private final CommandContext commandContext = Mandate.newContextBuilder()
+            .usingIOEnvironment(Mandate.newIOBuilder()
+                    .usingOutputStream(() -> commandOutput::add)
+                    .usingErrorStream(() -> commandErrors::add)
+                    .build())
+            .build();
+
+    @Rule
+    public TestWatcher watcher = new TestWatcher() {
+        @Override
+        protected void failed(final Throwable e, final Description description) {
+            commandErrors.forEach(System.out::println);
+        }
+    };
+
+    @Before
+    public void setup() {
+        commandContext.register(this);
+    }
+
+    @Test
+    public void testPassingLiteralIgnoringCase() {
+        final Execution result = commandContext.execute("acceptstrings literal NORTH West");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals("NORTH", commandOutput.poll());
+        assertEquals("West", commandOutput.poll());
+    }
+
+    @Test
+    public void testFailingLiteralMatch() {
+        final Execution result = commandContext.execute("acceptstrings literal up west");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals("'up' doesn't match ['north / east / south / west'] (regex=false)", commandErrors.poll());
+    }
+
+    @Test
+    public void testPassingCombinedRegex() {
+        final Execution result = commandContext.execute("acceptstrings regex abc 5678");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals("abc", commandOutput.poll());
+        assertEquals("5678", commandOutput.poll());
+    }
+
+    @Test
+    public void testAlternativesDoNotLeakIntoEachOther() {
+        final Execution result = commandContext.execute("acceptstrings regex 12ab 5678");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals("'12ab' doesn't match ['\\d+ / [a-z]+'] (regex=true)", commandErrors.poll());
+    }
+
+    @Test
+    public void testPassingBackReferencedRegex() {
+        final Execution result = commandContext.execute("acceptstrings regex 1234 abab");
+
+        assertTrue(result.result() == ExitCode.SUCCESS);
+
+        assertEquals(0, commandErrors.size());
+
+        assertEquals("1234", commandOutput.poll());
+        assertEquals("abab", commandOutput.poll());
+    }
+
+    @Test
+    public void testFailingBackReferencedRegex() {
+        final Execution result = commandContext.execute("acceptstrings regex 1234 abcd");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals("'abcd' doesn't match ['(ab)\\1 / \\d+'] (regex=true)", commandErrors.poll());
+    }
+
+    @Test
+    public void testFailingLengthCheck() {
+        final Execution result = commandContext.execute("acceptstrings length ab");
+
+        assertTrue(result.result() == ExitCode.INVALID);
+
+        assertEquals("'ab' is too short: length can be between 3-5 characters", commandErrors.poll());
+    }
+
+    @Executes(tree = {"literal"})
+    public ExitCode acceptLiterals(@Implicit final IODescriptor io,
+                                   @Equals({"north", "east", "south", "west"}) final String first,
+                                   @Equals({"north", "east", "south", "west"}) final StringBuilder second) {
+        io.out().write(first);
+        io.out().write(second.toString());
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(tree = {"regex"})
+    public ExitCode acceptExpressions(@Implicit final IODescriptor io,
+                                      @Equals(value = {"\\d+", "[a-z]+"}, regex = true) final String combined,
+                                      @Equals(value = {"(ab)\\1", "\\d+"}, regex = true) final String separate) {
+        io.out().write(combined);
+        io.out().write(separate);
+        return ExitCode.SUCCESS;
+    }
+
+    @Executes(tree = {"length"})
+    public ExitCode acceptLength(@Implicit final IODescriptor io, @Length(min = 5, max = 3) final String string) {
+        io.out().write(string);
+        return ExitCode.SUCCESS;
+    }
+}